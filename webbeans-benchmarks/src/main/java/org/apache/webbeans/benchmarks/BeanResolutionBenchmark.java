@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.inject.Named;
+import javax.inject.Qualifier;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.container.InjectionResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link BeanManagerImpl#getBeans}, {@link BeanManagerImpl#resolve} and
+ * {@link InjectionResolver#implResolveByType(boolean, java.lang.reflect.Type, java.lang.annotation.Annotation...)}.
+ *
+ * The {@code *FreshQualifier} variants create a new qualifier literal for each call,
+ * like {@code Instance.select(new SomeLiteral())} does in user code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanResolutionBenchmark
+{
+    private BenchmarkContainer container;
+    private BeanManagerImpl beanManager;
+    private InjectionResolver injectionResolver;
+    private Set<Bean<?>> beans;
+
+    @Setup
+    public void setup()
+    {
+        container = BenchmarkContainer.start(Arrays.asList(
+                DefaultBean.class, QualifiedBean.class, OtherQualifiedBean.class, NamedBean.class));
+        beanManager = container.getBeanManager();
+        injectionResolver = beanManager.getInjectionResolver();
+        beans = beanManager.getBeans(DefaultBean.class);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        container.stop();
+    }
+
+    @Benchmark
+    public Set<Bean<?>> getBeans()
+    {
+        return beanManager.getBeans(DefaultBean.class);
+    }
+
+    @Benchmark
+    public Set<Bean<?>> getBeansFreshQualifier()
+    {
+        return beanManager.getBeans(Service.class, new SelectorLiteral());
+    }
+
+    @Benchmark
+    public Set<Bean<?>> getBeansByName()
+    {
+        return beanManager.getBeans("namedBean");
+    }
+
+    @Benchmark
+    public Bean<?> resolve()
+    {
+        return beanManager.resolve(beans);
+    }
+
+    @Benchmark
+    public Set<Bean<?>> implResolveByType()
+    {
+        return injectionResolver.implResolveByType(false, DefaultBean.class);
+    }
+
+    @Benchmark
+    public Set<Bean<?>> implResolveByTypeFreshQualifier()
+    {
+        return injectionResolver.implResolveByType(false, Service.class, new SelectorLiteral());
+    }
+
+
+    public interface Service
+    {
+        // marker
+    }
+
+    @Qualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Selector
+    {
+        // no members
+    }
+
+    public static class SelectorLiteral extends AnnotationLiteral<Selector> implements Selector
+    {
+        // no members
+    }
+
+    @ApplicationScoped
+    public static class DefaultBean implements Service
+    {
+        // no content needed
+    }
+
+    @Selector
+    @RequestScoped
+    public static class QualifiedBean implements Service
+    {
+        // no content needed
+    }
+
+    public static class OtherQualifiedBean implements Service
+    {
+        // @Dependent, @Default
+    }
+
+    @Named("namedBean")
+    public static class NamedBean
+    {
+        // no content needed
+    }
+}
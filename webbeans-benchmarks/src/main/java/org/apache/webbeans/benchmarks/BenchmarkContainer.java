@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.config.WebBeansFinder;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.corespi.DefaultSingletonService;
+import org.apache.webbeans.lifecycle.StandaloneLifeCycle;
+import org.apache.webbeans.lifecycle.test.OpenWebBeansTestMetaDataDiscoveryService;
+import org.apache.webbeans.spi.ScannerService;
+import org.apache.webbeans.util.WebBeansUtil;
+
+/**
+ * Boots a standalone container with an explicit list of classes,
+ * the same way our unit tests do, but without any JUnit dependency.
+ */
+public final class BenchmarkContainer
+{
+    private final StandaloneLifeCycle lifecycle;
+    private final WebBeansContext webBeansContext;
+
+    private BenchmarkContainer(StandaloneLifeCycle lifecycle, WebBeansContext webBeansContext)
+    {
+        this.lifecycle = lifecycle;
+        this.webBeansContext = webBeansContext;
+    }
+
+    public static BenchmarkContainer start(Collection<Class<?>> beanClasses)
+    {
+        return start(beanClasses, new ArrayList<>(), new Properties());
+    }
+
+    /**
+     * @param beanClasses the classes to deploy
+     * @param interceptors interceptor classes to enable, like listing them in beans.xml
+     * @param configuration additional openwebbeans.properties entries
+     */
+    public static BenchmarkContainer start(Collection<Class<?>> beanClasses, Collection<Class<?>> interceptors,
+                                           Properties configuration)
+    {
+        // the INFO logs of each boot would distort the boot benchmarks
+        Logger.getLogger("org.apache.webbeans").setLevel(Level.WARNING);
+
+        ClassLoader loader = WebBeansUtil.getCurrentClassLoader();
+        WebBeansFinder.clearInstances(loader);
+
+        OpenWebBeansTestMetaDataDiscoveryService scanner = new OpenWebBeansTestMetaDataDiscoveryService();
+        Map<Class<?>, Object> services = new HashMap<>();
+        services.put(ScannerService.class, scanner);
+
+        WebBeansContext webBeansContext = new WebBeansContext(services, configuration);
+        DefaultSingletonService.class.cast(WebBeansFinder.getSingletonService()).register(loader, webBeansContext);
+
+        StandaloneLifeCycle lifecycle = new StandaloneLifeCycle();
+
+        Collection<Class<?>> allClasses = new ArrayList<>(beanClasses);
+        for (Class<?> interceptor : interceptors)
+        {
+            webBeansContext.getInterceptorsManager().addEnabledInterceptorClass(interceptor);
+            allClasses.add(interceptor);
+        }
+        scanner.deployClasses(allClasses);
+
+        lifecycle.startApplication(null);
+        return new BenchmarkContainer(lifecycle, webBeansContext);
+    }
+
+    public void stop()
+    {
+        lifecycle.stopApplication(null);
+    }
+
+    public WebBeansContext getWebBeansContext()
+    {
+        return webBeansContext;
+    }
+
+    public BeanManagerImpl getBeanManager()
+    {
+        return webBeansContext.getBeanManagerImpl();
+    }
+
+    public <T> T getInstance(Class<T> type, Annotation... qualifiers)
+    {
+        return type.cast(getInstance((Type) type, qualifiers));
+    }
+
+    public Object getInstance(Type type, Annotation... qualifiers)
+    {
+        BeanManagerImpl beanManager = getBeanManager();
+        Bean<?> bean = beanManager.resolve(beanManager.getBeans(type, qualifiers));
+        if (bean == null)
+        {
+            throw new IllegalStateException("No bean found for " + type);
+        }
+        return beanManager.getReference(bean, type, beanManager.createCreationalContext(bean));
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Synchronous {@link org.apache.webbeans.event.EventImpl#fire(Object)} with 0, 1 or N matching observers,
+ * invoked via reflection or via generated invokers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBenchmark
+{
+    @Param({"0", "1", "8"})
+    private int observers;
+
+    @Param({"false", "true"})
+    private boolean generatedInvokers;
+
+    private BenchmarkContainer container;
+    private EventSource source;
+
+    @Setup
+    public void setup()
+    {
+        Properties configuration = new Properties();
+        configuration.setProperty(OpenWebBeansConfiguration.GENERATED_OBSERVER_INVOKERS, Boolean.toString(generatedInvokers));
+
+        container = BenchmarkContainer.start(
+                Arrays.asList(EventSource.class, SingleObserver.class, MultipleObservers.class),
+                new ArrayList<>(), configuration);
+        source = container.getInstance(EventSource.class);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        container.stop();
+    }
+
+    @Benchmark
+    public void fire()
+    {
+        switch (observers)
+        {
+            case 0:
+                source.unobserved.fire(new UnobservedPayload());
+                break;
+            case 1:
+                source.single.fire(new SinglePayload());
+                break;
+            default:
+                source.multiple.fire(new MultiplePayload());
+        }
+    }
+
+
+    public static class UnobservedPayload
+    {
+        // no content needed
+    }
+
+    public static class SinglePayload
+    {
+        // no content needed
+    }
+
+    public static class MultiplePayload
+    {
+        // no content needed
+    }
+
+    @Dependent // no proxy, the fields are read directly
+    public static class EventSource
+    {
+        @Inject
+        Event<UnobservedPayload> unobserved;
+
+        @Inject
+        Event<SinglePayload> single;
+
+        @Inject
+        Event<MultiplePayload> multiple;
+    }
+
+    @ApplicationScoped
+    public static class SingleObserver
+    {
+        public void observe(@Observes SinglePayload payload)
+        {
+            // just receive it
+        }
+    }
+
+    @ApplicationScoped
+    public static class MultipleObservers
+    {
+        public void observe1(@Observes MultiplePayload payload)
+        {
+            // just receive it
+        }
+
+        public void observe2(@Observes MultiplePayload payload)
+        {
+            // just receive it
+        }
+
+        public void observe3(@Observes MultiplePayload payload)
+        {
+            // just receive it
+        }
+
+        public void observe4(@Observes MultiplePayload payload)
+        {
+            // just receive it
+        }
+
+        public void observe5(@Observes MultiplePayload payload)
+        {
+            // just receive it
+        }
+
+        public void observe6(@Observes MultiplePayload payload)
+        {
+            // just receive it
+        }
+
+        public void observe7(@Observes MultiplePayload payload)
+        {
+            // just receive it
+        }
+
+        public void observe8(@Observes MultiplePayload payload)
+        {
+            // just receive it
+        }
+    }
+}
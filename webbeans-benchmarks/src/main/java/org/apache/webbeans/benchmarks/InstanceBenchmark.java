@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link org.apache.webbeans.inject.instance.InstanceImpl#get()} for a normal-scoped and for a &#064;Dependent bean.
+ * The dependent instances get destroyed right away to not leak them into the Instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstanceBenchmark
+{
+    private BenchmarkContainer container;
+    private InstanceHolder holder;
+
+    @Setup
+    public void setup()
+    {
+        container = BenchmarkContainer.start(Arrays.asList(InstanceHolder.class, ApplicationBean.class, DependentBean.class));
+        holder = container.getInstance(InstanceHolder.class);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        container.stop();
+    }
+
+    @Benchmark
+    public ApplicationBean getApplicationScoped()
+    {
+        return holder.applicationBeans.get();
+    }
+
+    @Benchmark
+    public DependentBean getDependent()
+    {
+        DependentBean bean = holder.dependentBeans.get();
+        holder.dependentBeans.destroy(bean);
+        return bean;
+    }
+
+
+    @Dependent // no proxy, the fields are read directly
+    public static class InstanceHolder
+    {
+        @Inject
+        Instance<ApplicationBean> applicationBeans;
+
+        @Inject
+        Instance<DependentBean> dependentBeans;
+    }
+
+    @ApplicationScoped
+    public static class ApplicationBean
+    {
+        // no content needed
+    }
+
+    @Dependent
+    public static class DependentBean
+    {
+        // no content needed
+    }
+}
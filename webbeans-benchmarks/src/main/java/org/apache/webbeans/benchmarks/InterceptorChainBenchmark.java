@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Business method invocations through {@link org.apache.webbeans.intercept.DefaultInterceptorHandler}
+ * with one and with three interceptors in the chain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptorChainBenchmark
+{
+    private BenchmarkContainer container;
+    private SingleInterceptedBean singleInterceptedBean;
+    private TripleInterceptedBean tripleInterceptedBean;
+    private SingleInterceptedDependentBean singleInterceptedDependentBean;
+
+    @Setup
+    public void setup()
+    {
+        container = BenchmarkContainer.start(
+                Arrays.asList(SingleInterceptedBean.class, TripleInterceptedBean.class, SingleInterceptedDependentBean.class,
+                        First.class, Second.class, Third.class),
+                Arrays.asList(FirstInterceptor.class, SecondInterceptor.class, ThirdInterceptor.class),
+                new Properties());
+        singleInterceptedBean = container.getInstance(SingleInterceptedBean.class);
+        tripleInterceptedBean = container.getInstance(TripleInterceptedBean.class);
+        singleInterceptedDependentBean = container.getInstance(SingleInterceptedDependentBean.class);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        container.stop();
+    }
+
+    @Benchmark
+    public int oneInterceptor()
+    {
+        return singleInterceptedBean.ping(1);
+    }
+
+    @Benchmark
+    public int threeInterceptors()
+    {
+        return tripleInterceptedBean.ping(1);
+    }
+
+    @Benchmark
+    public int oneInterceptorDependent()
+    {
+        return singleInterceptedDependentBean.ping(1);
+    }
+
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    public @interface First
+    {
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    public @interface Second
+    {
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    public @interface Third
+    {
+    }
+
+    @First
+    @Interceptor
+    public static class FirstInterceptor
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @Second
+    @Interceptor
+    public static class SecondInterceptor
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @Third
+    @Interceptor
+    public static class ThirdInterceptor
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @First
+    @ApplicationScoped
+    public static class SingleInterceptedBean
+    {
+        public int ping(int value)
+        {
+            return value + 1;
+        }
+    }
+
+    @First
+    @Second
+    @Third
+    @ApplicationScoped
+    public static class TripleInterceptedBean
+    {
+        public int ping(int value)
+        {
+            return value + 1;
+        }
+    }
+
+    @First
+    @Dependent
+    public static class SingleInterceptedDependentBean
+    {
+        public int ping(int value)
+        {
+            return value + 1;
+        }
+    }
+}
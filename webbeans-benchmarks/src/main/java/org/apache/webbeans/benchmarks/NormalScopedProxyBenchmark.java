@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+
+import java.io.Serializable;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Method dispatch through the client proxies of normal-scoped beans,
+ * with the default proxy handlers and with or without {@link OpenWebBeansConfiguration#CONTEXT_SLOTS}.
+ *
+ * The request and session scoped proxies look up the instance in the context on each call,
+ * either in the array slot of the bean or by hashing the bean.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalScopedProxyBenchmark
+{
+    @Param({"false", "true"})
+    private boolean contextSlots;
+
+    private BenchmarkContainer container;
+    private ApplicationBean applicationBean;
+    private RequestBean requestBean;
+    private SessionBean sessionBean;
+
+    @Setup
+    public void setup()
+    {
+        Properties configuration = new Properties();
+        configuration.setProperty(OpenWebBeansConfiguration.CONTEXT_SLOTS, Boolean.toString(contextSlots));
+
+        container = BenchmarkContainer.start(
+                Arrays.asList(ApplicationBean.class, RequestBean.class, SessionBean.class),
+                new ArrayList<>(), configuration);
+        applicationBean = container.getInstance(ApplicationBean.class);
+        requestBean = container.getInstance(RequestBean.class);
+        sessionBean = container.getInstance(SessionBean.class);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        container.stop();
+    }
+
+    @Benchmark
+    public int applicationScoped()
+    {
+        return applicationBean.ping();
+    }
+
+    @Benchmark
+    public int requestScoped()
+    {
+        return requestBean.ping();
+    }
+
+    @Benchmark
+    public int sessionScoped()
+    {
+        return sessionBean.ping();
+    }
+
+
+    @ApplicationScoped
+    public static class ApplicationBean
+    {
+        private int counter;
+
+        public int ping()
+        {
+            return ++counter;
+        }
+    }
+
+    @RequestScoped
+    public static class RequestBean
+    {
+        private int counter;
+
+        public int ping()
+        {
+            return ++counter;
+        }
+    }
+
+    @SessionScoped
+    public static class SessionBean implements Serializable
+    {
+        private int counter;
+
+        public int ping()
+        {
+            return ++counter;
+        }
+    }
+}
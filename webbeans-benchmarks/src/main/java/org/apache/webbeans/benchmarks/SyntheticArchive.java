@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+
+import org.apache.xbean.asm9.AnnotationVisitor;
+import org.apache.xbean.asm9.ClassWriter;
+import org.apache.xbean.asm9.FieldVisitor;
+import org.apache.xbean.asm9.MethodVisitor;
+import org.apache.xbean.asm9.Opcodes;
+import org.apache.xbean.asm9.Type;
+
+/**
+ * Generates a bean archive of N classes for the boot benchmarks.
+ *
+ * Each class is a bean which injects its predecessor, every tenth
+ * one is &#064;ApplicationScoped, all others are &#064;Dependent.
+ * This gives the deployer a realistic amount of injection points to validate.
+ */
+public class SyntheticArchive extends ClassLoader
+{
+    private static final String PACKAGE = "org/apache/webbeans/benchmarks/synthetic/";
+
+    private final List<Class<?>> classes;
+
+    public SyntheticArchive(ClassLoader parent, int size)
+    {
+        super(parent);
+
+        classes = new ArrayList<>(size);
+        String previous = null;
+        for (int i = 0; i < size; i++)
+        {
+            String internalName = PACKAGE + "SyntheticBean" + i;
+            byte[] bytes = generate(internalName, previous, i % 10 == 0 ? ApplicationScoped.class : Dependent.class);
+            classes.add(defineClass(internalName.replace('/', '.'), bytes, 0, bytes.length));
+            previous = internalName;
+        }
+    }
+
+    public List<Class<?>> getClasses()
+    {
+        return classes;
+    }
+
+    private static byte[] generate(String internalName, String injectedType, Class<?> scope)
+    {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, internalName, null, "java/lang/Object", null);
+
+        AnnotationVisitor scopeAnnotation = writer.visitAnnotation(Type.getDescriptor(scope), true);
+        scopeAnnotation.visitEnd();
+
+        if (injectedType != null)
+        {
+            FieldVisitor field = writer.visitField(Opcodes.ACC_PRIVATE, "previous", "L" + injectedType + ";", null, null);
+            field.visitAnnotation(Type.getDescriptor(Inject.class), true).visitEnd();
+            field.visitEnd();
+        }
+
+        MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(1, 1);
+        constructor.visitEnd();
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+}
@@ -22,6 +22,7 @@ import javax.enterprise.inject.spi.BeanAttributes;
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.SerializableBean;
+import org.apache.webbeans.context.ContextSlot;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
@@ -76,7 +77,13 @@ public abstract class AbstractOwbBean<T>
      * @see #getId()
      */
     protected String passivatingId;
-    
+
+    /**
+     * Index of this bean in the instance storage of its context, {@code null} if not assigned.
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#CONTEXT_SLOTS
+     */
+    private ContextSlot contextSlot;
+
     protected final WebBeansContext webBeansContext;
 
     protected AbstractOwbBean(WebBeansContext webBeansContext,
@@ -425,6 +432,16 @@ public abstract class AbstractOwbBean<T>
         return logger;
     }
 
+    public ContextSlot getContextSlot()
+    {
+        return contextSlot;
+    }
+
+    public void setContextSlot(ContextSlot contextSlot)
+    {
+        this.contextSlot = contextSlot;
+    }
+
     @Override
     public boolean isDependent()
     {
@@ -27,7 +27,6 @@ import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.enterprise.inject.spi.AnnotatedParameter;
 import javax.enterprise.inject.spi.AnnotatedType;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Set;
 
 import org.apache.webbeans.component.ProducerFieldBean;
@@ -60,7 +59,7 @@ public abstract class AbstractBeanBuilder<T>
                     boolean found = false;
                     for (ProducerMethodBean<?> producer : producerBeans)
                     {
-                        if (GenericsUtil.satisfiesDependency(false, true, producer.getCreatorMethod().getGenericReturnType(), param.getBaseType(), new HashMap<>()))
+                        if (GenericsUtil.satisfiesDependency(false, true, producer.getCreatorMethod().getGenericReturnType(), param.getBaseType()))
                         {
                             found = true;
                             break;
@@ -70,7 +69,7 @@ public abstract class AbstractBeanBuilder<T>
                     {
                         for (ProducerFieldBean<?> field : producerFields)
                         {
-                            if (GenericsUtil.satisfiesDependency(false, true, field.getCreatorField().getType(), param.getBaseType(), new HashMap<>()))
+                            if (GenericsUtil.satisfiesDependency(false, true, field.getCreatorField().getType(), param.getBaseType()))
                             {
                                 found = true;
                                 break;
@@ -82,7 +81,7 @@ public abstract class AbstractBeanBuilder<T>
                             // see if @Disposes should just be ignored as well - no inheritance
                             for (AnnotatedMethod<?> producer : ignoredProducers)
                             {
-                                if (GenericsUtil.satisfiesDependency(false, true, producer.getJavaMember().getGenericReturnType(), param.getBaseType(), new HashMap<>()))
+                                if (GenericsUtil.satisfiesDependency(false, true, producer.getJavaMember().getGenericReturnType(), param.getBaseType()))
                                 {
                                     found = true;
                                     break;
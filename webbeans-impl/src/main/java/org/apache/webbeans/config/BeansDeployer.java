@@ -20,6 +20,7 @@ package org.apache.webbeans.config;
 
 import org.apache.webbeans.annotation.AnnotationManager;
 import org.apache.webbeans.annotation.AnyLiteral;
+import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.component.AbstractProducerBean;
 import org.apache.webbeans.component.BeanAttributesImpl;
 import org.apache.webbeans.component.BuiltInOwbBean;
@@ -43,6 +44,7 @@ import org.apache.webbeans.container.AnnotatedTypeWrapper;
 import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.container.InjectableBeanManager;
 import org.apache.webbeans.container.InjectionResolver;
+import org.apache.webbeans.context.ContextSlot;
 import org.apache.webbeans.context.control.ActivateRequestContextInterceptorBean;
 import org.apache.webbeans.corespi.se.DefaultJndiService;
 import org.apache.webbeans.decorator.DecoratorsManager;
@@ -81,18 +83,19 @@ import org.apache.webbeans.portable.events.generics.GProcessManagedBean;
 import org.apache.webbeans.spi.BdaScannerService;
 import org.apache.webbeans.spi.BeanArchiveService;
 import org.apache.webbeans.spi.JNDIService;
+import org.apache.webbeans.spi.InjectionPointService;
 import org.apache.webbeans.spi.ScannerService;
 import org.apache.webbeans.spi.plugins.OpenWebBeansJavaEEPlugin;
 import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.ExceptionUtil;
-import org.apache.webbeans.util.GenericsUtil;
 import org.apache.webbeans.util.InjectionExceptionUtil;
 import org.apache.webbeans.util.SpecializationUtil;
 import org.apache.webbeans.util.WebBeansConstants;
 import org.apache.webbeans.util.WebBeansUtil;
 import org.apache.webbeans.xml.DefaultBeanArchiveInformation;
 
+import javax.enterprise.context.Dependent;
 import javax.enterprise.inject.AmbiguousResolutionException;
 import javax.enterprise.inject.Model;
 import javax.enterprise.inject.UnproxyableResolutionException;
@@ -127,6 +130,10 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -168,6 +175,11 @@ public class BeansDeployer
     protected boolean skipNoClassDefFoundTriggers;
     protected boolean skipValidations;
 
+    /**
+     * only set while deploying with {@link OpenWebBeansConfiguration#PARALLEL_DEPLOYMENT}
+     */
+    private ForkJoinPool deploymentPool;
+
     /**
      * This BdaInfo is used for all manually added annotated types or in case
      * a non-Bda-aware ScannerService got configured.
@@ -213,7 +225,12 @@ public class BeansDeployer
         try
         {
             if (!deployed)
-            {                
+            {
+                if (webBeansContext.getOpenWebBeansConfiguration().isParallelDeployment())
+                {
+                    deploymentPool = newDeploymentPool(webBeansContext.getOpenWebBeansConfiguration().getParallelDeploymentParallelism());
+                }
+
                 //Load Extensions
                 webBeansContext.getExtensionLoader().loadExtensionServices();
 
@@ -382,6 +399,11 @@ public class BeansDeployer
                             .getExecutor().execute(() -> {});
                 }
 
+                if (webBeansContext.getOpenWebBeansConfiguration().isContextSlots())
+                {
+                    assignContextSlots();
+                }
+
                 // fire event
                 fireAfterDeploymentValidationEvent();
 
@@ -411,6 +433,63 @@ public class BeansDeployer
             //if bootstrapping failed, it doesn't make sense to do it again
             //esp. because #addInternalBean might have been called already and would cause an exception in the next run
             deployed = true;
+
+            if (deploymentPool != null)
+            {
+                deploymentPool.shutdownNow();
+                deploymentPool = null;
+            }
+        }
+    }
+
+    private static ForkJoinPool newDeploymentPool(int parallelism)
+    {
+        // the WebBeansContext is looked up by the classloader, so the workers need the one of the application
+        ClassLoader loader = WebBeansUtil.getCurrentClassLoader();
+        return new ForkJoinPool(parallelism, pool ->
+        {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("openwebbeans-deployment-" + thread.getPoolIndex());
+            thread.setContextClassLoader(loader);
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Runs the task for all elements on the deployment pool and waits for them.
+     * The task must not change the container state but its thread safe caches,
+     * everything else has to happen sequentially afterwards.
+     */
+    private <T> void prepareConcurrently(Collection<T> elements, Consumer<T> task)
+    {
+        try
+        {
+            deploymentPool.submit(() -> elements.parallelStream().forEach(task)).get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new WebBeansException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw ExceptionUtil.throwAsRuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Gives each enabled non dependent bean its index within its scope.
+     */
+    private void assignContextSlots()
+    {
+        ContextSlot.Allocator allocator = new ContextSlot.Allocator();
+        for (Bean<?> bean : webBeansContext.getBeanManagerImpl().getBeans())
+        {
+            if (bean instanceof AbstractOwbBean && ((AbstractOwbBean<?>) bean).isEnabled() && !Dependent.class.equals(bean.getScope()))
+            {
+                allocator.assign((AbstractOwbBean<?>) bean);
+            }
         }
     }
 
@@ -472,6 +551,12 @@ public class BeansDeployer
 
             boolean onlyScopedBeans = BeanDiscoveryMode.TRIM == bdaInfo.getBeanDiscoveryMode();
 
+            Map<AnnotatedType<?>, ManagedBeanAttributes> prepared = null;
+            if (deploymentPool != null && !discoverEjb)
+            {
+                prepared = prepareManagedBeanAttributes(annotatedTypes, onlyScopedBeans);
+            }
+
             Map<AnnotatedType<?>, ExtendedBeanAttributes<?>> bdaBeanAttributes = new IdentityHashMap<>(annotatedTypes.size());
             Iterator<AnnotatedType<?>> iterator = annotatedTypes.iterator();
             while (iterator.hasNext())
@@ -481,9 +566,17 @@ public class BeansDeployer
                 boolean isEjb = discoverEjb && EJBWebBeansConfigurator.isSessionBean(beanClass, webBeansContext);
                 try
                 {
-                    if (isEjb || (ClassUtil.isConcrete(beanClass) || WebBeansUtil.isDecorator(at)) && isValidManagedBean(at))
+                    ManagedBeanAttributes managedBean = prepared != null ? prepared.get(at) : null;
+                    if (managedBean == null)
+                    {
+                        managedBean = isEjb ?
+                            new ManagedBeanAttributes(BeanAttributesBuilder.forContext(webBeansContext).newBeanAttibutes(at, false).build()) :
+                            newManagedBeanAttributes(at, onlyScopedBeans);
+                    }
+
+                    if (managedBean.isManagedBean())
                     {
-                        BeanAttributesImpl beanAttributes = BeanAttributesBuilder.forContext(webBeansContext).newBeanAttibutes(at, onlyScopedBeans && !isEjb).build();
+                        BeanAttributesImpl beanAttributes = managedBean.getBeanAttributes();
                         if (beanAttributes != null &&
                                 (!beanAttributes.isAlternative() || isEnabledAlternative(at, beanAttributes.getStereotypes())))
                         {
@@ -530,6 +623,45 @@ public class BeansDeployer
         return beanAttributesPerBda;
     }
 
+    /**
+     * @return the BeanAttributes if the type is a valid managed bean or decorator
+     */
+    private ManagedBeanAttributes newManagedBeanAttributes(AnnotatedType<?> at, boolean onlyScopedBeans)
+    {
+        if ((ClassUtil.isConcrete(at.getJavaClass()) || WebBeansUtil.isDecorator(at)) && isValidManagedBean(at))
+        {
+            return new ManagedBeanAttributes(BeanAttributesBuilder.forContext(webBeansContext).newBeanAttibutes(at, onlyScopedBeans).build());
+        }
+        return ManagedBeanAttributes.NO_MANAGED_BEAN;
+    }
+
+    /**
+     * Computes the BeanAttributes of the given types on the deployment pool.
+     * Errors get kept and thrown when the type gets processed, so they still show up in the usual order.
+     */
+    private Map<AnnotatedType<?>, ManagedBeanAttributes> prepareManagedBeanAttributes(List<AnnotatedType<?>> annotatedTypes,
+                                                                                     boolean onlyScopedBeans)
+    {
+        // services get loaded lazily and their registry isn't thread safe
+        webBeansContext.getService(InjectionPointService.class);
+
+        Map<AnnotatedType<?>, ManagedBeanAttributes> prepared = Collections.synchronizedMap(new IdentityHashMap<>(annotatedTypes.size()));
+        prepareConcurrently(annotatedTypes, at ->
+        {
+            ManagedBeanAttributes managedBean;
+            try
+            {
+                managedBean = newManagedBeanAttributes(at, onlyScopedBeans);
+            }
+            catch (RuntimeException | LinkageError e)
+            {
+                managedBean = new ManagedBeanAttributes(e);
+            }
+            prepared.put(at, managedBean);
+        });
+        return prepared;
+    }
+
     private boolean isEnabledAlternative(AnnotatedType<?> at, Set<Class<? extends Annotation>> stereotypes)
     {
         AlternativesManager alternativesManager = webBeansContext.getAlternativesManager();
@@ -635,7 +767,7 @@ public class BeansDeployer
                         ParameterizedType pt2 = ParameterizedType.class.cast(t);
 
                         if (pt1.getRawType() == pt2.getRawType() &&
-                            !GenericsUtil.isAssignableFrom(true, false, pt1, pt2, new HashMap<>()))
+                            !webBeansContext.getAssignabilityCache().isAssignableFrom(true, false, pt1, pt2))
                         {
                             throw new WebBeansConfigurationException("Generic error matching " + api + " and " + t);
                         }
@@ -1149,6 +1281,11 @@ public class BeansDeployer
 
         if (beans != null && beans.size() > 0)
         {
+            if (deploymentPool != null)
+            {
+                prepareInjectionPoints(beans);
+            }
+
             LinkedList<String> beanNames = new LinkedList<>();
             for (Bean<?> bean : beans)
             {
@@ -1218,6 +1355,7 @@ public class BeansDeployer
                     if (injectionPoints != null)
                     {
                         webBeansContext.getWebBeansUtil().validate(injectionPoints, bean);
+                        webBeansContext.getBeanManagerImpl().createInjectionHandles(injectionPoints);
                     }
 
                     //Check passivation scope
@@ -1238,6 +1376,39 @@ public class BeansDeployer
         
     }
     
+    /**
+     * Resolves the injection points of the given beans on the deployment pool,
+     * the validation afterwards finds them in the cache of the InjectionResolver.
+     */
+    private void prepareInjectionPoints(Collection<? extends Bean<?>> beans)
+    {
+        List<InjectionPoint> injectionPoints = new ArrayList<>();
+        for (Bean<?> bean : beans)
+        {
+            if (bean instanceof OwbBean && !((OwbBean) bean).isEnabled() ||
+                    bean.getBeanClass().getName().startsWith(JAVAX_ENTERPRISE_PACKAGE))
+            {
+                continue;
+            }
+
+            try
+            {
+                Set<InjectionPoint> beanInjectionPoints = bean.getInjectionPoints();
+                if (beanInjectionPoints != null)
+                {
+                    injectionPoints.addAll(beanInjectionPoints);
+                }
+            }
+            catch (RuntimeException e)
+            {
+                // reported by the validation of the bean
+            }
+        }
+
+        InjectionResolver injectionResolver = webBeansContext.getBeanManagerImpl().getInjectionResolver();
+        prepareConcurrently(injectionPoints, injectionResolver::prepareInjectionPoint);
+    }
+
     private void validateObservers(Collection<ObserverMethod<?>> observerMethods)
     {
         for (ObserverMethod<?> observerMethod: observerMethods)
@@ -1246,6 +1417,7 @@ public class BeansDeployer
             {
                 OwbObserverMethod<?> owbObserverMethod = (OwbObserverMethod<?>)observerMethod;
                 webBeansContext.getWebBeansUtil().validate(owbObserverMethod.getInjectionPoints(), null);
+                webBeansContext.getBeanManagerImpl().createInjectionHandles(owbObserverMethod.getInjectionPoints());
             }
         }
     }
@@ -1347,6 +1519,10 @@ public class BeansDeployer
         {
             AnnotatedElementFactory annotatedElementFactory = webBeansContext.getAnnotatedElementFactory();
             boolean hasPATObserver = webBeansContext.getNotificationManager().hasProcessAnnotatedTypeObservers();
+            if (deploymentPool != null)
+            {
+                prepareConcurrently(classIndex, this::loadClassMembers);
+            }
             for (Class<?> implClass : classIndex)
             {
                 try
@@ -1425,6 +1601,28 @@ public class BeansDeployer
         return annotatedTypes;
     }
 
+    /**
+     * Loads the classes used by the members of the given class and lets the JVM cache its reflection data,
+     * this is what makes building the AnnotatedType expensive.
+     */
+    private void loadClassMembers(Class<?> implClass)
+    {
+        try
+        {
+            if (!implClass.isAnonymousClass() && !Modifier.isPrivate(implClass.getModifiers()))
+            {
+                implClass.getAnnotations();
+                implClass.getDeclaredConstructors();
+                implClass.getDeclaredMethods();
+                implClass.getDeclaredFields();
+            }
+        }
+        catch (RuntimeException | LinkageError e)
+        {
+            // reported when the class gets processed
+        }
+    }
+
     private boolean isEEComponent(Class<?> impl)
     {
         OpenWebBeansJavaEEPlugin eePlugin = webBeansContext.getPluginLoader().getJavaEEPlugin();
@@ -2181,4 +2379,51 @@ public class BeansDeployer
             this.ignoreFinalMethods = ignoreFinalMethods;
         }
     }
+
+    /**
+     * Outcome of checking whether an AnnotatedType is a managed bean, possibly computed on the deployment pool.
+     */
+    private static final class ManagedBeanAttributes
+    {
+        private static final ManagedBeanAttributes NO_MANAGED_BEAN = new ManagedBeanAttributes(null, null, false);
+
+        private final BeanAttributesImpl<?> beanAttributes;
+        private final Throwable error;
+        private final boolean managedBean;
+
+        private ManagedBeanAttributes(BeanAttributesImpl<?> beanAttributes)
+        {
+            this(beanAttributes, null, true);
+        }
+
+        private ManagedBeanAttributes(Throwable error)
+        {
+            this(null, error, true);
+        }
+
+        private ManagedBeanAttributes(BeanAttributesImpl<?> beanAttributes, Throwable error, boolean managedBean)
+        {
+            this.beanAttributes = beanAttributes;
+            this.error = error;
+            this.managedBean = managedBean;
+        }
+
+        private boolean isManagedBean()
+        {
+            if (error instanceof RuntimeException)
+            {
+                throw (RuntimeException) error;
+            }
+            if (error instanceof Error)
+            {
+                throw (Error) error;
+            }
+            return managedBean;
+        }
+
+        private BeanAttributesImpl getBeanAttributes()
+        {
+            return beanAttributes;
+        }
+    }
 }
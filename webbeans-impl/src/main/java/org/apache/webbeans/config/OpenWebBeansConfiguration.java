@@ -57,6 +57,13 @@ public class OpenWebBeansConfiguration
     /**Timeout interval in ms*/
     public static final String CONVERSATION_TIMEOUT_INTERVAL = "org.apache.webbeans.conversation.Conversation.timeoutInterval";
 
+    /**
+     * If {@code true} a background thread destroys the timed out conversations of all sessions
+     * every {@link #CONVERSATION_TIMEOUT_INTERVAL}, instead of only when the session gets used again or destroyed.
+     * Default is {@code false}.
+     */
+    public static final String CONVERSATION_REAPER = "org.apache.webbeans.conversation.Conversation.reaper";
+
     /**
      * Environment property which comma separated list of classes which
      * should NOT fail with UnproxyableResolutionException
@@ -160,6 +167,51 @@ public class OpenWebBeansConfiguration
      */
     public static final String SCAN_ONLY_BEANS_XML_JARS = "org.apache.webbeans.scanBeansXmlOnly";
 
+    /**
+     * Path of a file to keep the classes found in the scanned jars in.
+     * On the next start only jars which changed since get scanned again, directories always get scanned.
+     * Default is no index.
+     *
+     * @see org.apache.webbeans.corespi.scanner.xbean.ScanIndex
+     */
+    public static final String SCAN_INDEX = "org.apache.webbeans.scanIndex";
+
+    /**
+     * Number of threads reading the bytecode of the scanned classpath entries ahead of the class parsing.
+     * The classes are still parsed in the order of the classpath entries, so the result doesn't change.
+     * Default is {@code 1}, the entries get read one after the other.
+     *
+     * @see org.apache.webbeans.corespi.scanner.xbean.ArchivePrefetcher
+     */
+    public static final String SCAN_PARALLELISM = "org.apache.webbeans.scanner.parallelism";
+
+    /**
+     * Maximum number of jars nested in another archive, like the WEB-INF/lib jars of a packed war,
+     * which get read at the same time with {@link #SCAN_PARALLELISM}.
+     * Default is {@code 1}.
+     */
+    public static final String SCAN_NESTED_JAR_PARALLELISM = "org.apache.webbeans.scanner.nestedJarParallelism";
+
+    /**
+     * If {@code true} the scanned jars get memory mapped and their classes read from the mapping,
+     * jars stored uncompressed in another jar, like in Spring Boot fat jars, directly from the mapping of the outer one.
+     * Jars which can't be mapped, e.g. zip64 or multi release jars, get read as usual.
+     * Default is {@code false}.
+     *
+     * @see org.apache.webbeans.corespi.scanner.xbean.MappedJarArchive
+     */
+    public static final String SCAN_MAPPED_JARS = "org.apache.webbeans.scanner.mappedJars";
+
+    /**
+     * If {@code true} the result of the classpath scan is kept in memory and reused by the next containers
+     * started with the same classloader and the same bean archives, e.g. the SE containers of a test suite.
+     * Only the reading of the bytecode is skipped, the deployment itself and all its events still happen.
+     * Default is {@code false}.
+     *
+     * @see org.apache.webbeans.corespi.scanner.xbean.ScanSnapshot
+     */
+    public static final String SCAN_SNAPSHOT = "org.apache.webbeans.scanner.snapshot";
+
     /**
      * a comma-separated list of fully qualified class names that should be ignored
      * when determining if a decorator matches its delegate.  These are typically added by
@@ -196,6 +248,15 @@ public class OpenWebBeansConfiguration
      */
     public static final String EAGER_SESSION_INITIALISATION = "org.apache.webbeans.web.eagerSessionInitialisation";
 
+    /**
+     * If {@code true} the SessionContext only gets set on the HttpSession again at the end of a request
+     * if one of its contextual instances got created, used or destroyed,
+     * or if it got marked as changed via {@link org.apache.webbeans.context.SessionContext#markDirty()}.
+     * This avoids to replicate the session for requests which did not touch any session scoped bean.
+     * Default is {@code false}: the SessionContext gets set on the HttpSession at the beginning of each request.
+     */
+    public static final String SESSION_DIRTY_TRACKING = "org.apache.webbeans.web.sessionDirtyTracking";
+
     /**
      * The Java Version to use for the generated proxy classes.
      * If "auto" then we will pick the version of the current JVM.
@@ -204,6 +265,80 @@ public class OpenWebBeansConfiguration
      */
     public static final String GENERATOR_JAVA_VERSION = "org.apache.webbeans.generator.javaVersion";
 
+    /**
+     * The executor used for asynchronous observer methods if no {@link java.util.concurrent.Executor}
+     * SPI service is registered.
+     * <ul>
+     *     <li>&quot;default&quot; runs them on the common ForkJoinPool</li>
+     *     <li>&quot;virtual&quot; runs each of them on a new virtual thread on Java 21+
+     *     and falls back to &quot;bounded&quot; on older JVMs</li>
+     *     <li>&quot;bounded&quot; runs them on a dedicated ForkJoinPool, see {@link #ASYNC_OBSERVER_PARALLELISM}</li>
+     * </ul>
+     */
+    public static final String ASYNC_OBSERVER_EXECUTOR = "org.apache.webbeans.event.async.executor";
+
+    /**
+     * Parallelism of the &quot;bounded&quot; {@link #ASYNC_OBSERVER_EXECUTOR}.
+     * Defaults to the number of available processors.
+     */
+    public static final String ASYNC_OBSERVER_PARALLELISM = "org.apache.webbeans.event.async.parallelism";
+
+    /**
+     * If {@code true} all the observers of a single fireAsync get notified one after the other
+     * in a single task and a single request context instead of one task and request context per observer.
+     * Default is {@code false}.
+     */
+    public static final String ASYNC_OBSERVER_BATCHING = "org.apache.webbeans.event.async.batchObservers";
+
+    /**
+     * If {@code true} observer methods get invoked through a generated class instead of reflection.
+     * Private observer methods and methods not accessible from their own package keep using reflection.
+     * Default is {@code false}.
+     */
+    public static final String GENERATED_OBSERVER_INVOKERS = "org.apache.webbeans.event.generatedObserverInvokers";
+
+    /**
+     * If {@code true} each non dependent bean gets an index per scope at deployment time
+     * and the contexts store its instance in an array slot instead of hashing the bean.
+     * Beans added after the deployment keep using the hash based storage.
+     * Default is {@code false}.
+     */
+    public static final String CONTEXT_SLOTS = "org.apache.webbeans.context.slots";
+
+    /**
+     * Maximum number of entries the {@link org.apache.webbeans.container.InjectionResolver} keeps for lookups
+     * which are not bound to an injection point, like {@code Instance.select(...)} or {@code BeanManager.getBeans(...)}.
+     * Useful if such lookups use qualifier values computed at runtime.
+     * Lookups of the injection points of the beans are always cached.
+     * Default is {@code 0}, the cache is unbounded.
+     */
+    public static final String RESOLUTION_CACHE_SIZE = "org.apache.webbeans.resolver.cacheSize";
+
+    /**
+     * If {@code true} proxy classes get loaded from the archive written at build time by
+     * {@link org.apache.webbeans.proxy.ProxyArchiveGenerator} instead of being generated.
+     * This implies static proxy names ({@code org.apache.webbeans.proxy.useStaticNames}
+     * and {@code org.apache.webbeans.proxy.staticNames.useXxHash64}).
+     * Proxies which are missing in the archive or whose classes changed get generated as usual.
+     * Default is {@code false}.
+     */
+    public static final String PROXY_ARCHIVE = "org.apache.webbeans.proxy.archive";
+
+    /**
+     * If {@code true} the deployment prepares the annotated types, the bean attributes and
+     * the resolution of the injection points concurrently on a dedicated ForkJoinPool.
+     * The container lifecycle events are still fired one after the other in the usual order,
+     * the same for the validation, so the deployment errors don't change.
+     * Default is {@code false}.
+     */
+    public static final String PARALLEL_DEPLOYMENT = "org.apache.webbeans.deployment.parallel";
+
+    /**
+     * Parallelism of the {@link #PARALLEL_DEPLOYMENT}.
+     * Defaults to the number of available processors.
+     */
+    public static final String PARALLEL_DEPLOYMENT_PARALLELISM = "org.apache.webbeans.deployment.parallelism";
+
 
     /**Default configuration files*/
     private static final String DEFAULT_CONFIG_PROPERTIES_NAME = "META-INF/openwebbeans/openwebbeans.properties";
@@ -553,6 +688,98 @@ public class OpenWebBeansConfiguration
         return Boolean.parseBoolean(getProperty(PRODUCER_INTERCEPTION_SUPPORT, "true"));
     }
 
+    public String getAsyncObserverExecutor()
+    {
+        return getProperty(ASYNC_OBSERVER_EXECUTOR, "default").trim();
+    }
+
+    public int getAsyncObserverParallelism()
+    {
+        String value = getProperty(ASYNC_OBSERVER_PARALLELISM);
+        if (value == null || value.trim().isEmpty())
+        {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return Integer.parseInt(value.trim());
+    }
+
+    public boolean isAsyncObserverBatching()
+    {
+        return Boolean.parseBoolean(getProperty(ASYNC_OBSERVER_BATCHING));
+    }
+
+    public boolean isGeneratedObserverInvokers()
+    {
+        return Boolean.parseBoolean(getProperty(GENERATED_OBSERVER_INVOKERS));
+    }
+
+    public boolean isContextSlots()
+    {
+        return Boolean.parseBoolean(getProperty(CONTEXT_SLOTS));
+    }
+
+    /**
+     * @return the path of the scan index file or {@code null} if jars always get scanned
+     */
+    public String getScanIndex()
+    {
+        String value = getProperty(SCAN_INDEX);
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    public int getScanParallelism()
+    {
+        String value = getProperty(SCAN_PARALLELISM);
+        return value == null || value.trim().isEmpty() ? 1 : Integer.parseInt(value.trim());
+    }
+
+    public int getScanNestedJarParallelism()
+    {
+        String value = getProperty(SCAN_NESTED_JAR_PARALLELISM);
+        return value == null || value.trim().isEmpty() ? 1 : Integer.parseInt(value.trim());
+    }
+
+    public boolean isScanMappedJars()
+    {
+        return Boolean.parseBoolean(getProperty(SCAN_MAPPED_JARS));
+    }
+
+    public boolean isScanSnapshot()
+    {
+        return Boolean.parseBoolean(getProperty(SCAN_SNAPSHOT));
+    }
+
+    public boolean isConversationReaper()
+    {
+        return Boolean.parseBoolean(getProperty(CONVERSATION_REAPER));
+    }
+
+    public int getResolutionCacheSize()
+    {
+        String value = getProperty(RESOLUTION_CACHE_SIZE);
+        return value == null || value.trim().isEmpty() ? 0 : Integer.parseInt(value.trim());
+    }
+
+    public boolean isProxyArchive()
+    {
+        return Boolean.parseBoolean(getProperty(PROXY_ARCHIVE));
+    }
+
+    public boolean isParallelDeployment()
+    {
+        return Boolean.parseBoolean(getProperty(PARALLEL_DEPLOYMENT));
+    }
+
+    public int getParallelDeploymentParallelism()
+    {
+        String value = getProperty(PARALLEL_DEPLOYMENT_PARALLELISM);
+        if (value == null || value.trim().isEmpty())
+        {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return Integer.parseInt(value.trim());
+    }
+
     public String getGeneratorJavaVersion()
     {
         String generatorJavaVersion = getProperty(GENERATOR_JAVA_VERSION);
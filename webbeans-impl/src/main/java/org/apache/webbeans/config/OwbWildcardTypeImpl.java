@@ -20,6 +20,7 @@ package org.apache.webbeans.config;
 
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
+import java.util.Arrays;
 
 public class OwbWildcardTypeImpl implements WildcardType
 {
@@ -45,6 +46,30 @@ public class OwbWildcardTypeImpl implements WildcardType
         return lowerBounds.clone();
     }
 
+    /**
+     * Same as the wildcard types of the JVM, so they are equal to them.
+     */
+    @Override
+    public int hashCode()
+    {
+        return Arrays.hashCode(lowerBounds) ^ Arrays.hashCode(upperBounds);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+        if (!(obj instanceof WildcardType))
+        {
+            return false;
+        }
+        WildcardType that = (WildcardType) obj;
+        return Arrays.equals(lowerBounds, that.getLowerBounds()) && Arrays.equals(upperBounds, that.getUpperBounds());
+    }
+
     public String toString()
     {
         StringBuilder buffer = new StringBuilder("?");
@@ -23,10 +23,10 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 
@@ -57,6 +57,7 @@ import org.apache.webbeans.portable.events.ExtensionLoader;
 import org.apache.webbeans.proxy.SubclassProxyFactory;
 import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.proxy.ObserverMethodInvokerFactory;
 import org.apache.webbeans.service.DefaultInjectionPointService;
 import org.apache.webbeans.service.DefaultLoaderService;
 import org.apache.webbeans.spi.BeanArchiveService;
@@ -68,6 +69,7 @@ import org.apache.webbeans.spi.ScannerService;
 import org.apache.webbeans.spi.SecurityService;
 import org.apache.webbeans.spi.TransactionService;
 import org.apache.webbeans.spi.plugins.OpenWebBeansPlugin;
+import org.apache.webbeans.util.AssignabilityCache;
 import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.WebBeansUtil;
 import org.apache.webbeans.xml.DefaultBeanArchiveService;
@@ -83,9 +85,9 @@ import javax.enterprise.inject.spi.BeanManager;
  */
 public class WebBeansContext
 {
-    private final Map<Class<?>, Object> managerMap = new HashMap<>();
+    private final Map<Class<?>, Object> managerMap = new ConcurrentHashMap<>();
 
-    private final Map<Class<?>, Object> serviceMap = new HashMap<>();
+    private final Map<Class<?>, Object> serviceMap = new ConcurrentHashMap<>();
 
     private final WebBeansUtil webBeansUtil = new WebBeansUtil(this);
     private final AlternativesManager alternativesManager = new AlternativesManager(this);
@@ -98,6 +100,7 @@ public class WebBeansContext
     private final InterceptorDecoratorProxyFactory interceptorDecoratorProxyFactory;
     private final NormalScopeProxyFactory normalScopeProxyFactory;
     private final SubclassProxyFactory subclassProxyFactory;
+    private final ObserverMethodInvokerFactory observerMethodInvokerFactory;
     private final OpenWebBeansConfiguration openWebBeansConfiguration;
     private final PluginLoader pluginLoader = new PluginLoader();
     private final SerializableBeanVault serializableBeanVault = new SerializableBeanVault();
@@ -105,6 +108,7 @@ public class WebBeansContext
     private final AnnotationManager annotationManager;
     private final InjectionPointFactory injectionPointFactory;
     private final InterceptorUtil interceptorUtil = new InterceptorUtil(this);
+    private final AssignabilityCache assignabilityCache = new AssignabilityCache();
     private final SecurityService securityService;
     private final LoaderService loaderService;
     private final InjectableBeanManager injectableBeanManager;
@@ -170,6 +174,7 @@ public class WebBeansContext
         interceptorDecoratorProxyFactory = new InterceptorDecoratorProxyFactory(this);
         normalScopeProxyFactory = new NormalScopeProxyFactory(this);
         subclassProxyFactory = new SubclassProxyFactory(this);
+        observerMethodInvokerFactory = new ObserverMethodInvokerFactory(this);
 
         beanArchiveService = getService(BeanArchiveService.class);
         conversationManager = new ConversationManager(this);
@@ -178,6 +183,7 @@ public class WebBeansContext
 
         beanManagerImpl.getInjectionResolver().setFastMatching(!"false".equalsIgnoreCase(getOpenWebBeansConfiguration()
                 .getProperty(OpenWebBeansConfiguration.FAST_MATCHING)));
+        beanManagerImpl.getInjectionResolver().setCacheSize(getOpenWebBeansConfiguration().getResolutionCacheSize());
         injectableBeanManager = new InjectableBeanManager(beanManagerImpl);
         beanManagerBean = getWebBeansUtil().getManagerBean();
     }
@@ -221,7 +227,15 @@ public class WebBeansContext
         if (t == null)
         {
             t = doServiceLoader(clazz);
-            registerService(clazz, t);
+            if (t != null)
+            {
+                // the deployment can ask for a service from several threads, the first one wins
+                Object existing = serviceMap.putIfAbsent(clazz, t);
+                if (existing != null)
+                {
+                    t = clazz.cast(existing);
+                }
+            }
         }
         return t;
     }
@@ -283,6 +297,11 @@ public class WebBeansContext
         return conversationManager;
     }
 
+    public AssignabilityCache getAssignabilityCache()
+    {
+        return assignabilityCache;
+    }
+
     public OpenWebBeansConfiguration getOpenWebBeansConfiguration()
     {
         return openWebBeansConfiguration;
@@ -359,6 +378,11 @@ public class WebBeansContext
         return subclassProxyFactory;
     }
 
+    public ObserverMethodInvokerFactory getObserverMethodInvokerFactory()
+    {
+        return observerMethodInvokerFactory;
+    }
+
     public TransactionService getTransactionService() // used in event bus so ensure it is a plain getter at runtime
     {
         if (transactionService == null)
@@ -471,8 +495,12 @@ public class WebBeansContext
                 object = createInstance(clazz);
             }
 
-            // Save it for future usages
-            managerMap.put(clazz, object);
+            // Save it for future usages, the first one wins if several threads created it
+            Object existing = managerMap.putIfAbsent(clazz, object);
+            if (existing != null)
+            {
+                object = clazz.cast(existing);
+            }
         }
 
         return object;
@@ -531,6 +559,10 @@ public class WebBeansContext
         {
             return clazz.cast(subclassProxyFactory);
         }
+        if (clazz == ObserverMethodInvokerFactory.class)
+        {
+            return clazz.cast(observerMethodInvokerFactory);
+        }
         if (clazz == OpenWebBeansConfiguration.class)
         {
             return clazz.cast(openWebBeansConfiguration);
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.util.ClassUtil;
+
+/**
+ * Index of the beans by the raw classes of their types and by their qualifier annotation types.
+ * It lets the {@link InjectionResolver} check only the beans which can possibly match
+ * instead of all beans of the application.
+ */
+final class BeanIndex
+{
+    private final Map<Class<?>, Set<Bean<?>>> beansByRawType = new ConcurrentHashMap<>();
+    private final Map<Class<? extends Annotation>, Set<Bean<?>>> beansByQualifier = new ConcurrentHashMap<>();
+
+    /**
+     * beans with a type variable, wildcard or generic array type, they have to be checked for each injection point
+     */
+    private final Set<Bean<?>> beansWithoutRawType = ConcurrentHashMap.newKeySet();
+
+    BeanIndex(Collection<Bean<?>> beans)
+    {
+        for (Bean<?> bean : beans)
+        {
+            add(bean);
+        }
+    }
+
+    void add(Bean<?> bean)
+    {
+        for (Type type : bean.getTypes())
+        {
+            Class<?> rawType = getRawType(type);
+            if (rawType == null)
+            {
+                beansWithoutRawType.add(bean);
+            }
+            else
+            {
+                beansByRawType.computeIfAbsent(rawType, k -> ConcurrentHashMap.newKeySet()).add(bean);
+            }
+        }
+        for (Annotation qualifier : bean.getQualifiers())
+        {
+            beansByQualifier.computeIfAbsent(qualifier.annotationType(), k -> ConcurrentHashMap.newKeySet()).add(bean);
+        }
+    }
+
+    /**
+     * @return the beans which may satisfy the given type and qualifiers,
+     *         {@code null} if the type can't be looked up and all beans have to be checked
+     */
+    Collection<Bean<?>> getCandidates(Type type, Annotation[] qualifiers)
+    {
+        Class<?> rawType = getRawType(type);
+        if (rawType == null)
+        {
+            return null;
+        }
+
+        Collection<Bean<?>> byType = beansByRawType.getOrDefault(rawType, Collections.emptySet());
+        Collection<Bean<?>> candidates = byType;
+        int candidateCount = byType.size() + beansWithoutRawType.size();
+
+        // a bean needs all the qualifier types, so the smallest set is enough to start from
+        for (Annotation qualifier : qualifiers)
+        {
+            Set<Bean<?>> byQualifier = beansByQualifier.getOrDefault(qualifier.annotationType(), Collections.emptySet());
+            if (byQualifier.size() < candidateCount)
+            {
+                candidates = byQualifier;
+                candidateCount = byQualifier.size();
+            }
+        }
+
+        if (candidates == byType && !beansWithoutRawType.isEmpty())
+        {
+            Collection<Bean<?>> all = new ArrayList<>(candidateCount);
+            all.addAll(byType);
+            all.addAll(beansWithoutRawType);
+            return all;
+        }
+        return candidates;
+    }
+
+    /**
+     * @return the raw class of the type, primitives are boxed as the resolution does,
+     *         {@code null} for type variables, wildcards and generic arrays
+     */
+    private static Class<?> getRawType(Type type)
+    {
+        Type rawType = type instanceof ParameterizedType ? ((ParameterizedType) type).getRawType() : type;
+        if (!(rawType instanceof Class))
+        {
+            return null;
+        }
+        Class<?> rawClass = (Class<?>) rawType;
+        return rawClass.isPrimitive() ? ClassUtil.getPrimitiveWrapper(rawClass) : rawClass;
+    }
+}
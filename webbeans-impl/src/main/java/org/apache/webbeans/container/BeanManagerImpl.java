@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -89,6 +90,7 @@ import org.apache.webbeans.event.EventImpl;
 import org.apache.webbeans.event.EventMetadataImpl;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.DuplicateDefinitionException;
+import org.apache.webbeans.inject.impl.InjectionPointImpl;
 
 import org.apache.webbeans.intercept.InterceptorUtil;
 import org.apache.webbeans.plugins.OpenWebBeansJmsPlugin;
@@ -143,7 +145,14 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     private Map<Class<? extends Annotation>, Context> singleContextMap = new HashMap<>();
 
     /**Deployment archive beans*/
-    private Set<Bean<?>> deploymentBeans = new HashSet<>();
+    private IndexedBeans deploymentBeans = new IndexedBeans();
+
+    /**
+     * InjectionTargets of the non contextual instances, see {@link #getNonContextualInjectionTarget(Class)}.
+     * They are stored along with their class, so reloaded classes (e.g. JSPs) can still be unloaded.
+     * Replaced by {@link #clear()} as a ClassValue can't be emptied.
+     */
+    private volatile ClassValue<InjectionTarget<?>> nonContextualInjectionTargets = newNonContextualInjectionTargets();
 
     /**Normal scoped cache proxies*/
     private Map<Contextual<?>, Object> cacheProxies = new ConcurrentHashMap<>();
@@ -383,6 +392,14 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         return this;
     }
 
+    /**
+     * @return the index of all beans for the {@link InjectionResolver}
+     */
+    BeanIndex getBeanIndex()
+    {
+        return deploymentBeans.getIndex();
+    }
+
 
     /**
      * Check if the bean is has a passivation id and add it to the id store.
@@ -643,13 +660,103 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             return null;
         }
 
-        //Injected instance
-        Object instance = null;
-
+        InjectionHandle handle = getInjectionHandle(injectionPoint);
+        if (handle != null)
+        {
+            return getInjectableReference(injectionPoint, handle.getBean(), handle, ownerCreationalContext);
+        }
 
         //Find the injection point Bean
         Bean<Object> injectedBean = (Bean<Object>)injectionResolver.getInjectionPointBean(injectionPoint);
 
+        return getInjectableReference(injectionPoint, injectedBean, null, ownerCreationalContext);
+    }
+
+    /**
+     * Same as {@link #getInjectableReference(InjectionPoint, CreationalContext)}
+     * for callers which already resolved the bean of the injection point.
+     */
+    public Object getInjectableReference(InjectionPoint injectionPoint, Bean<Object> injectedBean, CreationalContext<?> ownerCreationalContext)
+    {
+        InjectionHandle handle = null;
+        if (injectionPoint instanceof InjectionPointImpl)
+        {
+            handle = ((InjectionPointImpl) injectionPoint).getHandle();
+            if (handle != null && handle.getBean() != injectedBean)
+            {
+                handle = null;
+            }
+        }
+        return getInjectableReference(injectionPoint, injectedBean, handle, ownerCreationalContext);
+    }
+
+    /**
+     * Resolves the bean of the given injection point.
+     * Uses the {@link InjectionHandle} of the injection point if there is one.
+     */
+    public Bean<Object> getInjectionPointBean(InjectionPoint injectionPoint)
+    {
+        InjectionHandle handle = getInjectionHandle(injectionPoint);
+        if (handle != null)
+        {
+            return handle.getBean();
+        }
+        return (Bean<Object>) injectionResolver.getInjectionPointBean(injectionPoint);
+    }
+
+    /**
+     * The handle gets computed during the validation of the deployment.
+     * If the validation got skipped it will be lazily created once the deployment is done.
+     *
+     * @return the resolution of the given injection point
+     *         or {@code null} if it must be resolved for each injection.
+     */
+    public InjectionHandle getInjectionHandle(InjectionPoint injectionPoint)
+    {
+        if (!(injectionPoint instanceof InjectionPointImpl) || injectionPoint.isDelegate())
+        {
+            return null;
+        }
+
+        InjectionPointImpl injectionPointImpl = (InjectionPointImpl) injectionPoint;
+        InjectionHandle handle = injectionPointImpl.getHandle();
+        if (handle == null && afterDeploymentValidationFired)
+        {
+            handle = createInjectionHandle(injectionPointImpl);
+        }
+        return handle;
+    }
+
+    /**
+     * Resolves the given injection points and stores the result on them.
+     * Must only be called once all beans are known and the injection points got validated.
+     */
+    public void createInjectionHandles(Collection<InjectionPoint> injectionPoints)
+    {
+        for (InjectionPoint injectionPoint : injectionPoints)
+        {
+            if (injectionPoint instanceof InjectionPointImpl && !injectionPoint.isDelegate()
+                    && ((InjectionPointImpl) injectionPoint).getHandle() == null)
+            {
+                createInjectionHandle((InjectionPointImpl) injectionPoint);
+            }
+        }
+    }
+
+    private InjectionHandle createInjectionHandle(InjectionPointImpl injectionPoint)
+    {
+        Bean<Object> bean = (Bean<Object>) injectionResolver.getInjectionPointBean(injectionPoint);
+        boolean cacheableProxy = isNormalScope(bean.getScope()) && !(bean instanceof EnterpriseBeanMarker) && !(bean instanceof JmsBeanMarker);
+        InjectionHandle handle = new InjectionHandle(bean, cacheableProxy);
+        injectionPoint.setHandle(handle);
+        return handle;
+    }
+
+    private Object getInjectableReference(InjectionPoint injectionPoint, Bean<Object> injectedBean, InjectionHandle handle,
+                                          CreationalContext<?> ownerCreationalContext)
+    {
+        //Injected instance
+        Object instance = null;
 
         if(WebBeansUtil.isDependent(injectedBean))
         {
@@ -679,6 +786,15 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         }
         else
         {
+            if (handle != null)
+            {
+                instance = handle.getProxy();
+                if (instance != null)
+                {
+                    return instance;
+                }
+            }
+
             //New creational context for normal scoped beans
             CreationalContextImpl<Object> injectedCreational = (CreationalContextImpl<Object>)createCreationalContext(injectedBean);
             injectedCreational.putInjectionPoint(injectionPoint);
@@ -690,6 +806,11 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             {
                 injectedCreational.removeInjectionPoint();
             }
+
+            if (handle != null && handle.isCacheableProxy())
+            {
+                handle.setProxy(instance);
+            }
         }
 
         return instance;
@@ -755,8 +876,8 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             boolean isProducer = AbstractProducerBean.class.isInstance(bean);
             if(!isProducer && // we have different rules for producers
                !isBeanTypeAssignableToGivenType(bean.getTypes(), beanType, bean instanceof NewBean, isProducer) &&
-               !GenericsUtil.satisfiesDependency(false, isProducer, beanType, bean.getBeanClass(), new HashMap<>()) &&
-               !GenericsUtil.satisfiesDependencyRaw(false, isProducer, beanType, bean.getBeanClass(), new HashMap<>()))
+               !webBeansContext.getAssignabilityCache().satisfiesDependency(false, isProducer, beanType, bean.getBeanClass()) &&
+               !webBeansContext.getAssignabilityCache().satisfiesDependencyRaw(false, isProducer, beanType, bean.getBeanClass()))
             {
                 throw new IllegalArgumentException("Given bean type : " + beanType + " is not applicable for the bean instance : " + bean);
             }
@@ -934,7 +1055,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     {
         for (Type beanApiType : beanTypes)
         {
-            if (GenericsUtil.satisfiesDependency(false, producer, givenType, beanApiType, new HashMap<>()))
+            if (webBeansContext.getAssignabilityCache().satisfiesDependency(false, producer, givenType, beanApiType))
             {
                 return true;
             }
@@ -1263,6 +1384,36 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         return it;
     }
 
+    /**
+     * InjectionTarget used to inject instances not managed by the container, e.g. servlets or tag handlers.
+     * Once the deployment is done it gets created only once per class,
+     * so the injection points are not looked up again for each instance.
+     *
+     * @see org.apache.webbeans.inject.OWBInjector
+     */
+    public <T> InjectionTarget<T> getNonContextualInjectionTarget(Class<T> type)
+    {
+        if (!afterDeploymentValidationFired)
+        {
+            // extensions can still change the AnnotatedTypes
+            return createInjectionTarget(createAnnotatedType(type));
+        }
+
+        return (InjectionTarget<T>) nonContextualInjectionTargets.get(type);
+    }
+
+    private ClassValue<InjectionTarget<?>> newNonContextualInjectionTargets()
+    {
+        return new ClassValue<InjectionTarget<?>>()
+        {
+            @Override
+            protected InjectionTarget<?> computeValue(Class<?> type)
+            {
+                return createInjectionTarget(createAnnotatedType(type));
+            }
+        };
+    }
+
 
     @Override
     public <T> Set<ObserverMethod<? super T>> resolveObserverMethods(T event, Annotation... qualifiers)
@@ -1463,6 +1614,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         scopeAnnotations.clear();
         nonscopeAnnotations.clear();
         clearCacheProxies();
+        nonContextualInjectionTargets = newNonContextualInjectionTargets();
         singleContextMap.clear();
         contextMap.clear();
         deploymentBeans.clear();
@@ -1524,4 +1676,85 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     {
         BEFORE_DISCOVERY, DISCOVERY, AFTER_DISCOVERY
     }
+
+    /**
+     * The deployment beans together with their {@link BeanIndex}, created on the first resolution.
+     * Added beans get indexed right away, any removal drops the index so it gets rebuilt on the next resolution.
+     * The set is returned by {@link #getBeans()}, so the removals can also happen through its iterator.
+     */
+    private static final class IndexedBeans extends HashSet<Bean<?>>
+    {
+        private transient volatile BeanIndex index;
+
+        BeanIndex getIndex()
+        {
+            BeanIndex current = index;
+            if (current == null)
+            {
+                current = new BeanIndex(this);
+                index = current;
+            }
+            return current;
+        }
+
+        @Override
+        public boolean add(Bean<?> bean)
+        {
+            if (!super.add(bean))
+            {
+                return false;
+            }
+            BeanIndex current = index;
+            if (current != null)
+            {
+                current.add(bean);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean remove(Object bean)
+        {
+            if (!super.remove(bean))
+            {
+                return false;
+            }
+            index = null;
+            return true;
+        }
+
+        @Override
+        public void clear()
+        {
+            super.clear();
+            index = null;
+        }
+
+        @Override
+        public Iterator<Bean<?>> iterator()
+        {
+            Iterator<Bean<?>> iterator = super.iterator();
+            return new Iterator<Bean<?>>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Bean<?> next()
+                {
+                    return iterator.next();
+                }
+
+                @Override
+                public void remove()
+                {
+                    iterator.remove();
+                    index = null;
+                }
+            };
+        }
+    }
 }
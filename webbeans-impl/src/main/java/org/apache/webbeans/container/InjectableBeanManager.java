@@ -103,6 +103,14 @@ public class InjectableBeanManager implements BeanManager, Externalizable
         return bm.createInjectionTarget(type);
     }
 
+    /**
+     * @see BeanManagerImpl#getNonContextualInjectionTarget(Class)
+     */
+    public <T> InjectionTarget<T> getNonContextualInjectionTarget(Class<T> type)
+    {
+        return bm.getNonContextualInjectionTarget(type);
+    }
+
     @Override
     public void fireEvent(Object event, Annotation... qualifiers)
     {
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import javax.enterprise.inject.spi.Bean;
+
+/**
+ * The resolution of an {@link org.apache.webbeans.inject.impl.InjectionPointImpl} once the deployment got validated.
+ * It avoids going through the {@link InjectionResolver} for each injection.
+ *
+ * For normal scoped beans the client proxy gets cached as well
+ * after it has been looked up the first time.
+ */
+public final class InjectionHandle
+{
+    private final Bean<Object> bean;
+
+    /**
+     * whether the injected reference is a client proxy which can be reused for each injection
+     */
+    private final boolean cacheableProxy;
+
+    private volatile Object proxy;
+
+    InjectionHandle(Bean<Object> bean, boolean cacheableProxy)
+    {
+        this.bean = bean;
+        this.cacheableProxy = cacheableProxy;
+    }
+
+    public Bean<Object> getBean()
+    {
+        return bean;
+    }
+
+    boolean isCacheableProxy()
+    {
+        return cacheableProxy;
+    }
+
+    Object getProxy()
+    {
+        return proxy;
+    }
+
+    void setProxy(Object proxy)
+    {
+        this.proxy = proxy;
+    }
+}
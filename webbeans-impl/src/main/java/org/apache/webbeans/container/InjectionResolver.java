@@ -53,8 +53,8 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -88,7 +88,7 @@ public class InjectionResolver
     private AlternativesManager alternativesManager;
     
     /**
-     * This Map contains all resolved beans via it's type and qualifiers.
+     * This Map contains all resolved beans of the injection points via it's type and qualifiers.
      * If a bean have resolved as not existing, the entry will contain <code>null</code> as value.
      * The Long key is a hashCode, see
      * {@link BeanCacheKey#BeanCacheKey(boolean, Type, String, java.util.function.Function, Annotation...)}
@@ -96,9 +96,15 @@ public class InjectionResolver
     private Map<BeanCacheKey, Set<Bean<?>>> resolvedBeansByType = new ConcurrentHashMap<>();
 
     /**
-     * This Map contains all resolved beans via it's ExpressionLanguage name.
+     * Same as {@link #resolvedBeansByType} for programmatic lookups, e.g. via {@link Instance#select(Annotation...)}.
+     * Those can use qualifier instances created at runtime, so this cache can be bounded.
      */
-    private Map<String, Set<Bean<?>>> resolvedBeansByName = new ConcurrentHashMap<>();
+    private volatile ResolutionCache<BeanCacheKey, Set<Bean<?>>> lookupCache = new ResolutionCache<>(0);
+
+    /**
+     * This cache contains all resolved beans via it's ExpressionLanguage name.
+     */
+    private volatile ResolutionCache<String, Set<Bean<?>>> resolvedBeansByName = new ResolutionCache<>(0);
 
     /**
      * Whether the container is in startup mode.
@@ -143,6 +149,33 @@ public class InjectionResolver
     {
         resolvedBeansByName.clear();
         resolvedBeansByType.clear();
+        lookupCache.clear();
+    }
+
+    /**
+     * @param cacheSize maximum number of entries of the lookup caches, {@code 0} or less for unbounded caches
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#RESOLUTION_CACHE_SIZE
+     */
+    public void setCacheSize(int cacheSize)
+    {
+        lookupCache = new ResolutionCache<>(cacheSize);
+        resolvedBeansByName = new ResolutionCache<>(cacheSize);
+    }
+
+    /**
+     * @return the cache of the programmatic lookups by type
+     */
+    public ResolutionCache<BeanCacheKey, Set<Bean<?>>> getLookupCache()
+    {
+        return lookupCache;
+    }
+
+    /**
+     * @return the cache of the lookups by name
+     */
+    public ResolutionCache<String, Set<Bean<?>>> getNameCache()
+    {
+        return resolvedBeansByName;
     }
 
     /**
@@ -175,7 +208,7 @@ public class InjectionResolver
         }
 
         // not that happy about this check here and at runtime but few TCKs test Weld behavior only...
-        Bean<?> bean = resolve(implResolveByType(false, type, injectionPoint.getQualifiers().toArray(new Annotation[injectionPoint.getQualifiers().size()])),
+        Bean<?> bean = resolve(implResolveByType(false, type, null, true, injectionPoint.getQualifiers().toArray(new Annotation[injectionPoint.getQualifiers().size()])),
                                      injectionPoint);
         if (bean != null && ManagedBean.class.isInstance(bean))
         {
@@ -212,19 +245,9 @@ public class InjectionResolver
             Annotation[] qualifiers = new Annotation[injectionPoint.getQualifiers().size()];
             qualifiers = injectionPoint.getQualifiers().toArray(qualifiers);
 
-            // OWB-890 some 3rd party InjectionPoints return null in getBean();
-            Class<?> injectionPointClass = Object.class; // the fallback
-            Bean injectionPointBean = injectionPoint.getBean();
-            if (injectionPointBean != null)
-            {
-                injectionPointClass = injectionPointBean.getBeanClass();
-            }
-            if (injectionPointClass == null && type instanceof Class)
-            {
-                injectionPointClass = (Class) type;
-            }
+            Class<?> injectionPointClass = getInjectionPointClass(injectionPoint);
 
-            Set<Bean<?>> beanSet = implResolveByType(injectionPoint.isDelegate(), type, injectionPointClass, qualifiers);
+            Set<Bean<?>> beanSet = implResolveByType(injectionPoint.isDelegate(), type, injectionPointClass, true, qualifiers);
 
             if (beanSet.isEmpty())
             {
@@ -254,6 +277,57 @@ public class InjectionResolver
         }
     }
 
+    /**
+     * Resolves the beans of the given injection point into the cache without validating it.
+     * Used by the parallel deployment to resolve the injection points concurrently
+     * before they get validated one after the other, errors are left to the validation.
+     *
+     * @param injectionPoint injection point of a deployed bean
+     */
+    public void prepareInjectionPoint(InjectionPoint injectionPoint)
+    {
+        Type type = injectionPoint.getType();
+        if (startup || ClassUtil.isTypeVariable(type))
+        {
+            return;
+        }
+
+        Annotation[] qualifiers = new Annotation[injectionPoint.getQualifiers().size()];
+        qualifiers = injectionPoint.getQualifiers().toArray(qualifiers);
+        for (Annotation qualifier : qualifiers)
+        {
+            if (qualifier.annotationType().equals(New.class))
+            {
+                // creates a new bean, this must stay sequential
+                return;
+            }
+        }
+
+        try
+        {
+            implResolveByType(injectionPoint.isDelegate(), type, getInjectionPointClass(injectionPoint), true, qualifiers);
+        }
+        catch (RuntimeException e)
+        {
+            // the validation of the injection point reports it
+        }
+    }
+
+    private Class<?> getInjectionPointClass(InjectionPoint injectionPoint)
+    {
+        // OWB-890 some 3rd party InjectionPoints return null in getBean();
+        Class<?> injectionPointClass = Object.class; // the fallback
+        Bean injectionPointBean = injectionPoint.getBean();
+        if (injectionPointBean != null)
+        {
+            injectionPointClass = injectionPointBean.getBeanClass();
+        }
+        if (injectionPointClass == null && injectionPoint.getType() instanceof Class)
+        {
+            injectionPointClass = (Class) injectionPoint.getType();
+        }
+        return injectionPointClass;
+    }
 
     /**
      * Returns bean for injection point.
@@ -280,7 +354,7 @@ public class InjectionResolver
         Set<Annotation> qualSet = injectionPoint.getQualifiers();
         Annotation[] qualifiers = qualSet.toArray(new Annotation[qualSet.size()]);
 
-        Set<Bean<?>> beanSet = implResolveByType(injectionPoint.isDelegate(), type, clazz, qualifiers);
+        Set<Bean<?>> beanSet = implResolveByType(injectionPoint.isDelegate(), type, clazz, true, qualifiers);
 
         if (beanSet.isEmpty())
         {
@@ -309,7 +383,7 @@ public class InjectionResolver
         {
             newType = newQualifier.value();
         }
-        Set<Bean<?>> beans = implResolveByType(injectionPoint.isDelegate(), newType, injectionPoint.getBean().getBeanClass(), AnyLiteral.INSTANCE);
+        Set<Bean<?>> beans = implResolveByType(injectionPoint.isDelegate(), newType, injectionPoint.getBean().getBeanClass(), true, AnyLiteral.INSTANCE);
         if (beans.isEmpty())
         {
             beanSet.add(webBeansContext.getWebBeansUtil().createNewComponent(newType));
@@ -442,6 +516,15 @@ public class InjectionResolver
      */
     public Set<Bean<?>> implResolveByType(boolean isDelegate, Type injectionPointType,
                                           Class<?> injectionPointClass, Annotation... qualifiers)
+    {
+        return implResolveByType(isDelegate, injectionPointType, injectionPointClass, false, qualifiers);
+    }
+
+    /**
+     * @param injectionPoint whether the lookup is for an injection point of a bean, those are always cached
+     */
+    private Set<Bean<?>> implResolveByType(boolean isDelegate, Type injectionPointType, Class<?> injectionPointClass,
+                                           boolean injectionPoint, Annotation... qualifiers)
     {
         ScannerService scannerService = webBeansContext.getScannerService();
         String bdaBeansXMLFilePath = null;
@@ -468,7 +551,7 @@ public class InjectionResolver
 
             cacheKey = new BeanCacheKey(isDelegate, injectionPointType, bdaBeansXMLFilePath, this::findQualifierModel, qualifiers);
 
-            resolvedComponents = resolvedBeansByType.get(cacheKey);
+            resolvedComponents = injectionPoint ? resolvedBeansByType.get(cacheKey) : lookupCache.get(cacheKey);
             if (resolvedComponents != null)
             {
                 return resolvedComponents;
@@ -479,7 +562,10 @@ public class InjectionResolver
 
         boolean returnAll = injectionPointType.equals(Object.class) && currentQualifier;
 
-        for (Bean<?> component : webBeansContext.getBeanManagerImpl().getBeans())
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        Collection<Bean<?>> candidates = returnAll ? null : beanManager.getBeanIndex().getCandidates(injectionPointType, qualifiers);
+
+        for (Bean<?> component : candidates != null ? candidates : beanManager.getBeans())
         {
             // no need to check instanceof OwbBean as we always wrap in a
             // ThirdpartyBeanImpl at least
@@ -511,9 +597,9 @@ public class InjectionResolver
                     for (Type componentApiType : component.getTypes())
                     {
 
-                        if (GenericsUtil.satisfiesDependency(
+                        if (webBeansContext.getAssignabilityCache().satisfiesDependency(
                                 isDelegate, AbstractProducerBean.class.isInstance(component),
-                                injectionPointType, componentApiType, new HashMap<>()))
+                                injectionPointType, componentApiType))
                         {
                             resolvedComponents.add(component);
                             break;
@@ -558,7 +644,14 @@ public class InjectionResolver
 
         if (!startup && !resolvedComponents.isEmpty())
         {
-            resolvedBeansByType.put(cacheKey, resolvedComponents);
+            if (injectionPoint)
+            {
+                resolvedBeansByType.put(cacheKey, resolvedComponents);
+            }
+            else
+            {
+                lookupCache.put(cacheKey, resolvedComponents);
+            }
 
             if (logger.isLoggable(Level.FINE))
             {
@@ -604,7 +697,7 @@ public class InjectionResolver
             boolean isProducer = AbstractProducerBean.class.isInstance(bean);
             for (Type type : bean.getTypes())
             {
-                if (GenericsUtil.satisfiesDependency(isDelegate, isProducer, injectionPointType, type, new HashMap<>()))
+                if (webBeansContext.getAssignabilityCache().satisfiesDependency(isDelegate, isProducer, injectionPointType, type))
                 {
                     resolved.add(bean);
                 }
@@ -630,7 +723,7 @@ public class InjectionResolver
             for (Type componentApiType : component.getTypes())
             {
 
-                if (GenericsUtil.satisfiesDependency(isDelegate, isProducer, injectionPointType, componentApiType, new HashMap<>()))
+                if (webBeansContext.getAssignabilityCache().satisfiesDependency(isDelegate, isProducer, injectionPointType, componentApiType))
                 {
                     resolvedComponents.add(component);
                     break;
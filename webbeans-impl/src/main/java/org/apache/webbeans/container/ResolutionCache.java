@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of the {@link InjectionResolver} for lookups which are not bound to a static injection point,
+ * e.g. {@code Instance.select(...)} with qualifier instances created at runtime or lookups by name.
+ *
+ * If a maximum size is configured, the entries get evicted with the CLOCK algorithm,
+ * an approximation of LRU where reading an entry only sets a flag:
+ * the oldest entry gets evicted unless it got read since it was inserted or last inspected,
+ * in which case it gets another round.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#RESOLUTION_CACHE_SIZE
+ */
+public final class ResolutionCache<K, V>
+{
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * insertion order of the keys, only used with a maximum size
+     */
+    private final Queue<K> clock;
+
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxSize the maximum number of entries, {@code 0} or less for an unbounded cache
+     */
+    public ResolutionCache(int maxSize)
+    {
+        this.maxSize = maxSize;
+        clock = maxSize > 0 ? new ConcurrentLinkedQueue<>() : null;
+    }
+
+    public V get(K key)
+    {
+        Entry<V> entry = entries.get(key);
+        if (entry == null)
+        {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        if (clock != null && !entry.referenced)
+        {
+            entry.referenced = true;
+        }
+        return entry.value;
+    }
+
+    public void put(K key, V value)
+    {
+        if (entries.put(key, new Entry<>(value)) != null || clock == null)
+        {
+            return;
+        }
+
+        clock.offer(key);
+        if (entries.size() > maxSize)
+        {
+            evict();
+        }
+    }
+
+    /**
+     * The size is always the one of the map, the clock may contain keys which got removed meanwhile
+     * (by {@link #clear()}) and those are just skipped.
+     * Evictions are serialized, otherwise concurrent puts would each see the same excess and evict too much.
+     */
+    private void evict()
+    {
+        synchronized (clock)
+        {
+            // one round to clear the flags and one to evict, concurrent readers can't keep us spinning
+            for (int i = 0; i < 2 * (maxSize + 1) && entries.size() > maxSize; i++)
+            {
+                evictOne();
+            }
+        }
+    }
+
+    /**
+     * Inspects the oldest key of the clock, evicting its entry unless it got read since the last round.
+     */
+    private void evictOne()
+    {
+        K key = clock.poll();
+        if (key == null)
+        {
+            // the key of an entry put while clearing got lost, evict any entry
+            for (Map.Entry<K, Entry<V>> entry : entries.entrySet())
+            {
+                if (entries.remove(entry.getKey(), entry.getValue()))
+                {
+                    evictions.increment();
+                    return;
+                }
+            }
+            return;
+        }
+
+        Entry<V> entry = entries.get(key);
+        if (entry == null)
+        {
+            return;
+        }
+        if (entry.referenced)
+        {
+            entry.referenced = false;
+            clock.offer(key);
+            return;
+        }
+        if (entries.remove(key, entry))
+        {
+            evictions.increment();
+        }
+    }
+
+    public void clear()
+    {
+        if (clock != null)
+        {
+            clock.clear();
+        }
+        entries.clear();
+    }
+
+    public int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * @return the maximum number of entries, {@code 0} or less if the cache is unbounded
+     */
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+
+    public long getHitCount()
+    {
+        return hits.sum();
+    }
+
+    public long getMissCount()
+    {
+        return misses.sum();
+    }
+
+    public long getEvictionCount()
+    {
+        return evictions.sum();
+    }
+
+    private static final class Entry<V>
+    {
+        private final V value;
+        private volatile boolean referenced;
+
+        private Entry(V value)
+        {
+            this.value = value;
+        }
+    }
+}
@@ -255,6 +255,16 @@ public abstract class AbstractContext implements AlterableContext, Serializable
      * {@inheritDoc}
      */
     protected abstract void setComponentInstanceMap();
+
+    /**
+     * Stores the contextual instances at the {@link ContextSlot}s of their beans from now on,
+     * see {@link org.apache.webbeans.config.OpenWebBeansConfiguration#CONTEXT_SLOTS}.
+     * Only to be called on a new context which is not used yet.
+     */
+    public void useContextSlots()
+    {
+        componentInstanceMap = new SlottedInstanceMap();
+    }
     
     /**
      * Check that context is active or throws exception.
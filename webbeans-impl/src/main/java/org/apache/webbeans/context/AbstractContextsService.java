@@ -19,8 +19,11 @@
 package org.apache.webbeans.context;
 
 import java.lang.annotation.Annotation;
-import java.util.Iterator;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import javax.enterprise.context.ContextException;
 import javax.enterprise.context.SessionScoped;
@@ -30,7 +33,6 @@ import org.apache.webbeans.annotation.BeforeDestroyedLiteral;
 import org.apache.webbeans.annotation.DestroyedLiteral;
 import org.apache.webbeans.annotation.InitializedLiteral;
 import org.apache.webbeans.config.WebBeansContext;
-import org.apache.webbeans.conversation.ConversationImpl;
 import org.apache.webbeans.conversation.ConversationManager;
 import org.apache.webbeans.event.NotificationManager;
 import org.apache.webbeans.spi.ContextsService;
@@ -43,10 +45,13 @@ public abstract class AbstractContextsService implements ContextsService
 
     protected Boolean fireRequestLifecycleEvents;
 
+    protected final boolean contextSlots;
+
     protected AbstractContextsService(WebBeansContext webBeansContext)
     {
         this.webBeansContext = webBeansContext;
         supportsConversation = webBeansContext.getOpenWebBeansConfiguration().supportsConversation();
+        contextSlots = webBeansContext.getOpenWebBeansConfiguration().isContextSlots();
 
     }
 
@@ -112,16 +117,18 @@ public abstract class AbstractContextsService implements ContextsService
             Set<ConversationContext> conversationContexts = conversationManager.getSessionConversations(sessionContext, false);
             if (conversationContexts != null)
             {
-                Iterator<ConversationContext> convIt = conversationContexts.iterator();
-                while (convIt.hasNext())
+                // a copy as sessions of older versions store a plain HashSet
+                for (ConversationContext conversationContext : new ArrayList<>(conversationContexts))
                 {
-                    ConversationContext conversationContext = convIt.next();
-
-                    ConversationImpl conv = conversationContext.getConversation();
-                    if (conversationManager.conversationTimedOut(conv))
+                    // only the one removing it destroys it, the conversation reaper might just do the same
+                    if (conversationManager.claimTimedOutConversation(conversationContexts, conversationContext))
                     {
                         conversationManager.destroyConversationContext(conversationContext);
-                        convIt.remove();
+
+                        if (sessionContext instanceof SessionContext)
+                        {
+                            ((SessionContext) sessionContext).markDirty();
+                        }
                     }
                 }
             }
@@ -138,6 +145,59 @@ public abstract class AbstractContextsService implements ContextsService
         }
     }
 
+    /**
+     * Attaches the given SessionContext to the current thread, e.g. to do background work for a session.
+     * ContextsServices which don't bind the SessionContext to the thread ignore it.
+     * @param sessionContext the SessionContext to attach or {@code null} to detach the current one
+     * @return the SessionContext which was attached before
+     */
+    public SessionContext attachSessionContext(SessionContext sessionContext)
+    {
+        return null;
+    }
+
+    /**
+     * Lets the normal scoped proxies get the context of the current thread without
+     * going through {@link javax.enterprise.inject.spi.BeanManager#getContext(Class)}.
+     * Subclasses changing how the current context of the scope gets looked up must return {@code null}.
+     * @param scopeType the scope of the proxied bean
+     * @return the context of the scope bound to the current thread, {@code null} if it is not bound to the thread
+     */
+    public Supplier<? extends AbstractContext> getThreadBoundContext(Class<? extends Annotation> scopeType)
+    {
+        return null;
+    }
+
+    /**
+     * @return whether no subclass overrides one of the given methods of the given class
+     */
+    protected boolean isDeclaredBy(Class<?> declaringClass, String... methodNames)
+    {
+        for (Class<?> current = getClass(); current != declaringClass && current != null; current = current.getSuperclass())
+        {
+            for (Method method : current.getDeclaredMethods())
+            {
+                if (Arrays.asList(methodNames).contains(method.getName()))
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the given new context, storing its instances in slots if they are enabled
+     */
+    protected <T extends AbstractContext> T initContextSlots(T context)
+    {
+        if (contextSlots)
+        {
+            context.useContextSlots();
+        }
+        return context;
+    }
+
     public boolean isSupportsConversation()
     {
         return supportsConversation;
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+
+/**
+ * Dense index of a bean within its scope.
+ * It is used by {@link SlottedInstanceMap} to store contextual instances in an array.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#CONTEXT_SLOTS
+ */
+public final class ContextSlot
+{
+    private final int index;
+
+    /**
+     * number of slots handed out for the scope, shared by all slots of this scope
+     */
+    private final AtomicInteger scopeSize;
+
+    private ContextSlot(int index, AtomicInteger scopeSize)
+    {
+        this.index = index;
+        this.scopeSize = scopeSize;
+    }
+
+    public int getIndex()
+    {
+        return index;
+    }
+
+    /**
+     * @return the number of slots assigned so far for the scope of this slot
+     */
+    public int getScopeSize()
+    {
+        return scopeSize.get();
+    }
+
+    /**
+     * Hands out the slots at deployment time, one sequence per scope.
+     */
+    public static final class Allocator
+    {
+        private final Map<Class<? extends Annotation>, AtomicInteger> scopeSizes = new HashMap<>();
+
+        public void assign(AbstractOwbBean<?> bean)
+        {
+            if (bean.getContextSlot() != null)
+            {
+                return;
+            }
+
+            AtomicInteger scopeSize = scopeSizes.computeIfAbsent(bean.getScope(), k -> new AtomicInteger());
+            bean.setContextSlot(new ContextSlot(scopeSize.getAndIncrement(), scopeSize));
+        }
+    }
+}
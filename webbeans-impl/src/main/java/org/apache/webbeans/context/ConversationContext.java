@@ -53,6 +53,10 @@ public class ConversationContext extends PassivatingContext
     {
         super(ConversationScoped.class);
         this.conversation = new ConversationImpl(webBeansContext);
+        if (webBeansContext.getOpenWebBeansConfiguration().isContextSlots())
+        {
+            useContextSlots();
+        }
     }
 
     @Override
@@ -19,25 +19,50 @@
 package org.apache.webbeans.context;
 
 import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.NotSerializableException;
 import java.io.ObjectInput;
+import java.io.ObjectInputStream;
 import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
 import java.lang.annotation.Annotation;
-import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.context.creational.CreationalContextImpl;
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.util.OwbCustomObjectInputStream;
 import org.apache.webbeans.util.WebBeansUtil;
 
 /**
  * Base class for passivating contexts.
  * It basically provides serialisation support
+ *
+ * The contextual instances are written as a versioned block of bytes:
+ * for each instance its passivation id, the instance and, only if it has dependent instances, its CreationalContext.
+ * When the context gets read the block is kept as it is and the instances get only deserialized
+ * once the context gets used, so sessions replicated to a node which never serves them are not deserialized.
+ * A context which did not get used yet writes the same block again.
  */
 public abstract class PassivatingContext extends AbstractContext implements Externalizable
 {
+    /**
+     * Version of the format written by {@link #writeExternal(ObjectOutput)},
+     * older versions wrote a {@link Map} of the passivation ids to the bags instead.
+     */
+    private static final Integer FORMAT_VERSION = 1;
+
+    /**
+     * the serialized contextual instances as long as they didn't get deserialized
+     */
+    private transient volatile byte[] passivatedInstances;
 
     public PassivatingContext(Class<? extends Annotation> scopeType)
     {
@@ -45,46 +70,177 @@ public abstract class PassivatingContext extends AbstractContext implements Exte
     }
 
     @Override
-    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    public <T> T get(Contextual<T> component)
     {
-        WebBeansContext webBeansContext = WebBeansContext.currentInstance();
+        activatePassivatedInstances();
+        return super.get(component);
+    }
+
+    @Override
+    protected <T> T getInstance(Contextual<T> contextual, CreationalContext<T> creationalContext)
+    {
+        activatePassivatedInstances();
+        return super.getInstance(contextual, creationalContext);
+    }
+
+    @Override
+    public void destroyInstance(Contextual<?> contextual)
+    {
+        activatePassivatedInstances();
+        super.destroyInstance(contextual);
+    }
+
+    @Override
+    public void destroy()
+    {
+        activatePassivatedInstances();
+        super.destroy();
+    }
 
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
         scopeType = (Class<? extends Annotation>) in.readObject();
-        Map<String, BeanInstanceBag<?>> map = (Map<String, BeanInstanceBag<?>>)in.readObject();
         setComponentInstanceMap();
-        for (Map.Entry<String, BeanInstanceBag<?>> beanBagEntry : map.entrySet())
+
+        Object version = in.readObject();
+        if (version instanceof Map)
         {
-            String id = beanBagEntry.getKey();
-            if (id != null)
+            readLegacyInstances((Map<String, BeanInstanceBag<?>>) version);
+            return;
+        }
+        if (!FORMAT_VERSION.equals(version))
+        {
+            throw new StreamCorruptedException("Unsupported format of " + getClass().getName() + ": " + version);
+        }
+
+        byte[] instances = new byte[in.readInt()];
+        in.readFully(instances);
+        passivatedInstances = instances;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeObject(scopeType);
+        out.writeObject(FORMAT_VERSION);
+
+        byte[] instances = passivatedInstances;
+        if (instances == null)
+        {
+            instances = writeInstances();
+        }
+        out.writeInt(instances.length);
+        out.write(instances);
+    }
+
+    private byte[] writeInstances() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+        {
+            for (Map.Entry<Contextual<?>, BeanInstanceBag<?>> beanBagEntry : componentInstanceMap.entrySet())
             {
-                Contextual<?> contextual = webBeansContext.getBeanManagerImpl().getPassivationCapableBean(id);
-                if (contextual != null)
+                Contextual<?> contextual = beanBagEntry.getKey();
+
+                String id = WebBeansUtil.getPassivationId(contextual);
+                if (id == null)
                 {
-                    componentInstanceMap.put(contextual, beanBagEntry.getValue());
+                    throw new NotSerializableException("cannot serialize " + contextual.toString());
+                }
+
+                BeanInstanceBag<?> bag = beanBagEntry.getValue();
+                if (bag.getBeanInstance() == null)
+                {
+                    // not created yet, nothing to restore
+                    continue;
+                }
+
+                out.writeObject(id);
+                out.writeObject(bag.getBeanInstance());
+
+                // a new CreationalContext gets created when reading it if it holds no dependent instance
+                CreationalContext<?> creationalContext = bag.getBeanCreationalContext();
+                boolean writeCreationalContext = !(creationalContext instanceof CreationalContextImpl)
+                        || ((CreationalContextImpl<?>) creationalContext).hasDependents();
+                out.writeBoolean(writeCreationalContext);
+                if (writeCreationalContext)
+                {
+                    out.writeObject(creationalContext);
                 }
             }
+            out.writeObject(null);
         }
+        return bytes.toByteArray();
     }
 
-    @Override
-    public void writeExternal(ObjectOutput out) throws IOException
+    /**
+     * Deserializes the contextual instances if this context got read and did not get used since.
+     */
+    private void activatePassivatedInstances()
     {
-        out.writeObject(scopeType);
-        Map<String, BeanInstanceBag<?>> map = new HashMap<>(componentInstanceMap.size());
+        if (passivatedInstances == null)
+        {
+            return;
+        }
 
-        for (Map.Entry<Contextual<?>, BeanInstanceBag<?>> beanBagEntry : componentInstanceMap.entrySet())
+        synchronized (this)
         {
-            Contextual<?> contextual = beanBagEntry.getKey();
+            byte[] instances = passivatedInstances;
+            if (instances != null)
+            {
+                try
+                {
+                    readInstances(instances);
+                }
+                catch (IOException | ClassNotFoundException e)
+                {
+                    throw new WebBeansException("Can't deserialize the instances of the context " + getScope().getName(), e);
+                }
+                passivatedInstances = null;
+            }
+        }
+    }
 
-            String id = WebBeansUtil.getPassivationId(contextual);
-            if (id == null)
+    private void readInstances(byte[] instances) throws IOException, ClassNotFoundException
+    {
+        BeanManagerImpl beanManager = WebBeansContext.currentInstance().getBeanManagerImpl();
+        try (ObjectInputStream in = new OwbCustomObjectInputStream(new ByteArrayInputStream(instances),
+                WebBeansUtil.getCurrentClassLoader()))
+        {
+            for (String id = (String) in.readObject(); id != null; id = (String) in.readObject())
             {
-                throw new NotSerializableException("cannot serialize " + contextual.toString());
+                Object instance = in.readObject();
+                CreationalContext<Object> creationalContext = in.readBoolean() ? (CreationalContext<Object>) in.readObject() : null;
+
+                Contextual<Object> contextual = (Contextual<Object>) beanManager.getPassivationCapableBean(id);
+                if (contextual != null)
+                {
+                    if (creationalContext == null)
+                    {
+                        creationalContext = beanManager.createCreationalContext(contextual);
+                    }
+                    componentInstanceMap.put(contextual, new BeanInstanceBag<>(creationalContext, instance));
+                }
             }
-            map.put(id, beanBagEntry.getValue());
         }
+    }
 
-        out.writeObject(map);
+    private void readLegacyInstances(Map<String, BeanInstanceBag<?>> map)
+    {
+        WebBeansContext webBeansContext = WebBeansContext.currentInstance();
+        for (Map.Entry<String, BeanInstanceBag<?>> beanBagEntry : map.entrySet())
+        {
+            String id = beanBagEntry.getKey();
+            if (id != null)
+            {
+                Contextual<?> contextual = webBeansContext.getBeanManagerImpl().getPassivationCapableBean(id);
+                if (contextual != null)
+                {
+                    componentInstanceMap.put(contextual, beanBagEntry.getValue());
+                }
+            }
+        }
     }
 
 }
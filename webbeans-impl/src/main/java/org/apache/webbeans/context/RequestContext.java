@@ -21,9 +21,6 @@ package org.apache.webbeans.context;
 import java.util.HashMap;
 
 import javax.enterprise.context.RequestScoped;
-import javax.enterprise.context.spi.Contextual;
-
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
 
 /**
  * Request context implementation.
@@ -96,11 +93,4 @@ public class RequestContext extends AbstractContext
     {
         this.httpSession = httpSession;
     }
-
-    @Override
-    public void destroy(Contextual<?> contextual)
-    {
-        super.destroy(contextual);
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
-    }
 }
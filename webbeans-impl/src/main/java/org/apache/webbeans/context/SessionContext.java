@@ -22,16 +22,23 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.context.SessionScoped;
 import javax.enterprise.context.spi.Contextual;
-
-import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
+import javax.enterprise.context.spi.CreationalContext;
 
 /**
  * Session context implementation.
+ *
+ * It tracks whether its contextual instances got used, see {@link #isDirty()},
+ * so session replication can skip the requests which did not use any session scoped bean.
  */
 public class SessionContext extends PassivatingContext
 {
     private static final long serialVersionUID = 2L;
 
+    /**
+     * whether a contextual instance got created, used or destroyed since the last {@link #resetDirty()}
+     */
+    private transient volatile boolean dirty;
+
     public SessionContext()
     {
         super(SessionScoped.class);
@@ -44,9 +51,49 @@ public class SessionContext extends PassivatingContext
     }
 
     @Override
-    public void destroy(Contextual<?> contextual)
+    protected <T> T getInstance(Contextual<T> contextual, CreationalContext<T> creationalContext)
+    {
+        markDirty();
+        return super.getInstance(contextual, creationalContext);
+    }
+
+    @Override
+    public void destroyInstance(Contextual<?> contextual)
+    {
+        markDirty();
+        super.destroyInstance(contextual);
+    }
+
+    /**
+     * Marks the contextual instances as changed, e.g. if an instance got modified without being used via its proxy.
+     */
+    public void markDirty()
+    {
+        // only write if needed, it is called for each invocation of a session scoped proxy
+        if (!dirty)
+        {
+            dirty = true;
+        }
+    }
+
+    /**
+     * @return whether a contextual instance got created, used or destroyed since the last {@link #resetDirty()}
+     */
+    public boolean isDirty()
+    {
+        return dirty;
+    }
+
+    /**
+     * @return whether this context was dirty
+     */
+    public boolean resetDirty()
     {
-        super.destroy(contextual);
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
+        boolean wasDirty = dirty;
+        if (wasDirty)
+        {
+            dirty = false;
+        }
+        return wasDirty;
     }
 }
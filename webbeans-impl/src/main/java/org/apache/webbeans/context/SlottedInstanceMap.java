@@ -0,0 +1,355 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import javax.enterprise.context.spi.Contextual;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.container.SerializableBean;
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+
+/**
+ * Storage of the contextual instances of a context.
+ *
+ * Beans which got a {@link ContextSlot} at deployment time are stored in an array
+ * indexed by their slot, all others end up in a hash based map.
+ * Reads and writes of the slots are lock free.
+ *
+ * The array gets sized on the first slotted write with the number of slots known for the scope.
+ * Beans with a slot out of this range (got added later on) or whose slot is used by another
+ * contextual (beans of a foreign scope stored in this context) just use the map as well.
+ */
+public class SlottedInstanceMap extends AbstractMap<Contextual<?>, BeanInstanceBag<?>>
+        implements ConcurrentMap<Contextual<?>, BeanInstanceBag<?>>
+{
+    private static final AtomicReferenceFieldUpdater<SlottedInstanceMap, AtomicReferenceArray> SLOTS_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(SlottedInstanceMap.class, AtomicReferenceArray.class, "slots");
+
+    private final ConcurrentMap<Contextual<?>, BeanInstanceBag<?>> fallback = new ConcurrentHashMap<>();
+
+    private volatile AtomicReferenceArray<Slot> slots;
+
+    @Override
+    public BeanInstanceBag<?> get(Object key)
+    {
+        ContextSlot contextSlot = getContextSlot(key);
+        if (contextSlot != null)
+        {
+            AtomicReferenceArray<Slot> currentSlots = slots;
+            int index = contextSlot.getIndex();
+            if (currentSlots != null && index < currentSlots.length())
+            {
+                Slot slot = currentSlots.get(index);
+                if (slot != null && matches(slot, key))
+                {
+                    return slot.bag;
+                }
+            }
+        }
+
+        // instances created before the slot got assigned stay in the map
+        return fallback.isEmpty() ? null : fallback.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return get(key) != null;
+    }
+
+    @Override
+    public BeanInstanceBag<?> putIfAbsent(Contextual<?> key, BeanInstanceBag<?> value)
+    {
+        AtomicReferenceArray<Slot> currentSlots = getSlots(key);
+        if (currentSlots != null && (fallback.isEmpty() || !fallback.containsKey(key)))
+        {
+            int index = getContextSlot(key).getIndex();
+            Slot newSlot = new Slot(key, value);
+            while (true)
+            {
+                Slot slot = currentSlots.get(index);
+                if (slot != null)
+                {
+                    if (matches(slot, key))
+                    {
+                        return slot.bag;
+                    }
+                    break; // used by another contextual
+                }
+                if (currentSlots.compareAndSet(index, null, newSlot))
+                {
+                    return null;
+                }
+            }
+        }
+        return fallback.putIfAbsent(key, value);
+    }
+
+    @Override
+    public BeanInstanceBag<?> put(Contextual<?> key, BeanInstanceBag<?> value)
+    {
+        AtomicReferenceArray<Slot> currentSlots = getSlots(key);
+        if (currentSlots != null)
+        {
+            int index = getContextSlot(key).getIndex();
+            Slot newSlot = new Slot(key, value);
+            while (true)
+            {
+                Slot slot = currentSlots.get(index);
+                if (slot != null && !matches(slot, key))
+                {
+                    break; // used by another contextual
+                }
+                if (currentSlots.compareAndSet(index, slot, newSlot))
+                {
+                    BeanInstanceBag<?> old = fallback.isEmpty() ? null : fallback.remove(key);
+                    return slot != null ? slot.bag : old;
+                }
+            }
+        }
+        return fallback.put(key, value);
+    }
+
+    @Override
+    public BeanInstanceBag<?> remove(Object key)
+    {
+        ContextSlot contextSlot = getContextSlot(key);
+        AtomicReferenceArray<Slot> currentSlots = slots;
+        if (contextSlot != null && currentSlots != null && contextSlot.getIndex() < currentSlots.length())
+        {
+            int index = contextSlot.getIndex();
+            while (true)
+            {
+                Slot slot = currentSlots.get(index);
+                if (slot == null || !matches(slot, key))
+                {
+                    break;
+                }
+                if (currentSlots.compareAndSet(index, slot, null))
+                {
+                    return slot.bag;
+                }
+            }
+        }
+        return fallback.isEmpty() ? null : fallback.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value)
+    {
+        ContextSlot contextSlot = getContextSlot(key);
+        AtomicReferenceArray<Slot> currentSlots = slots;
+        if (contextSlot != null && currentSlots != null && contextSlot.getIndex() < currentSlots.length())
+        {
+            Slot slot = currentSlots.get(contextSlot.getIndex());
+            if (slot != null && matches(slot, key))
+            {
+                return slot.bag == value && currentSlots.compareAndSet(contextSlot.getIndex(), slot, null);
+            }
+        }
+        return fallback.remove(key, value);
+    }
+
+    @Override
+    public boolean replace(Contextual<?> key, BeanInstanceBag<?> oldValue, BeanInstanceBag<?> newValue)
+    {
+        ContextSlot contextSlot = getContextSlot(key);
+        AtomicReferenceArray<Slot> currentSlots = slots;
+        if (contextSlot != null && currentSlots != null && contextSlot.getIndex() < currentSlots.length())
+        {
+            Slot slot = currentSlots.get(contextSlot.getIndex());
+            if (slot != null && matches(slot, key))
+            {
+                return slot.bag == oldValue && currentSlots.compareAndSet(contextSlot.getIndex(), slot, new Slot(key, newValue));
+            }
+        }
+        return fallback.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public BeanInstanceBag<?> replace(Contextual<?> key, BeanInstanceBag<?> value)
+    {
+        return containsKey(key) ? put(key, value) : null;
+    }
+
+    @Override
+    public int size()
+    {
+        int size = fallback.size();
+        AtomicReferenceArray<Slot> currentSlots = slots;
+        if (currentSlots != null)
+        {
+            for (int i = 0; i < currentSlots.length(); i++)
+            {
+                if (currentSlots.get(i) != null)
+                {
+                    size++;
+                }
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    @Override
+    public void clear()
+    {
+        AtomicReferenceArray<Slot> currentSlots = slots;
+        if (currentSlots != null)
+        {
+            for (int i = 0; i < currentSlots.length(); i++)
+            {
+                currentSlots.set(i, null);
+            }
+        }
+        fallback.clear();
+    }
+
+    /**
+     * A weakly consistent view like the one of a {@link ConcurrentHashMap}.
+     * Removing entries through the iterator is not supported.
+     */
+    @Override
+    public Set<Entry<Contextual<?>, BeanInstanceBag<?>>> entrySet()
+    {
+        return new AbstractSet<Entry<Contextual<?>, BeanInstanceBag<?>>>()
+        {
+            @Override
+            public Iterator<Entry<Contextual<?>, BeanInstanceBag<?>>> iterator()
+            {
+                List<Entry<Contextual<?>, BeanInstanceBag<?>>> entries = new ArrayList<>();
+                AtomicReferenceArray<Slot> currentSlots = slots;
+                if (currentSlots != null)
+                {
+                    for (int i = 0; i < currentSlots.length(); i++)
+                    {
+                        Slot slot = currentSlots.get(i);
+                        if (slot != null)
+                        {
+                            entries.add(slot);
+                        }
+                    }
+                }
+                entries.addAll(fallback.entrySet());
+                return entries.iterator();
+            }
+
+            @Override
+            public int size()
+            {
+                return SlottedInstanceMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * @return the slot array if the given contextual can be stored in it, {@code null} otherwise
+     */
+    private AtomicReferenceArray<Slot> getSlots(Object key)
+    {
+        ContextSlot contextSlot = getContextSlot(key);
+        if (contextSlot == null)
+        {
+            return null;
+        }
+
+        AtomicReferenceArray<Slot> currentSlots = slots;
+        if (currentSlots == null)
+        {
+            SLOTS_UPDATER.compareAndSet(this, null, new AtomicReferenceArray<Slot>(contextSlot.getScopeSize()));
+            currentSlots = slots;
+        }
+        return contextSlot.getIndex() < currentSlots.length() ? currentSlots : null;
+    }
+
+    private static ContextSlot getContextSlot(Object key)
+    {
+        Object bean = key instanceof SerializableBean ? ((SerializableBean<?>) key).getBean() : key;
+        return bean instanceof AbstractOwbBean ? ((AbstractOwbBean<?>) bean).getContextSlot() : null;
+    }
+
+    private static boolean matches(Slot slot, Object key)
+    {
+        return slot.contextual == key || slot.contextual.equals(key);
+    }
+
+    private static final class Slot implements Map.Entry<Contextual<?>, BeanInstanceBag<?>>
+    {
+        private final Contextual<?> contextual;
+        private final BeanInstanceBag<?> bag;
+
+        private Slot(Contextual<?> contextual, BeanInstanceBag<?> bag)
+        {
+            this.contextual = contextual;
+            this.bag = bag;
+        }
+
+        @Override
+        public Contextual<?> getKey()
+        {
+            return contextual;
+        }
+
+        @Override
+        public BeanInstanceBag<?> getValue()
+        {
+            return bag;
+        }
+
+        @Override
+        public BeanInstanceBag<?> setValue(BeanInstanceBag<?> value)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Map.Entry))
+            {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            return contextual.equals(other.getKey()) && bag.equals(other.getValue());
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return contextual.hashCode() ^ bag.hashCode();
+        }
+    }
+}
@@ -21,28 +21,36 @@ package org.apache.webbeans.context.creational;
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
 import java.io.Serializable;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Stores the CreationalContext and the Contextual Instance.
  * This also makes sure that we don't create the same bean
  * twice.
+ *
+ * A context can hold many bags, e.g. one per session scoped bean and session,
+ * so the creation is guarded by the monitor of the bag instead of a lock instance per bag.
  */
 public class BeanInstanceBag<T> implements Serializable
 {
     private static final long serialVersionUID = 1656996021599122499L;
     private final CreationalContext<T> beanCreationalContext;
     
-    private T beanInstance;
-    
-    private final Lock lock = new ReentrantLock();
-    
+    private volatile T beanInstance;
+
     public BeanInstanceBag(CreationalContext<T> beanCreationalContext)
     {
         this.beanCreationalContext = beanCreationalContext;
     }
 
+    /**
+     * Restores a bag of an already created instance, e.g. after passivation.
+     */
+    public BeanInstanceBag(CreationalContext<T> beanCreationalContext, T beanInstance)
+    {
+        this.beanCreationalContext = beanCreationalContext;
+        this.beanInstance = beanInstance;
+    }
+
     /**
      * @return the beanCreationalContext
      */
@@ -66,23 +74,21 @@ public class BeanInstanceBag<T> implements Serializable
      */
     public T create(Contextual<T> contextual)
     {
-        try
+        T instance = beanInstance;
+        if (instance != null)
+        {
+            return instance;
+        }
+
+        synchronized (this)
         {
-            lock.lock();
-            
             // we need to check again, maybe we got blocked by a previous invocation
             if (beanInstance == null)
             {
                 beanInstance = contextual.create(beanCreationalContext);
             }
-            
-        }
-        finally
-        {
-            lock.unlock();
+            return beanInstance;
         }
-        
-        return beanInstance; 
     }
 
     @Override
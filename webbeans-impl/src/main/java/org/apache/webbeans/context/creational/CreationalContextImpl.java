@@ -212,6 +212,17 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
         }
     }
 
+    /**
+     * @return whether dependent instances are attached to this CreationalContext
+     */
+    public boolean hasDependents()
+    {
+        synchronized (this)
+        {
+            return dependentObjects != null && !dependentObjects.isEmpty();
+        }
+    }
+
     public boolean containsDependent(Contextual<?> contextual, Object instance)
     {
         if (dependentObjects == null)
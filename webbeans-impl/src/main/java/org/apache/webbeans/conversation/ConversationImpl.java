@@ -196,6 +196,14 @@ public class ConversationImpl implements Conversation, Serializable
         }
     }
 
+    /**
+     * @return whether a request currently uses this conversation
+     */
+    public synchronized boolean isInUse()
+    {
+        return !threadsUsingIt.isEmpty();
+    }
+
     /**
      * {@inheritDoc}
      */
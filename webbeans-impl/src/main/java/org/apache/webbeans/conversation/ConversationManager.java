@@ -18,7 +18,14 @@
  */
 package org.apache.webbeans.conversation;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -35,12 +42,16 @@ import org.apache.webbeans.annotation.BeforeDestroyedLiteral;
 import org.apache.webbeans.annotation.DefaultLiteral;
 import org.apache.webbeans.annotation.DestroyedLiteral;
 import org.apache.webbeans.config.OWBLogConst;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.context.AbstractContextsService;
 import org.apache.webbeans.context.ConversationContext;
 import org.apache.webbeans.context.RequestContext;
+import org.apache.webbeans.context.SessionContext;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.ContextsService;
 import org.apache.webbeans.spi.ConversationService;
 import org.apache.webbeans.util.Asserts;
 
@@ -60,6 +71,14 @@ public class ConversationManager
     private final WebBeansContext webBeansContext;
     private final Bean<Set<ConversationContext>> conversationStorageBean;
 
+    /**
+     * the storages of the sessions which got used since the reaper is enabled,
+     * weakly referenced as sessions can also be dropped without getting destroyed
+     */
+    private final Set<ConversationStorage> reapedStorages = Collections.newSetFromMap(new WeakHashMap<>());
+    private ScheduledExecutorService reaper;
+    private boolean reaperStopped;
+
     /**
      * Creates new conversation manager
      */
@@ -94,28 +113,30 @@ public class ConversationManager
         String conversationId = conversationService.getConversationId();
         if (conversationId != null && conversationId.length() > 0)
         {
-            if (conversationContexts != null)
+            ConversationContext conversationContext = findConversation(conversationContexts, conversationId);
+            int users = conversationContext != null ? conversationContext.getConversation().iUseIt() : 0;
+            if (conversationContext != null && !conversationContexts.contains(conversationContext))
             {
-                for (ConversationContext conversationContext : conversationContexts)
+                // the reaper claimed it after the lookup, it only does so as long as nobody uses it
+                conversationContext.getConversation().iDontUseItAnymore();
+                conversationContext = null;
+            }
+            if (conversationContext != null)
+            {
+                if (users > 1)
+                {
+                    problem =  new BusyConversationException("Propogated conversation with cid=" +
+                            conversationContext.getConversation().getId() +
+                            " is used by other request. It creates a new transient conversation");
+                    conversationContext.getConversation().setProblemDuringCreation(problem);
+                }
+                else
                 {
-                    if (conversationId.equals(conversationContext.getConversation().getId()))
-                    {
-                        if (conversationContext.getConversation().iUseIt() > 1)
-                        {
-                            problem =  new BusyConversationException("Propogated conversation with cid=" +
-                                    conversationContext.getConversation().getId() +
-                                    " is used by other request. It creates a new transient conversation");
-                            conversationContext.getConversation().setProblemDuringCreation(problem);
-                        }
-                        else
-                        {
-                            conversationContext.getConversation().updateLastAccessTime();
-                        }
-
-                        conversationContext.setActive(true);
-                        return conversationContext;
-                    }
+                    conversationContext.getConversation().updateLastAccessTime();
                 }
+
+                conversationContext.setActive(true);
+                return conversationContext;
             }
 
             problem = new NonexistentConversationException("Propogated conversation with cid=" + conversationId +
@@ -140,16 +161,35 @@ public class ConversationManager
         Set<ConversationContext> sessionConversations = getSessionConversations(sessionContext, true);
 
         // check whether this conversation already exists
-        for (ConversationContext sessionConversation : sessionConversations)
+        if (findConversation(sessionConversations, conversationId) != null || !sessionConversations.add(conversationContext))
         {
-            if (conversationId.equals(sessionConversation.getConversation().getId()))
+            throw new IllegalArgumentException("Conversation with id=" + conversationId + " already exists!");
+        }
+    }
+
+    /**
+     * @return the conversation with the given id, {@code null} if there is none
+     */
+    private static ConversationContext findConversation(Set<ConversationContext> conversationContexts, String conversationId)
+    {
+        if (conversationContexts == null)
+        {
+            return null;
+        }
+        if (conversationContexts instanceof ConversationStorage)
+        {
+            return ((ConversationStorage) conversationContexts).get(conversationId);
+        }
+
+        // a storage of a session serialized by an older version
+        for (ConversationContext conversationContext : conversationContexts)
+        {
+            if (conversationId.equals(conversationContext.getConversation().getId()))
             {
-                throw new IllegalArgumentException("Conversation with id=" + conversationId + " already exists!");
+                return conversationContext;
             }
         }
-
-        // if not, then simply add this conversation
-        sessionConversations.add(conversationContext);
+        return null;
     }
 
     /**
@@ -270,7 +310,176 @@ public class ConversationManager
             }
         }
 
+        if (conversationContexts instanceof ConversationStorage)
+        {
+            ConversationStorage storage = (ConversationStorage) conversationContexts;
+            if (!storage.isReaped() && webBeansContext.getOpenWebBeansConfiguration().isConversationReaper())
+            {
+                startReaping(storage, sessionContext);
+            }
+        }
+
         return conversationContexts;
     }
 
+    /**
+     * Destroys the timed out conversations of all the sessions used since the
+     * {@link OpenWebBeansConfiguration#CONVERSATION_REAPER reaper} got enabled.
+     * This is what the reaper does periodically.
+     */
+    public void destroyTimedOutConversations()
+    {
+        List<ConversationStorage> storages;
+        synchronized (reapedStorages)
+        {
+            storages = new ArrayList<>(reapedStorages);
+        }
+
+        for (ConversationStorage storage : storages)
+        {
+            List<ConversationContext> timedOut = new ArrayList<>();
+            for (ConversationContext conversationContext : storage)
+            {
+                if (claimTimedOutConversation(storage, conversationContext))
+                {
+                    timedOut.add(conversationContext);
+                }
+            }
+            if (!timedOut.isEmpty())
+            {
+                destroyInBackground(storage, timedOut);
+            }
+        }
+    }
+
+    /**
+     * Removes the conversation from the conversations of its session if it timed out and is not used.
+     * This happens under the lock of the conversation, so a request can't start
+     * to use it in between, see {@link ConversationImpl#iUseIt()}.
+     * @return {@code true} if the caller has to destroy the conversation
+     */
+    public boolean claimTimedOutConversation(Set<ConversationContext> conversationContexts, ConversationContext conversationContext)
+    {
+        ConversationImpl conversation = conversationContext.getConversation();
+        synchronized (conversation)
+        {
+            // only the one removing it destroys it, a request might just do the same
+            return !conversation.isInUse() && conversationTimedOut(conversation) && conversationContexts.remove(conversationContext);
+        }
+    }
+
+    /**
+     * Destroys the claimed conversations of a session with a request context
+     * and the context of the session active on the reaper thread.
+     */
+    private void destroyInBackground(ConversationStorage storage, List<ConversationContext> conversationContexts)
+    {
+        ContextsService contextsService = webBeansContext.getContextsService();
+        SessionContext sessionContext = storage.getSessionContext();
+        AbstractContextsService sessionAware = sessionContext != null && contextsService instanceof AbstractContextsService
+                ? (AbstractContextsService) contextsService : null;
+
+        SessionContext previousSessionContext = sessionAware != null ? sessionAware.attachSessionContext(sessionContext) : null;
+        contextsService.startContext(RequestScoped.class, null);
+        try
+        {
+            for (ConversationContext conversationContext : conversationContexts)
+            {
+                try
+                {
+                    destroyConversationContext(conversationContext);
+                }
+                catch (RuntimeException e)
+                {
+                    logger.log(Level.WARNING, "Could not destroy the timed out conversation " +
+                            conversationContext.getConversation().getId(), e);
+                }
+            }
+        }
+        finally
+        {
+            contextsService.endContext(RequestScoped.class, null);
+            if (sessionAware != null)
+            {
+                sessionAware.attachSessionContext(previousSessionContext);
+            }
+            if (sessionContext != null)
+            {
+                // the session changed, the next request replicates it
+                sessionContext.markDirty();
+            }
+        }
+    }
+
+    /**
+     * Stops the reaper, e.g. when the container gets shut down.
+     */
+    public void stopReaper()
+    {
+        synchronized (reapedStorages)
+        {
+            reaperStopped = true;
+            reapedStorages.clear();
+            if (reaper != null)
+            {
+                reaper.shutdownNow();
+                reaper = null;
+            }
+        }
+    }
+
+    /**
+     * The session of the storage got destroyed and destroys its conversations itself.
+     */
+    void stopReaping(ConversationStorage storage)
+    {
+        synchronized (reapedStorages)
+        {
+            reapedStorages.remove(storage);
+            storage.setReaped(false);
+            storage.setSessionContext(null);
+        }
+    }
+
+    private void startReaping(ConversationStorage storage, Context sessionContext)
+    {
+        synchronized (reapedStorages)
+        {
+            if (reaperStopped || storage.isReaped())
+            {
+                return;
+            }
+            if (reaper == null)
+            {
+                long interval = getConversationTimeoutInterval();
+                reaper = Executors.newSingleThreadScheduledExecutor(task ->
+                {
+                    Thread thread = new Thread(task, "openwebbeans-conversation-reaper");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                reaper.scheduleWithFixedDelay(this::destroyTimedOutConversations, interval, interval, TimeUnit.MILLISECONDS);
+            }
+            if (sessionContext instanceof SessionContext)
+            {
+                storage.setSessionContext((SessionContext) sessionContext);
+            }
+            reapedStorages.add(storage);
+            storage.setReaped(true);
+        }
+    }
+
+    private long getConversationTimeoutInterval()
+    {
+        try
+        {
+            return Math.max(1000L, Long.parseLong(webBeansContext.getOpenWebBeansConfiguration().
+                    getProperty(OpenWebBeansConfiguration.CONVERSATION_TIMEOUT_INTERVAL, "1800000")));
+        }
+        catch (NumberFormatException e)
+        {
+            return 30 * 60 * 1000;
+        }
+    }
+
 }
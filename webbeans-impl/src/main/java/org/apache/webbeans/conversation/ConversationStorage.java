@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.conversation;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.webbeans.context.ConversationContext;
+import org.apache.webbeans.context.SessionContext;
+
+/**
+ * The long running conversations of a session indexed by their conversation id.
+ * This is the instance of the {@link ConversationStorageBean}.
+ *
+ * <p>Unlike other sets its equality is its identity, as the storages of different
+ * sessions get tracked by the {@link ConversationManager} while their content changes.</p>
+ */
+public class ConversationStorage extends AbstractSet<ConversationContext> implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * key: the id the conversation had when it got added,
+     * {@link javax.enterprise.context.Conversation#end()} resets the id before it gets removed
+     */
+    private final ConcurrentMap<String, ConversationContext> conversations = new ConcurrentHashMap<>();
+
+    /**
+     * whether the {@link ConversationManager} reaps the timed out conversations of this storage
+     */
+    private transient volatile boolean reaped;
+
+    /**
+     * the context of the session this storage belongs to, known once it got reaped
+     */
+    private transient volatile SessionContext sessionContext;
+
+    /**
+     * @return the conversation with the given id, {@code null} if there is none
+     */
+    public ConversationContext get(String conversationId)
+    {
+        return conversations.get(conversationId);
+    }
+
+    /**
+     * @return {@code false} if there is already a conversation with the same id
+     */
+    @Override
+    public boolean add(ConversationContext conversationContext)
+    {
+        String conversationId = conversationContext.getConversation().getId();
+        if (conversationId == null)
+        {
+            throw new IllegalArgumentException("Transient conversations don't get stored");
+        }
+        return conversations.putIfAbsent(conversationId, conversationContext) == null;
+    }
+
+    @Override
+    public boolean remove(Object o)
+    {
+        if (!(o instanceof ConversationContext))
+        {
+            return false;
+        }
+        String conversationId = ((ConversationContext) o).getConversation().getId();
+        if (conversationId != null && conversations.remove(conversationId, o))
+        {
+            return true;
+        }
+        // the conversation already ended
+        return conversations.values().remove(o);
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        if (!(o instanceof ConversationContext))
+        {
+            return false;
+        }
+        String conversationId = ((ConversationContext) o).getConversation().getId();
+        if (conversationId != null && conversations.get(conversationId) == o)
+        {
+            return true;
+        }
+        return conversations.containsValue(o);
+    }
+
+    @Override
+    public Iterator<ConversationContext> iterator()
+    {
+        return conversations.values().iterator();
+    }
+
+    @Override
+    public int size()
+    {
+        return conversations.size();
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        return this == o;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return System.identityHashCode(this);
+    }
+
+    boolean isReaped()
+    {
+        return reaped;
+    }
+
+    void setReaped(boolean reaped)
+    {
+        this.reaped = reaped;
+    }
+
+    SessionContext getSessionContext()
+    {
+        return sessionContext;
+    }
+
+    void setSessionContext(SessionContext sessionContext)
+    {
+        this.sessionContext = sessionContext;
+    }
+}
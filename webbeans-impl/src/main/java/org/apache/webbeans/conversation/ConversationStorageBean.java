@@ -29,7 +29,6 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.ConversationContext;
@@ -56,21 +55,29 @@ public class ConversationStorageBean implements Bean<Set<ConversationContext>>,
     @Override
     public Set<ConversationContext> create(CreationalContext<Set<ConversationContext>> creationalContext)
     {
-        return Collections.newSetFromMap(new ConcurrentHashMap<ConversationContext, Boolean>());
+        return new ConversationStorage();
     }
 
     @Override
     public void destroy(Set<ConversationContext> instance, CreationalContext<Set<ConversationContext>> context)
     {
-        if (instance == null || instance.isEmpty())
+        if (instance == null)
         {
             return;
         }
 
         ConversationManager conversationManager = webBeansContext.getConversationManager();
+        if (instance instanceof ConversationStorage)
+        {
+            conversationManager.stopReaping((ConversationStorage) instance);
+        }
         for (ConversationContext conversationContext : instance)
         {
-            conversationManager.destroyConversationContext(conversationContext);
+            // only the one removing it destroys it, the conversation reaper might just do the same
+            if (!(instance instanceof ConversationStorage) || instance.remove(conversationContext))
+            {
+                conversationManager.destroyConversationContext(conversationContext);
+            }
         }
     }
 
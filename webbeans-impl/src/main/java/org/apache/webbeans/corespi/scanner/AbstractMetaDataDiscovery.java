@@ -25,8 +25,11 @@ import static java.util.stream.Collectors.toMap;
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.corespi.scanner.xbean.ArchivePrefetcher;
 import org.apache.webbeans.corespi.scanner.xbean.CdiArchive;
 import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.corespi.scanner.xbean.ScanIndex;
+import org.apache.webbeans.corespi.scanner.xbean.ScanSnapshot;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.BDABeansXmlScanner;
@@ -58,6 +61,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -132,14 +138,65 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
                     .collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
             extensionJars.clear(); // no more needed
         }
-        archive = new CdiArchive(
-                beanArchiveService, WebBeansUtil.getCurrentClassLoader(),
-                beanDeploymentUrls, userFilter, getAdditionalArchive());
-        finder = new OwbAnnotationFinder(archive);
+        OpenWebBeansConfiguration configuration = webBeansContext.getOpenWebBeansConfiguration();
+        ClassLoader classLoader = WebBeansUtil.getCurrentClassLoader();
+        Archive additionalArchive = getAdditionalArchive();
+        // a custom filter can't be compared with the one of a previous scan
+        List<Object> snapshotKey = configuration.isScanSnapshot() && userFilter == null
+                ? ScanSnapshot.key(beanArchiveService, beanDeploymentUrls, additionalArchive)
+                : null;
+        if (snapshotKey != null)
+        {
+            ScanSnapshot snapshot = ScanSnapshot.get(classLoader, snapshotKey);
+            if (snapshot != null)
+            {
+                archive = snapshot.newArchive(beanArchiveService, classLoader, beanDeploymentUrls);
+                finder = snapshot.newFinder(classLoader);
+                return finder;
+            }
+        }
+
+        String scanIndex = configuration.getScanIndex();
+        int parallelism = configuration.getScanParallelism();
+        ExecutorService executor = parallelism > 1 ? newScanExecutor(parallelism) : null;
+        try
+        {
+            archive = new CdiArchive(
+                    beanArchiveService, classLoader,
+                    beanDeploymentUrls, userFilter, additionalArchive,
+                    scanIndex == null ? null : ScanIndex.load(new File(scanIndex)),
+                    executor == null ? null :
+                        new ArchivePrefetcher(executor, 2 * parallelism, configuration.getScanNestedJarParallelism()),
+                    configuration.isScanMappedJars());
+            finder = new OwbAnnotationFinder(archive);
+        }
+        finally
+        {
+            if (executor != null)
+            {
+                executor.shutdownNow();
+            }
+        }
+        archive.updateIndex(finder);
+        if (snapshotKey != null)
+        {
+            ScanSnapshot.put(classLoader, snapshotKey, finder, archive);
+        }
 
         return finder;
     }
 
+    private static ExecutorService newScanExecutor(int parallelism)
+    {
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, task ->
+        {
+            Thread thread = new Thread(task, "openwebbeans-scanner-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     protected Archive getAdditionalArchive()
     {
         return null;
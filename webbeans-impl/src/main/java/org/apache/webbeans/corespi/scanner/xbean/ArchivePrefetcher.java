@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import org.apache.xbean.finder.archive.Archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Reads the bytecode of the next archives of a {@link CdiArchive} on an executor
+ * while the {@link OwbAnnotationFinder} parses the current one.
+ *
+ * The entries are still handed out archive after archive in the original order,
+ * so the finder and the classes found per bean archive are the same as with a sequential scan.
+ * At most {@code window} archives are held in memory and at most {@code nestedJarPermits} nested jars,
+ * e.g. the WEB-INF/lib jars of a packed war, get read at the same time as they all get inflated
+ * from the same outer archive.
+ */
+public final class ArchivePrefetcher
+{
+    private final ExecutorService executor;
+    private final int window;
+    private final Semaphore nestedJars;
+
+    /**
+     * @param executor executes the reading of the archives, the caller manages its lifecycle
+     * @param window maximum number of archives read ahead
+     * @param nestedJarPermits maximum number of nested jars read at the same time
+     */
+    public ArchivePrefetcher(ExecutorService executor, int window, int nestedJarPermits)
+    {
+        this.executor = executor;
+        this.window = Math.max(1, window);
+        this.nestedJars = new Semaphore(Math.max(1, nestedJarPermits));
+    }
+
+    /**
+     * @param archives the archives to read in order
+     * @param urls the classpath entry of each archive, {@code null} for the custom archives
+     */
+    Iterator<Archive.Entry> iterator(List<Archive> archives, List<URL> urls)
+    {
+        return new PrefetchingIterator(archives, urls);
+    }
+
+    private List<Archive.Entry> read(Archive archive, URL url) throws InterruptedException
+    {
+        boolean nested = isNestedJar(url);
+        if (nested)
+        {
+            nestedJars.acquire();
+        }
+        try
+        {
+            List<Archive.Entry> entries = new ArrayList<>();
+            for (Archive.Entry entry : archive)
+            {
+                entries.add(readEntry(entry));
+            }
+            return entries;
+        }
+        finally
+        {
+            if (nested)
+            {
+                nestedJars.release();
+            }
+        }
+    }
+
+    private static Archive.Entry readEntry(Archive.Entry entry)
+    {
+        if (entry instanceof MappedJarArchive.MappedEntry)
+        {
+            // already in memory
+            return entry;
+        }
+        try (InputStream in = entry.getBytecode())
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(in.available(), 1024));
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0)
+            {
+                out.write(buffer, 0, read);
+            }
+            return new ReadEntry(entry.getName(), out.toByteArray(), null);
+        }
+        catch (IOException e)
+        {
+            // thrown when the finder asks for the bytecode, as without prefetching
+            return new ReadEntry(entry.getName(), null, e);
+        }
+    }
+
+    /**
+     * @return whether the url points into a jar which is itself stored in a jar
+     */
+    static boolean isNestedJar(URL url)
+    {
+        if (url == null || !"jar".equals(url.getProtocol()))
+        {
+            return false;
+        }
+        String externalForm = url.toExternalForm();
+        int separator = externalForm.indexOf("!/");
+        return separator >= 0 && externalForm.indexOf("!/", separator + 2) >= 0;
+    }
+
+    private final class PrefetchingIterator implements Iterator<Archive.Entry>
+    {
+        private final List<Archive> archives;
+        private final List<URL> urls;
+        private final Deque<Future<List<Archive.Entry>>> pending = new ArrayDeque<>();
+        private int submitted;
+        private Iterator<Archive.Entry> current = Collections.emptyIterator();
+
+        private PrefetchingIterator(List<Archive> archives, List<URL> urls)
+        {
+            this.archives = archives;
+            this.urls = urls;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while (!current.hasNext())
+            {
+                while (pending.size() < window && submitted < archives.size())
+                {
+                    Archive archive = archives.get(submitted);
+                    URL url = urls.get(submitted);
+                    pending.add(executor.submit(() -> read(archive, url)));
+                    submitted++;
+                }
+                if (pending.isEmpty())
+                {
+                    return false;
+                }
+                current = await(pending.poll()).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Archive.Entry next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        private List<Archive.Entry> await(Future<List<Archive.Entry>> future)
+        {
+            try
+            {
+                return future.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while scanning the classpath", e);
+            }
+            catch (ExecutionException e)
+            {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException)
+                {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error)
+                {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+
+    private static final class ReadEntry implements Archive.Entry
+    {
+        private final String name;
+        private final byte[] bytecode;
+        private final IOException error;
+
+        private ReadEntry(String name, byte[] bytecode, IOException error)
+        {
+            this.name = name;
+            this.bytecode = bytecode;
+            this.error = error;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public InputStream getBytecode() throws IOException
+        {
+            if (error != null)
+            {
+                throw error;
+            }
+            return new ByteArrayInputStream(bytecode);
+        }
+    }
+}
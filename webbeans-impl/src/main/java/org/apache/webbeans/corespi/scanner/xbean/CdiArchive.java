@@ -52,10 +52,67 @@ public class CdiArchive implements Archive
 
     private final Archive delegate;
 
+    /**
+     * the archives of the delegate and their classpath entry, {@code null} for the custom archives
+     */
+    private final List<Archive> archives = new ArrayList<>();
+    private final List<URL> archiveUrls = new ArrayList<>();
+
+    private final ArchivePrefetcher prefetcher;
+
+    private final ClassLoader loader;
+
+    private final ScanIndex scanIndex;
+
+    /**
+     * classes of the jars taken from the {@link ScanIndex}
+     */
+    private final List<ScanIndex.IndexedClass> indexedClasses = new ArrayList<>();
+
+    /**
+     * key: scanned jars
+     * value: all class names of the jar, before filtering
+     */
+    private final Map<URL, List<String>> scannedClasses = new HashMap<>();
+
     public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
                       Filter userFilter, Archive customArchive)
     {
-        Collection<Archive> archives = new ArrayList<>();
+        this(beanArchiveService, loader, urls, userFilter, customArchive, null);
+    }
+
+    /**
+     * @param scanIndex the index to take unchanged jars from, can be {@code null}
+     */
+    public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
+                      Filter userFilter, Archive customArchive, ScanIndex scanIndex)
+    {
+        this(beanArchiveService, loader, urls, userFilter, customArchive, scanIndex, null);
+    }
+
+    /**
+     * @param scanIndex the index to take unchanged jars from, can be {@code null}
+     * @param prefetcher reads the archives ahead while iterating, {@code null} to read them one after the other
+     */
+    public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
+                      Filter userFilter, Archive customArchive, ScanIndex scanIndex, ArchivePrefetcher prefetcher)
+    {
+        this(beanArchiveService, loader, urls, userFilter, customArchive, scanIndex, prefetcher, false);
+    }
+
+    /**
+     * @param scanIndex the index to take unchanged jars from, can be {@code null}
+     * @param prefetcher reads the archives ahead while iterating, {@code null} to read them one after the other
+     * @param mappedJars whether to read the jars through a {@link MappedJarArchive} where possible
+     */
+    public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
+                      Filter userFilter, Archive customArchive, ScanIndex scanIndex, ArchivePrefetcher prefetcher,
+                      boolean mappedJars)
+    {
+        this.loader = loader;
+        this.scanIndex = scanIndex;
+        this.prefetcher = prefetcher;
+
         boolean customAdded = false;
         for (URL url : urls.values())
         {
@@ -63,9 +120,29 @@ public class CdiArchive implements Archive
 
             BeanArchiveInformation beanArchiveInfo = beanArchiveService.getBeanArchiveInformation(url);
             final boolean custom = "openwebbeans".equals(url.getProtocol());
+            BeanArchiveFilter filter = new BeanArchiveFilter(beanArchiveInfo, urlClasses, userFilter);
+
+            if (!custom && scanIndex != null && addIndexedClasses(scanIndex.get(url), filter, urlClasses))
+            {
+                classesByUrl.put(url.toExternalForm(), new FoundClasses(url, urlClasses, beanArchiveInfo));
+                continue;
+            }
+
+            Filter archiveFilter = filter;
+            if (!custom && scanIndex != null)
+            {
+                List<String> allClasses = new ArrayList<>();
+                scannedClasses.put(url, allClasses);
+                archiveFilter = name ->
+                {
+                    allClasses.add(name);
+                    return filter.accept(name);
+                };
+            }
+
             Archive archive = new FilteredArchive(
-                    custom ? customArchive : ClasspathArchive.archive(loader, url),
-                    new BeanArchiveFilter(beanArchiveInfo, urlClasses, userFilter));
+                    custom ? customArchive : newArchive(loader, url, mappedJars),
+                    archiveFilter);
             if (!customAdded && custom)
             {
                 customAdded = true;
@@ -73,14 +150,79 @@ public class CdiArchive implements Archive
 
             classesByUrl.put(url.toExternalForm(), new FoundClasses(url, urlClasses, beanArchiveInfo));
             archives.add(archive);
+            archiveUrls.add(custom ? null : url);
         }
         if (!customAdded && customArchive != null)
         {
             archives.add(userFilter != null ? new FilteredArchive(customArchive, userFilter) : customArchive);
+            archiveUrls.add(null);
         }
         delegate = new CompositeArchive(archives);
     }
 
+    private static Archive newArchive(ClassLoader loader, URL url, boolean mappedJars)
+    {
+        if (mappedJars)
+        {
+            Archive archive = MappedJarArchive.open(loader, url);
+            if (archive != null)
+            {
+                return archive;
+            }
+        }
+        return ClasspathArchive.archive(loader, url);
+    }
+
+    /**
+     * Applies the filter of the bean archive to the indexed classes of a jar.
+     *
+     * @return {@code false} if the jar has to be scanned, i.e. it is not indexed
+     *         or a class passes the filter now which did not get read when indexing it
+     */
+    private boolean addIndexedClasses(Collection<ScanIndex.IndexedClass> classes, BeanArchiveFilter filter,
+                                      List<String> urlClasses)
+    {
+        if (classes == null)
+        {
+            return false;
+        }
+
+        List<ScanIndex.IndexedClass> accepted = new ArrayList<>();
+        for (ScanIndex.IndexedClass indexedClass : classes)
+        {
+            if (filter.accept(indexedClass.getName()))
+            {
+                if (indexedClass.getAnnotations() == null)
+                {
+                    urlClasses.clear();
+                    return false;
+                }
+                accepted.add(indexedClass);
+            }
+        }
+        indexedClasses.addAll(accepted);
+        return true;
+    }
+
+    /**
+     * Registers the indexed classes in the finder and updates the index with the scanned jars.
+     * To be called once the finder read this archive.
+     */
+    public void updateIndex(OwbAnnotationFinder finder)
+    {
+        if (scanIndex == null)
+        {
+            return;
+        }
+
+        finder.addIndexedClasses(indexedClasses);
+        for (Map.Entry<URL, List<String>> scanned : scannedClasses.entrySet())
+        {
+            scanIndex.record(scanned.getKey(), scanned.getValue(), finder);
+        }
+        scanIndex.save();
+    }
+
     public Map<String, FoundClasses> classesByUrl()
     {
         return classesByUrl;
@@ -89,18 +231,51 @@ public class CdiArchive implements Archive
     @Override
     public InputStream getBytecode(String className) throws IOException, ClassNotFoundException
     {
-        return delegate.getBytecode(className);
+        try
+        {
+            return delegate.getBytecode(className);
+        }
+        catch (ClassNotFoundException e)
+        {
+            if (indexedClasses.isEmpty())
+            {
+                throw e;
+            }
+            // indexed jars are not part of the delegate
+            InputStream bytecode = loader.getResourceAsStream(className.replace('.', '/') + ".class");
+            if (bytecode == null)
+            {
+                throw e;
+            }
+            return bytecode;
+        }
     }
 
     @Override
     public Class<?> loadClass(String className) throws ClassNotFoundException
     {
-        return delegate.loadClass(className);
+        try
+        {
+            return delegate.loadClass(className);
+        }
+        catch (ClassNotFoundException e)
+        {
+            if (indexedClasses.isEmpty())
+            {
+                throw e;
+            }
+            // indexed jars are not part of the delegate
+            return loader.loadClass(className);
+        }
     }
 
     @Override
     public Iterator<Entry> iterator()
     {
+        if (prefetcher != null)
+        {
+            return prefetcher.iterator(archives, archiveUrls);
+        }
         return delegate.iterator();
     }
 
@@ -0,0 +1,453 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.xbean.finder.archive.Archive;
+import org.apache.xbean.finder.archive.FileArchive;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.jar.Manifest;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Jar archive reading the classes from a memory mapped file instead of a {@link java.util.jar.JarFile}.
+ *
+ * The entries are looked up in the central directory of the mapping and their bytecode
+ * is handed to the class parser as a view of the mapping, stored entries without any copy.
+ * A jar stored in another one, like the jars of a Spring Boot fat jar or the WEB-INF/lib jars of a war,
+ * is read as a view of the outer mapping instead of being inflated through a stream.
+ *
+ * {@link #open(ClassLoader, URL)} returns {@code null} for everything it can't map,
+ * e.g. zip64 or multi release jars, compressed nested jars or directories,
+ * the usual xbean archive has to be used then.
+ */
+public final class MappedJarArchive implements Archive
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(MappedJarArchive.class);
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int END_HEADER = 0x06054b50;
+    private static final int END_HEADER_LENGTH = 22;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    private static final String MANIFEST = "META-INF/MANIFEST.MF";
+    private static final String CLASS_SUFFIX = ".class";
+
+    private final ClassLoader loader;
+    private final ByteBuffer zip;
+
+    /**
+     * key: entry name, value: location of the entry, in the order of the central directory
+     */
+    private final Map<String, Slice> entries = new LinkedHashMap<>();
+
+    private MappedJarArchive(ClassLoader loader, ByteBuffer zip) throws IOException
+    {
+        this.loader = loader;
+        this.zip = zip.order(ByteOrder.LITTLE_ENDIAN);
+        readCentralDirectory();
+    }
+
+    /**
+     * @param url a jar file, {@code jar:file:...!/} or a jar stored in it, e.g. {@code jar:file:app.war!/WEB-INF/lib/lib.jar!/}
+     * @return the mapped archive or {@code null} if the url can't be mapped
+     */
+    public static MappedJarArchive open(ClassLoader loader, URL url)
+    {
+        try
+        {
+            String[] path;
+            if ("file".equals(url.getProtocol()))
+            {
+                path = new String[] {url.toExternalForm()};
+            }
+            else if ("jar".equals(url.getProtocol()))
+            {
+                path = url.getFile().split("!/", -1);
+                if (path.length < 2 || !path[path.length - 1].isEmpty() || !path[0].startsWith("file:"))
+                {
+                    // a directory inside of the jar
+                    return null;
+                }
+            }
+            else
+            {
+                return null;
+            }
+
+            File file = new File(FileArchive.decode(new URL(path[0]).getFile()));
+            ByteBuffer mapping = map(file);
+            if (mapping == null)
+            {
+                return null;
+            }
+
+            MappedJarArchive archive = new MappedJarArchive(loader, mapping);
+            for (int i = 1; i < path.length - 1; i++)
+            {
+                ByteBuffer nested = archive.getStoredEntry(path[i]);
+                if (nested == null)
+                {
+                    return null;
+                }
+                archive = new MappedJarArchive(loader, nested);
+            }
+            return archive.isMultiRelease() ? null : archive;
+        }
+        catch (IOException | RuntimeException e)
+        {
+            logger.log(Level.FINE, "Can't map " + url + ", reading it as usual", e);
+            return null;
+        }
+    }
+
+    private static ByteBuffer map(File file) throws IOException
+    {
+        if (!file.isFile())
+        {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+            {
+                return null;
+            }
+            // the mapping stays valid after closing the channel
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    private void readCentralDirectory() throws IOException
+    {
+        int end = findEndHeader();
+        int entryCount = zip.getShort(end + 10) & 0xFFFF;
+        long size = zip.getInt(end + 12) & 0xFFFFFFFFL;
+        long offset = zip.getInt(end + 16) & 0xFFFFFFFFL;
+        if (entryCount == 0xFFFF || offset == 0xFFFFFFFFL)
+        {
+            throw new IOException("zip64 archives are not supported");
+        }
+
+        // some archives start with a launcher script, the offsets are relative to the zip content
+        int base = (int) (end - size - offset);
+        if (base < 0)
+        {
+            throw new IOException("Invalid central directory");
+        }
+
+        int position = (int) (base + offset);
+        for (int i = 0; i < entryCount; i++)
+        {
+            if (zip.getInt(position) != CENTRAL_HEADER)
+            {
+                throw new IOException("Invalid central directory entry");
+            }
+            int flags = zip.getShort(position + 8) & 0xFFFF;
+            int method = zip.getShort(position + 10) & 0xFFFF;
+            int compressedSize = zip.getInt(position + 20);
+            int nameLength = zip.getShort(position + 28) & 0xFFFF;
+            int extraLength = zip.getShort(position + 30) & 0xFFFF;
+            int commentLength = zip.getShort(position + 32) & 0xFFFF;
+            int localHeader = zip.getInt(position + 42);
+
+            byte[] name = new byte[nameLength];
+            ByteBuffer nameBuffer = zip.duplicate();
+            ((Buffer) nameBuffer).position(position + 46);
+            nameBuffer.get(name);
+            String entryName = new String(name, StandardCharsets.UTF_8);
+
+            if (!entryName.endsWith("/"))
+            {
+                if ((flags & 1) != 0 || method != STORED && method != DEFLATED || compressedSize < 0 || localHeader < 0)
+                {
+                    throw new IOException("Unsupported entry " + entryName);
+                }
+                entries.put(entryName, new Slice(method, base + localHeader, compressedSize));
+            }
+
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+    }
+
+    private int findEndHeader() throws IOException
+    {
+        int limit = zip.limit();
+        for (int i = limit - END_HEADER_LENGTH; i >= Math.max(0, limit - END_HEADER_LENGTH - MAX_COMMENT_LENGTH); i--)
+        {
+            if (zip.getInt(i) == END_HEADER)
+            {
+                return i;
+            }
+        }
+        throw new IOException("No zip archive");
+    }
+
+    private boolean isMultiRelease() throws IOException
+    {
+        Slice manifest = entries.get(MANIFEST);
+        if (manifest == null)
+        {
+            return false;
+        }
+        try (InputStream in = openStream(manifest))
+        {
+            return "true".equalsIgnoreCase(new Manifest(in).getMainAttributes().getValue("Multi-Release"));
+        }
+    }
+
+    /**
+     * @return a view of the uncompressed entry or {@code null} if the entry doesn't exist or is compressed
+     */
+    private ByteBuffer getStoredEntry(String name) throws IOException
+    {
+        Slice slice = entries.get(name);
+        return slice == null || slice.method != STORED ? null : getData(slice);
+    }
+
+    private ByteBuffer getData(Slice slice) throws IOException
+    {
+        if (zip.getInt(slice.localHeader) != LOCAL_HEADER)
+        {
+            throw new IOException("Invalid local header");
+        }
+        int start = slice.localHeader + 30 + (zip.getShort(slice.localHeader + 26) & 0xFFFF) + (zip.getShort(slice.localHeader + 28) & 0xFFFF);
+        ByteBuffer data = zip.duplicate();
+        // Buffer casts keep the bytecode compatible with Java 8
+        ((Buffer) data).limit(start + slice.compressedSize);
+        ((Buffer) data).position(start);
+        return data.slice();
+    }
+
+    private InputStream openStream(Slice slice) throws IOException
+    {
+        InputStream data = new ByteBufferInputStream(getData(slice));
+        return slice.method == STORED ? data : new RawInflaterInputStream(data);
+    }
+
+    @Override
+    public InputStream getBytecode(String className) throws IOException, ClassNotFoundException
+    {
+        int generics = className.indexOf('<');
+        String name = generics > 0 ? className.substring(0, generics) : className;
+        Slice slice = entries.get(name.endsWith(CLASS_SUFFIX) ? name : name.replace('.', '/') + CLASS_SUFFIX);
+        if (slice == null)
+        {
+            throw new ClassNotFoundException(className);
+        }
+        return openStream(slice);
+    }
+
+    @Override
+    public Class<?> loadClass(String className) throws ClassNotFoundException
+    {
+        return loader.loadClass(className);
+    }
+
+    @Override
+    public Iterator<Entry> iterator()
+    {
+        Iterator<Map.Entry<String, Slice>> iterator = entries.entrySet().iterator();
+        return new Iterator<Entry>()
+        {
+            private Entry next;
+
+            @Override
+            public boolean hasNext()
+            {
+                while (next == null && iterator.hasNext())
+                {
+                    Map.Entry<String, Slice> entry = iterator.next();
+                    String name = entry.getKey();
+                    // same selection as the xbean JarArchive
+                    if (!name.endsWith(CLASS_SUFFIX) || name.endsWith("module-info.class") || name.startsWith("META-INF/versions/"))
+                    {
+                        continue;
+                    }
+                    String className = name.substring(0, name.length() - CLASS_SUFFIX.length());
+                    if (!className.contains("."))
+                    {
+                        next = new MappedEntry(className.replace('/', '.'), entry.getValue());
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Entry next()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                Entry entry = next;
+                next = null;
+                return entry;
+            }
+        };
+    }
+
+    /**
+     * An entry which reads its bytecode from the mapping, there is no point in reading it ahead.
+     */
+    final class MappedEntry implements Entry
+    {
+        private final String name;
+        private final Slice slice;
+
+        private MappedEntry(String name, Slice slice)
+        {
+            this.name = name;
+            this.slice = slice;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public InputStream getBytecode() throws IOException
+        {
+            return openStream(slice);
+        }
+    }
+
+    private static final class Slice
+    {
+        private final int method;
+        private final int localHeader;
+        private final int compressedSize;
+
+        private Slice(int method, int localHeader, int compressedSize)
+        {
+            this.method = method;
+            this.localHeader = localHeader;
+            this.compressedSize = compressedSize;
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream
+    {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer)
+        {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read()
+        {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length)
+        {
+            if (length == 0)
+            {
+                return 0;
+            }
+            if (!buffer.hasRemaining())
+            {
+                return -1;
+            }
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public long skip(long n)
+        {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            ((Buffer) buffer).position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available()
+        {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Inflates the raw deflate data of a zip entry like the streams of {@link java.util.zip.ZipFile}.
+     */
+    private static final class RawInflaterInputStream extends InflaterInputStream
+    {
+        private boolean eof;
+
+        private RawInflaterInputStream(InputStream in)
+        {
+            super(in, new Inflater(true), 8192);
+        }
+
+        @Override
+        protected void fill() throws IOException
+        {
+            if (eof)
+            {
+                throw new EOFException("Unexpected end of ZLIB input stream");
+            }
+            len = in.read(buf, 0, buf.length);
+            if (len == -1)
+            {
+                // the raw inflater needs an additional dummy byte
+                buf[0] = 0;
+                len = 1;
+                eof = true;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            super.close();
+            inf.end();
+        }
+    }
+}
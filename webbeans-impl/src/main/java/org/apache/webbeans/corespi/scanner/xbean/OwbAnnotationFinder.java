@@ -18,11 +18,25 @@
  */
 package org.apache.webbeans.corespi.scanner.xbean;
 
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.xbean.finder.Annotated;
 import org.apache.xbean.finder.AnnotationFinder;
+import org.apache.xbean.finder.Parameter;
 import org.apache.xbean.finder.archive.Archive;
 import org.apache.xbean.finder.archive.ClassesArchive;
 
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Stream;
 
 /**
@@ -31,6 +45,13 @@ import java.util.stream.Stream;
  */
 public class OwbAnnotationFinder extends AnnotationFinder
 {
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(OwbAnnotationFinder.class);
+
+    /**
+     * classes added by {@link #addIndexedClasses(Collection)} whose bytecode did not get read yet
+     */
+    private final Set<String> indexedClassNames = new LinkedHashSet<>();
+
     public OwbAnnotationFinder(Archive archive, boolean checkRuntimeAnnotation)
     {
         super(archive, checkRuntimeAnnotation);
@@ -65,4 +86,159 @@ public class OwbAnnotationFinder extends AnnotationFinder
         return classInfos.get(className);
     }
 
+    /**
+     * @return the name, super type and class level annotations of all the classes known by this finder,
+     *         see {@link #addIndexedClasses(Collection)}
+     */
+    public List<ScanIndex.IndexedClass> getIndexedClasses()
+    {
+        List<ScanIndex.IndexedClass> indexedClasses = new ArrayList<>(classInfos.size());
+        for (ClassInfo classInfo : classInfos.values())
+        {
+            indexedClasses.add(ScanIndex.toIndexedClass(classInfo));
+        }
+        return indexedClasses;
+    }
+
+    /**
+     * Registers classes taken from the {@link ScanIndex} instead of reading their bytecode.
+     * Only their class level annotations are known, the first query about members, interfaces
+     * or the linking of the finder reads their bytecode from the {@link #getArchive() archive}.
+     */
+    public void addIndexedClasses(Collection<ScanIndex.IndexedClass> classes)
+    {
+        for (ScanIndex.IndexedClass indexedClass : classes)
+        {
+            ClassInfo classInfo = new ClassInfo(indexedClass.getName(), indexedClass.getSuperType());
+            for (String annotation : indexedClass.getAnnotations())
+            {
+                // the finder works with descriptors like the bytecode
+                classInfo.getAnnotations().add(new AnnotationInfo('L' + annotation.replace('.', '/') + ';'));
+                initAnnotationInfos(annotation).add(classInfo);
+            }
+            classInfos.put(indexedClass.getName(), classInfo);
+            indexedClassNames.add(indexedClass.getName());
+        }
+    }
+
+    /**
+     * Replaces the classes taken from the index by the ones read from their bytecode.
+     */
+    private void readIndexedClasses()
+    {
+        if (indexedClassNames.isEmpty())
+        {
+            return;
+        }
+        for (String className : indexedClassNames)
+        {
+            ClassInfo indexed = classInfos.remove(className);
+            if (indexed != null)
+            {
+                for (AnnotationInfo annotation : indexed.getAnnotations())
+                {
+                    // the lists of the finder don't support removals
+                    List<Info> infos = new ArrayList<>(getAnnotationInfos(annotation.getName()));
+                    infos.remove(indexed);
+                    annotated.put(annotation.getName(), infos);
+                }
+            }
+            try (InputStream bytecode = getArchive().getBytecode(className))
+            {
+                readClassDef(className, bytecode);
+            }
+            catch (Exception e)
+            {
+                logger.log(Level.WARNING,
+                        "Can't read the indexed class " + className + ", only its class level annotations are known", e);
+                if (indexed != null)
+                {
+                    classInfos.put(className, indexed);
+                    for (AnnotationInfo annotation : indexed.getAnnotations())
+                    {
+                        initAnnotationInfos(annotation.getName()).add(indexed);
+                    }
+                }
+            }
+        }
+        indexedClassNames.clear();
+    }
+
+    @Override
+    public AnnotationFinder link()
+    {
+        readIndexedClasses();
+        return super.link();
+    }
+
+    @Override
+    public AnnotationFinder enableFindImplementations()
+    {
+        readIndexedClasses();
+        return super.enableFindImplementations();
+    }
+
+    @Override
+    public AnnotationFinder enableFindSubclasses()
+    {
+        readIndexedClasses();
+        return super.enableFindSubclasses();
+    }
+
+    @Override
+    public List<Method> findAnnotatedMethods(Class<? extends Annotation> annotation)
+    {
+        readIndexedClasses();
+        return super.findAnnotatedMethods(annotation);
+    }
+
+    @Override
+    public List<Parameter<Method>> findAnnotatedMethodParameters(Class<? extends Annotation> annotation)
+    {
+        readIndexedClasses();
+        return super.findAnnotatedMethodParameters(annotation);
+    }
+
+    @Override
+    public List<Annotated<Method>> findMetaAnnotatedMethods(Class<? extends Annotation> annotation)
+    {
+        readIndexedClasses();
+        return super.findMetaAnnotatedMethods(annotation);
+    }
+
+    @Override
+    public List<Annotated<Field>> findMetaAnnotatedFields(Class<? extends Annotation> annotation)
+    {
+        readIndexedClasses();
+        return super.findMetaAnnotatedFields(annotation);
+    }
+
+    @Override
+    public List<Constructor> findAnnotatedConstructors(Class<? extends Annotation> annotation)
+    {
+        readIndexedClasses();
+        return super.findAnnotatedConstructors(annotation);
+    }
+
+    @Override
+    public List<Parameter<Constructor<?>>> findAnnotatedConstructorParameters(Class<? extends Annotation> annotation)
+    {
+        readIndexedClasses();
+        return super.findAnnotatedConstructorParameters(annotation);
+    }
+
+    @Override
+    public List<Field> findAnnotatedFields(Class<? extends Annotation> annotation)
+    {
+        readIndexedClasses();
+        return super.findAnnotatedFields(annotation);
+    }
+
+    @Override
+    public <T> List<Class<? extends T>> findImplementations(Class<T> clazz)
+    {
+        readIndexedClasses();
+        return super.findImplementations(clazz);
+    }
+
 }
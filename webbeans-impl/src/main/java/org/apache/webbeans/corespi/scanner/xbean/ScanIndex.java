@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.xbean.finder.AnnotationFinder;
+
+/**
+ * On disk index of the classes found in jars, it avoids to read the bytecode
+ * of unchanged jars again on the next start.
+ *
+ * A jar is identified by its path, size and last modification date, if one of them changed
+ * the jar gets scanned again. Directories are always scanned as their content changes
+ * without any visible change of the directory itself.
+ *
+ * For each class of a jar the index keeps the name and, if it got read, its super type and
+ * the names of its class level annotations. Member annotations are not indexed,
+ * the finder reads the bytecode of the indexed classes if it gets asked about them.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#SCAN_INDEX
+ */
+public class ScanIndex
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ScanIndex.class);
+
+    private static final int VERSION = 1;
+
+    private final File file;
+
+    /**
+     * jar path -> entry, as read from the file
+     */
+    private final Map<String, JarEntry> stored;
+
+    /**
+     * entries used by the current scan, only those get written back
+     */
+    private final Map<String, JarEntry> used = new LinkedHashMap<>();
+
+    private boolean dirty;
+
+    private ScanIndex(File file, Map<String, JarEntry> stored)
+    {
+        this.file = file;
+        this.stored = stored;
+    }
+
+    /**
+     * @return the index stored in the given file, an empty one if the file does not exist or can't be read
+     */
+    public static ScanIndex load(File file)
+    {
+        Map<String, JarEntry> entries = new HashMap<>();
+        if (file.isFile())
+        {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath()))))
+            {
+                if (in.readInt() == VERSION)
+                {
+                    int jars = in.readInt();
+                    for (int i = 0; i < jars; i++)
+                    {
+                        JarEntry entry = JarEntry.read(in);
+                        entries.put(entry.path, entry);
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                logger.log(Level.WARNING, "Can't read the scan index " + file + ", all jars get scanned", e);
+                entries.clear();
+            }
+        }
+        return new ScanIndex(file, entries);
+    }
+
+    /**
+     * @return the classes of the given classpath entry if it is an unchanged jar, {@code null} if it has to be scanned
+     */
+    public Collection<IndexedClass> get(URL url)
+    {
+        File jar = toJar(url);
+        if (jar == null)
+        {
+            return null;
+        }
+
+        JarEntry entry = stored.get(jar.getAbsolutePath());
+        if (entry == null || entry.size != jar.length() || entry.lastModified != jar.lastModified())
+        {
+            return null;
+        }
+        used.put(entry.path, entry);
+        return entry.classes;
+    }
+
+    /**
+     * Remembers the classes of a scanned jar.
+     *
+     * @param url the scanned classpath entry, ignored if it is not a jar
+     * @param classNames the names of all classes of the jar
+     * @param finder the finder which read the classes which passed the filters of the bean archive
+     */
+    public void record(URL url, Collection<String> classNames, OwbAnnotationFinder finder)
+    {
+        File jar = toJar(url);
+        if (jar == null)
+        {
+            return;
+        }
+
+        List<IndexedClass> classes = new ArrayList<>(classNames.size());
+        for (String className : classNames)
+        {
+            AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
+            classes.add(classInfo == null ? new IndexedClass(className, null, null) : toIndexedClass(classInfo));
+        }
+
+        JarEntry entry = new JarEntry(jar.getAbsolutePath(), jar.length(), jar.lastModified(), classes);
+        used.put(entry.path, entry);
+        dirty = true;
+    }
+
+    /**
+     * Writes the index if it changed, jars which were not part of the last scan get dropped.
+     */
+    public void save()
+    {
+        if (!dirty && used.size() == stored.size())
+        {
+            return;
+        }
+
+        try
+        {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs())
+            {
+                throw new IOException("Can't create " + parent);
+            }
+
+            // write to a temporary file first, other instances may read the index concurrently
+            File tmp = File.createTempFile(file.getName(), ".tmp", parent);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp.toPath()))))
+            {
+                out.writeInt(VERSION);
+                out.writeInt(used.size());
+                for (JarEntry entry : used.values())
+                {
+                    entry.write(out);
+                }
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Can't write the scan index " + file, e);
+        }
+    }
+
+    private static File toJar(URL url)
+    {
+        File file;
+        try
+        {
+            file = org.apache.xbean.finder.util.Files.toFile(url);
+        }
+        catch (RuntimeException e)
+        {
+            return null;
+        }
+        return file != null && file.isFile() ? file : null;
+    }
+
+    /**
+     * @return the name, super type and class level annotations of the class read by a finder
+     */
+    static IndexedClass toIndexedClass(AnnotationFinder.ClassInfo classInfo)
+    {
+        List<String> annotations = new ArrayList<>(classInfo.getAnnotations().size());
+        for (AnnotationFinder.AnnotationInfo annotation : classInfo.getAnnotations())
+        {
+            annotations.add(annotation.getName());
+        }
+        return new IndexedClass(classInfo.getName(), classInfo.getSuperType(), annotations);
+    }
+
+    /**
+     * A class as stored in the index.
+     */
+    public static final class IndexedClass
+    {
+        private final String name;
+        private final String superType;
+        private final List<String> annotations;
+
+        private IndexedClass(String name, String superType, List<String> annotations)
+        {
+            this.name = name;
+            this.superType = superType;
+            this.annotations = annotations;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public String getSuperType()
+        {
+            return superType;
+        }
+
+        /**
+         * @return the class level annotations, {@code null} if the class did not get read when it got indexed
+         */
+        public List<String> getAnnotations()
+        {
+            return annotations;
+        }
+    }
+
+    private static final class JarEntry
+    {
+        private final String path;
+        private final long size;
+        private final long lastModified;
+        private final List<IndexedClass> classes;
+
+        private JarEntry(String path, long size, long lastModified, List<IndexedClass> classes)
+        {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.classes = classes;
+        }
+
+        private static JarEntry read(DataInputStream in) throws IOException
+        {
+            String path = in.readUTF();
+            long size = in.readLong();
+            long lastModified = in.readLong();
+            int classCount = in.readInt();
+            List<IndexedClass> classes = new ArrayList<>(classCount);
+            for (int i = 0; i < classCount; i++)
+            {
+                String name = in.readUTF();
+                String superType = null;
+                List<String> annotations = null;
+                if (in.readBoolean())
+                {
+                    superType = in.readUTF();
+                    if (superType.isEmpty())
+                    {
+                        superType = null;
+                    }
+                    int annotationCount = in.readInt();
+                    annotations = new ArrayList<>(annotationCount);
+                    for (int j = 0; j < annotationCount; j++)
+                    {
+                        annotations.add(in.readUTF());
+                    }
+                }
+                classes.add(new IndexedClass(name, superType, annotations));
+            }
+            return new JarEntry(path, size, lastModified, classes);
+        }
+
+        private void write(DataOutputStream out) throws IOException
+        {
+            out.writeUTF(path);
+            out.writeLong(size);
+            out.writeLong(lastModified);
+            out.writeInt(classes.size());
+            for (IndexedClass indexedClass : classes)
+            {
+                out.writeUTF(indexedClass.name);
+                out.writeBoolean(indexedClass.annotations != null);
+                if (indexedClass.annotations != null)
+                {
+                    out.writeUTF(indexedClass.superType == null ? "" : indexedClass.superType);
+                    out.writeInt(indexedClass.annotations.size());
+                    for (String annotation : indexedClass.annotations)
+                    {
+                        out.writeUTF(annotation);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import org.apache.webbeans.spi.BeanArchiveService;
+import org.apache.webbeans.spi.BeanArchiveService.BeanArchiveInformation;
+import org.apache.xbean.finder.archive.Archive;
+import org.apache.xbean.finder.archive.ClasspathArchive;
+
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The result of a classpath scan kept for the next container started in the same JVM,
+ * e.g. by a test suite or a batch restarting an SE container per job.
+ *
+ * A snapshot is only reused for the same {@link ClassLoader} and the same bean archives,
+ * i.e. the same deployment urls with the same discovery mode and excludes and the same additional classes.
+ * It only replaces the reading of the bytecode, all the container lifecycle events still get fired.
+ * The snapshots are softly referenced so they get dropped when the memory gets low.
+ *
+ * The finder is not thread safe, so a snapshot only keeps the name, super type and class level annotations
+ * of the scanned classes, as a {@link ScanIndex} does, and each container gets its own finder built from them.
+ * Like for the index, the finder only reads the bytecode again once it gets asked about members or interfaces.
+ */
+public final class ScanSnapshot
+{
+    private static final Map<ClassLoader, Map<List<Object>, SoftReference<ScanSnapshot>>> SNAPSHOTS = new WeakHashMap<>();
+
+    private final List<ScanIndex.IndexedClass> indexedClasses;
+
+    /**
+     * key: URL#toExternalForm of the scanned classpath entry
+     * value: the classes found in it
+     */
+    private final Map<String, List<String>> classNames = new HashMap<>();
+
+    private ScanSnapshot(OwbAnnotationFinder finder, CdiArchive archive)
+    {
+        this.indexedClasses = finder.getIndexedClasses();
+        for (Map.Entry<String, CdiArchive.FoundClasses> foundClasses : archive.classesByUrl().entrySet())
+        {
+            classNames.put(foundClasses.getKey(),
+                    Collections.unmodifiableList(new ArrayList<>(foundClasses.getValue().getClassNames())));
+        }
+    }
+
+    /**
+     * @return the snapshot of an identical scan, {@code null} if there is none
+     */
+    public static ScanSnapshot get(ClassLoader loader, List<Object> key)
+    {
+        synchronized (SNAPSHOTS)
+        {
+            Map<List<Object>, SoftReference<ScanSnapshot>> snapshots = SNAPSHOTS.get(loader);
+            if (snapshots == null)
+            {
+                return null;
+            }
+            SoftReference<ScanSnapshot> snapshot = snapshots.get(key);
+            return snapshot == null ? null : snapshot.get();
+        }
+    }
+
+    /**
+     * Keeps the result of a scan, the finder is only read here and stays with its container.
+     */
+    public static void put(ClassLoader loader, List<Object> key, OwbAnnotationFinder finder, CdiArchive archive)
+    {
+        ScanSnapshot snapshot = new ScanSnapshot(finder, archive);
+        synchronized (SNAPSHOTS)
+        {
+            SNAPSHOTS.computeIfAbsent(loader, l -> new HashMap<>()).put(key, new SoftReference<>(snapshot));
+        }
+    }
+
+    /**
+     * Drops all the snapshots, e.g. once the classes on the classpath changed.
+     */
+    public static void clear()
+    {
+        synchronized (SNAPSHOTS)
+        {
+            SNAPSHOTS.clear();
+        }
+    }
+
+    /**
+     * @param urls the bean deployment urls to scan
+     * @param customArchive the additional archive, {@code null} if there is none
+     * @return the key identifying the scan
+     */
+    public static List<Object> key(BeanArchiveService beanArchiveService, Map<String, URL> urls, Archive customArchive)
+    {
+        List<Object> key = new ArrayList<>();
+        for (URL url : urls.values())
+        {
+            BeanArchiveInformation beanArchiveInfo = beanArchiveService.getBeanArchiveInformation(url);
+            key.add(url.toExternalForm());
+            key.add(beanArchiveInfo.getBeanDiscoveryMode());
+            key.add(copy(beanArchiveInfo.getExcludedClasses()));
+            key.add(copy(beanArchiveInfo.getExcludedPackages()));
+        }
+        if (customArchive != null)
+        {
+            // the entries of the additional archive are only the names of the classes, no bytecode gets read
+            List<String> customClasses = new ArrayList<>();
+            for (Archive.Entry entry : customArchive)
+            {
+                customClasses.add(entry.getName());
+            }
+            key.add(customClasses);
+        }
+        return key;
+    }
+
+    private static List<String> copy(List<String> values)
+    {
+        return values == null ? Collections.emptyList() : new ArrayList<>(values);
+    }
+
+    /**
+     * @param loader the loader of the scanned classes, the finder reads their bytecode from it
+     *               once it gets asked about members or interfaces
+     * @return a new finder knowing the classes of the snapshot without reading any bytecode
+     */
+    public OwbAnnotationFinder newFinder(ClassLoader loader)
+    {
+        OwbAnnotationFinder finder = new OwbAnnotationFinder(new ClasspathArchive(loader));
+        finder.addIndexedClasses(indexedClasses);
+        return finder;
+    }
+
+    /**
+     * @return an archive with the classes found per classpath entry but without any scannable content
+     */
+    public CdiArchive newArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls)
+    {
+        CdiArchive archive = new CdiArchive(beanArchiveService, loader, Collections.emptyMap(), null, null);
+        for (URL url : urls.values())
+        {
+            String externalForm = url.toExternalForm();
+            List<String> classes = classNames.get(externalForm);
+            archive.classesByUrl().put(externalForm, new CdiArchive.FoundClasses(
+                    url,
+                    classes == null ? new ArrayList<>() : new ArrayList<>(classes),
+                    beanArchiveService.getBeanArchiveInformation(url)));
+        }
+        return archive;
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.webbeans.corespi.se;
 
 import java.lang.annotation.Annotation;
+import java.util.function.Supplier;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.BusyConversationException;
@@ -35,6 +36,7 @@ import org.apache.webbeans.annotation.BeforeDestroyedLiteral;
 import org.apache.webbeans.annotation.DestroyedLiteral;
 import org.apache.webbeans.annotation.InitializedLiteral;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.AbstractContext;
 import org.apache.webbeans.context.AbstractContextsService;
 import org.apache.webbeans.context.ApplicationContext;
 import org.apache.webbeans.context.ConversationContext;
@@ -43,8 +45,6 @@ import org.apache.webbeans.context.RequestContext;
 import org.apache.webbeans.context.SessionContext;
 import org.apache.webbeans.conversation.ConversationImpl;
 import org.apache.webbeans.conversation.ConversationManager;
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
-import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
 
 
 public abstract class BaseSeContextsService extends AbstractContextsService
@@ -67,9 +67,15 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         dependentContext = new ThreadLocal<>();
     }
 
+    /**
+     * whether the current request and session contexts are the ones of the ThreadLocals
+     */
+    private final boolean threadBoundContexts;
+
     protected BaseSeContextsService(final WebBeansContext webBeansContext)
     {
         super(webBeansContext);
+        threadBoundContexts = isDeclaredBy(BaseSeContextsService.class, "getCurrentContext");
     }
 
     protected abstract void destroySingletonContext();
@@ -195,7 +201,6 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         if (requestCtx != null)
         {
             requestCtx.destroy();
-            RequestScopedBeanInterceptorHandler.removeThreadLocals();
             requestContext.set(null);
             requestContext.remove();
         }
@@ -204,7 +209,6 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         if (sessionCtx != null)
         {
             sessionCtx.destroy();
-            SessionScopedBeanInterceptorHandler.removeThreadLocals();
             sessionContext.set(null);
             sessionContext.remove();
         }
@@ -282,6 +286,39 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     {
         return sessionContext.get();
     }
+
+    @Override
+    public Supplier<? extends AbstractContext> getThreadBoundContext(Class<? extends Annotation> scopeType)
+    {
+        if (!threadBoundContexts)
+        {
+            return null;
+        }
+        if (scopeType.equals(RequestScoped.class))
+        {
+            return requestContext::get;
+        }
+        if (scopeType.equals(SessionScoped.class))
+        {
+            return sessionContext::get;
+        }
+        return null;
+    }
+
+    @Override
+    public SessionContext attachSessionContext(SessionContext ctx)
+    {
+        SessionContext previous = sessionContext.get();
+        if (ctx == null)
+        {
+            sessionContext.remove();
+        }
+        else
+        {
+            sessionContext.set(ctx);
+        }
+        return previous;
+    }
     
     private void startApplicationContext()
     {
@@ -291,7 +328,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
             return;
         }
 
-        ApplicationContext ctx = new ApplicationContext();
+        ApplicationContext ctx = initContextSlots(new ApplicationContext());
         ctx.setActive(true);
 
         applicationContext = ctx;
@@ -332,7 +369,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     private void startRequestContext()
     {
         
-        RequestContext ctx = new RequestContext();
+        RequestContext ctx = initContextSlots(new RequestContext());
         ctx.setActive(true);
         
         requestContext.set(ctx);
@@ -346,7 +383,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     
     private void startSessionContext()
     {
-        SessionContext ctx = new SessionContext();
+        SessionContext ctx = initContextSlots(new SessionContext());
         ctx.setActive(true);
         
         sessionContext.set(ctx);
@@ -436,7 +473,6 @@ public abstract class BaseSeContextsService extends AbstractContextsService
 
         BaseSeContextsService.requestContext.set(null);
         BaseSeContextsService.requestContext.remove();
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
 
         if (ctx != null && shouldFireRequestLifecycleEvents())
         {
@@ -458,7 +494,6 @@ public abstract class BaseSeContextsService extends AbstractContextsService
 
         sessionContext.set(null);
         sessionContext.remove();
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
         if (activeContext != null)
         {
             webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
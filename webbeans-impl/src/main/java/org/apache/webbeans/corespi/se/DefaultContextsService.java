@@ -60,7 +60,7 @@ public class DefaultContextsService extends BaseSeContextsService
     @Override
     protected void createSingletonContext()
     {
-        final SingletonContext ctx = new SingletonContext();
+        final SingletonContext ctx = initContextSlots(new SingletonContext());
         ctx.setActive(true);
         
         singletonContext.set(ctx);
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.event;
+
+import java.io.Closeable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.util.WebBeansUtil;
+
+/**
+ * Built-in executors for asynchronous observer methods,
+ * see {@link OpenWebBeansConfiguration#ASYNC_OBSERVER_EXECUTOR}.
+ */
+final class AsyncObserverExecutor implements Executor, Closeable
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(AsyncObserverExecutor.class);
+
+    private final ExecutorService delegate;
+
+    private AsyncObserverExecutor(ExecutorService delegate)
+    {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return the configured executor or {@code null} for the &quot;default&quot; mode
+     */
+    static AsyncObserverExecutor create(OpenWebBeansConfiguration configuration)
+    {
+        String mode = configuration.getAsyncObserverExecutor();
+        if ("default".equalsIgnoreCase(mode))
+        {
+            return null;
+        }
+        if ("virtual".equalsIgnoreCase(mode))
+        {
+            ExecutorService virtualThreads = newVirtualThreadPerTaskExecutor();
+            if (virtualThreads != null)
+            {
+                return new AsyncObserverExecutor(virtualThreads);
+            }
+            logger.info("Virtual threads are not available on this JVM, using a bounded ForkJoinPool for async observers");
+            return new AsyncObserverExecutor(newBoundedPool(configuration.getAsyncObserverParallelism()));
+        }
+        if ("bounded".equalsIgnoreCase(mode))
+        {
+            return new AsyncObserverExecutor(newBoundedPool(configuration.getAsyncObserverParallelism()));
+        }
+        throw new WebBeansConfigurationException("Unknown " + OpenWebBeansConfiguration.ASYNC_OBSERVER_EXECUTOR + " '" + mode +
+                "', supported values are default, virtual and bounded");
+    }
+
+    @Override
+    public void execute(Runnable command)
+    {
+        delegate.execute(command);
+    }
+
+    @Override
+    public void close()
+    {
+        delegate.shutdown();
+        try
+        {
+            if (!delegate.awaitTermination(1, TimeUnit.MINUTES))
+            {
+                logger.warning("Some async observers are still running after 1 minute, giving up waiting for them");
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor()
+    {
+        try
+        {
+            // Java 21+, we are still compiled for Java 8
+            return ExecutorService.class.cast(Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null));
+        }
+        catch (NoSuchMethodException e)
+        {
+            return null;
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            logger.log(Level.FINE, "Can't create the virtual thread executor", e);
+            return null;
+        }
+    }
+
+    private static ExecutorService newBoundedPool(int parallelism)
+    {
+        // like the common pool worker threads would do, but without losing the application classloader
+        ClassLoader loader = WebBeansUtil.getCurrentClassLoader();
+        return new ForkJoinPool(parallelism, pool ->
+        {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("openwebbeans-async-observer-" + thread.getPoolIndex());
+            thread.setContextClassLoader(loader);
+            return thread;
+        }, null, true);
+    }
+}
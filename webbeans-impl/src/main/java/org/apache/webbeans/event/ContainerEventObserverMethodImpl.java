@@ -22,6 +22,7 @@ import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.portable.events.AfterObserver;
 import org.apache.webbeans.portable.events.discovery.ExtensionAware;
+import org.apache.webbeans.proxy.ObserverMethodInvoker;
 
 import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.enterprise.inject.spi.AnnotatedParameter;
@@ -65,6 +66,13 @@ public class ContainerEventObserverMethodImpl<T> extends ObserverMethodImpl<T>
         }
     }
 
+    @Override
+    protected ObserverMethodInvoker createInvoker()
+    {
+        // container events only get fired once, generating a class per extension observer would slow down the boot
+        return null;
+    }
+
     @Override
     protected void checkObserverCondition(AnnotatedParameter<T> annotatedObservesParameter)
     {
@@ -22,14 +22,9 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import javax.enterprise.event.Event;
 import javax.enterprise.event.NotificationOptions;
@@ -54,12 +49,19 @@ public class EventImpl<T> implements Event<T>, Serializable
 
     private transient WebBeansContext webBeansContext;
 
-    // cache for metadata != this.metadata
-    private volatile transient ConcurrentMap<ObserverCacheKey, List<ObserverMethod<? super Object>>> observers;
-    private volatile transient ConcurrentMap<ObserverCacheKey, List<ObserverMethod<? super Object>>> asyncObservers;
-    // cache for metadata == this.metadata (fast path)
-    private volatile transient List<ObserverMethod<? super Object>> defaultMetadataObservers;
-    private volatile transient List<ObserverMethod<? super Object>> defaultMetadataAsyncObservers;
+    /**
+     * whether the qualifiers are fixed (from the injection point) and the observers can be cached in the NotificationManager,
+     * {@code false} for events selected with further qualifiers at runtime, they only get cached by this instance
+     */
+    private final boolean cacheObservers;
+
+    // observer cache keys for metadata == this.metadata (fast path), the observers are cached in the NotificationManager
+    private volatile transient NotificationManager.ObserverCacheKey defaultMetadataKey;
+    private volatile transient NotificationManager.ObserverCacheKey defaultMetadataAsyncKey;
+
+    // observers for metadata == this.metadata of events selected at runtime, only kept as long as this instance
+    private volatile transient ResolvedObservers selectedObservers;
+    private volatile transient ResolvedObservers selectedAsyncObservers;
 
     /**
      * Creates a new event.
@@ -67,8 +69,14 @@ public class EventImpl<T> implements Event<T>, Serializable
      * @param webBeansContext
      */
     public EventImpl(EventMetadata metadata, WebBeansContext webBeansContext)
+    {
+        this(metadata, webBeansContext, true);
+    }
+
+    private EventImpl(EventMetadata metadata, WebBeansContext webBeansContext, boolean cacheObservers)
     {
         Asserts.assertNotNull(metadata, "event metadata");
+        this.cacheObservers = cacheObservers;
         this.metadata = wrapMetadata(metadata);
         this.webBeansContext = webBeansContext;
         // earger validation to bypass it at runtime
@@ -136,7 +144,7 @@ public class EventImpl<T> implements Event<T>, Serializable
     @Override
     public Event<T> select(Annotation... bindings)
     {
-        return new EventImpl<>(metadata.select(bindings), webBeansContext);
+        return new EventImpl<>(metadata.select(bindings), webBeansContext, cacheObservers && bindings.length == 0);
     }
     
     /**
@@ -145,7 +153,7 @@ public class EventImpl<T> implements Event<T>, Serializable
     @Override
     public <U extends T> Event<U> select(Class<U> subtype, Annotation... bindings)
     {
-        return new EventImpl<>(metadata.select(subtype, bindings), webBeansContext);
+        return new EventImpl<>(metadata.select(subtype, bindings), webBeansContext, cacheObservers && bindings.length == 0);
     }
     
     /**
@@ -154,7 +162,7 @@ public class EventImpl<T> implements Event<T>, Serializable
     @Override
     public <U extends T> Event<U> select(TypeLiteral<U> subtype, Annotation... bindings)
     {
-        return new EventImpl<>(metadata.select(subtype, bindings), webBeansContext);
+        return new EventImpl<>(metadata.select(subtype, bindings), webBeansContext, cacheObservers && bindings.length == 0);
     }
     
     private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException
@@ -171,63 +179,40 @@ public class EventImpl<T> implements Event<T>, Serializable
     private void doFireSyncEvent(T event, EventMetadataImpl metadata)
     {
         final NotificationManager notificationManager = webBeansContext.getNotificationManager();
-        List<ObserverMethod<? super Object>> observerMethods;
-        if (metadata == this.metadata) // no validation of isContainerEventType, already done
-        {
-            if (defaultMetadataObservers == null)
-            {
-                final List<ObserverMethod<? super Object>> tmp = new ArrayList<>( // faster than LinkedList
-                        notificationManager.resolveObservers(event, metadata, false));
-                notificationManager.prepareObserverListForFire(false, false, tmp);
-                this.defaultMetadataObservers = tmp;
-            }
-            observerMethods = defaultMetadataObservers;
-        }
-        else
-        {
-            if (webBeansContext.getWebBeansUtil().isContainerEventType(event))
-            {
-                throw new IllegalArgumentException("Firing container events is forbidden");
-            }
-
-            if (observers == null)
-            {
-                synchronized (this)
-                {
-                    if (observers == null)
-                    {
-                        observers = new ConcurrentHashMap<>();
-                    }
-                }
-            }
-            final ObserverCacheKey key = new ObserverCacheKey(
-                    event.getClass(), metadata.validatedType(), metadata.getQualifiers());
-            observerMethods = observers.get(key);
-            if (observerMethods == null)
-            {
-                observerMethods = new ArrayList<>( // faster than LinkedList
-                        notificationManager.resolveObservers(event, metadata, false));
-                notificationManager.prepareObserverListForFire(false, false, observerMethods);
-                this.observers.putIfAbsent(key, observerMethods);
-            }
-        }
-        notificationManager.doFireSync(new EventContextImpl<>(event, metadata), false, observerMethods);
+        notificationManager.doFireSync(new EventContextImpl<>(event, metadata), false,
+                resolveObservers(notificationManager, event, metadata, false));
     }
 
     private <U extends T> CompletionStage<U> doFireAsyncEvent(T event, EventMetadataImpl metadata, NotificationOptions options)
     {
         final NotificationManager notificationManager = webBeansContext.getNotificationManager();
-        List<ObserverMethod<? super Object>> observerMethods;
+        return notificationManager.doFireAsync(
+                new EventContextImpl<>(event, metadata), false, options,
+                resolveObservers(notificationManager, event, metadata, true));
+    }
+
+    private List<ObserverMethod<? super Object>> resolveObservers(NotificationManager notificationManager, T event,
+                                                                   EventMetadataImpl metadata, boolean async)
+    {
+        NotificationManager.ObserverCacheKey key = null;
         if (metadata == this.metadata) // no validation of isContainerEventType, already done
         {
-            if (defaultMetadataAsyncObservers == null)
+            if (cacheObservers)
             {
-                final List<ObserverMethod<? super Object>> tmp = new ArrayList<>( // faster than LinkedList
-                        notificationManager.resolveObservers(event, metadata, false));
-                notificationManager.prepareObserverListForFire(false, true, tmp);
-                this.defaultMetadataAsyncObservers = tmp;
+                key = async ? defaultMetadataAsyncKey : defaultMetadataKey;
+                if (key == null)
+                {
+                    key = notificationManager.createObserverCacheKey(event, metadata, async);
+                    if (async)
+                    {
+                        defaultMetadataAsyncKey = key;
+                    }
+                    else
+                    {
+                        defaultMetadataKey = key;
+                    }
+                }
             }
-            observerMethods = defaultMetadataAsyncObservers;
         }
         else
         {
@@ -235,68 +220,49 @@ public class EventImpl<T> implements Event<T>, Serializable
             {
                 throw new IllegalArgumentException("Firing container events is forbidden");
             }
-
-            if (asyncObservers == null)
+            if (cacheObservers)
             {
-                synchronized (this)
-                {
-                    if (asyncObservers == null)
-                    {
-                        asyncObservers = new ConcurrentHashMap<>();
-                    }
-                }
-            }
-            final ObserverCacheKey key = new ObserverCacheKey(
-                    event.getClass(), metadata.validatedType(), metadata.getQualifiers());
-            observerMethods = asyncObservers.get(key);
-            if (observerMethods == null)
-            {
-                observerMethods = new ArrayList<>( // faster than LinkedList
-                        notificationManager.resolveObservers(event, metadata, false));
-                notificationManager.prepareObserverListForFire(false, true, observerMethods);
-                this.asyncObservers.putIfAbsent(key, observerMethods);
+                key = notificationManager.createObserverCacheKey(event, metadata, async);
             }
         }
-        return notificationManager.doFireAsync(
-                new EventContextImpl<>(event, metadata), false, options, observerMethods);
-    }
 
-    private static class ObserverCacheKey
-    {
-        private final Class<?> clazz;
-        private final Type type;
-        private final Collection<Annotation> qualifiers;
-        private final int hash;
-
-        private ObserverCacheKey(Class<?> clazz, Type type, Collection<Annotation> qualifiers)
+        if (key != null)
+        {
+            return notificationManager.resolveObserversForFire(key, event, metadata);
+        }
+        if (metadata != this.metadata)
         {
-            this.clazz = clazz;
-            this.type = type;
-            this.qualifiers = qualifiers;
-            this.hash = Objects.hash(clazz, type, qualifiers);
+            return notificationManager.resolveObserversForFire(event, metadata, async);
         }
 
-        @Override
-        public boolean equals(final Object o)
+        // qualifiers selected at runtime, caching them in the NotificationManager would let its cache grow
+        // with each new qualifier value, so they are only kept here until an observer gets added
+        ResolvedObservers resolved = async ? selectedAsyncObservers : selectedObservers;
+        if (resolved == null || resolved.generation != notificationManager.getObserversGeneration())
         {
-            if (this == o)
+            int generation = notificationManager.getObserversGeneration();
+            resolved = new ResolvedObservers(generation, notificationManager.resolveObserversForFire(event, metadata, async));
+            if (async)
             {
-                return true;
+                selectedAsyncObservers = resolved;
             }
-            if (o == null || getClass() != o.getClass())
+            else
             {
-                return false;
+                selectedObservers = resolved;
             }
-            ObserverCacheKey that = ObserverCacheKey.class.cast(o);
-            return Objects.equals(clazz, that.clazz) &&
-                    Objects.equals(type, that.type) &&
-                    Objects.equals(qualifiers, that.qualifiers);
         }
+        return resolved.observerMethods;
+    }
+
+    private static final class ResolvedObservers
+    {
+        private final int generation;
+        private final List<ObserverMethod<? super Object>> observerMethods;
 
-        @Override
-        public int hashCode()
+        private ResolvedObservers(int generation, List<ObserverMethod<? super Object>> observerMethods)
         {
-            return hash;
+            this.generation = generation;
+            this.observerMethods = observerMethods;
         }
     }
 }
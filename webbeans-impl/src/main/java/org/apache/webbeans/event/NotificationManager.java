@@ -29,10 +29,10 @@ import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -104,6 +104,11 @@ public class NotificationManager
 
     private final NotificationOptions defaultNotificationOptions;
 
+    /**
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#ASYNC_OBSERVER_BATCHING
+     */
+    private final boolean batchAsyncObservers;
+
     /**
      * Contains information whether certain Initialized and Destroyed events have observer methods.
      */
@@ -116,6 +121,23 @@ public class NotificationManager
     private final ConcurrentHashMap<Class<?>, Set<ObserverMethod<?>>> observersByRawType
         = new ConcurrentHashMap<>();
 
+    /**
+     * Observers of non lifecycle events, already filtered by type and qualifiers,
+     * reduced to the sync or async ones and sorted by priority.
+     * Only invalidated when an observer gets added, so repeated fires cost a single lookup.
+     * It only holds the events fired with the qualifiers of an injection point, so its size is bounded by the deployment,
+     * {@link javax.enterprise.inject.spi.BeanManager#fireEvent(Object, Annotation...)} and events with
+     * runtime selected qualifiers don't get cached.
+     */
+    private final ConcurrentMap<ObserverCacheKey, List<ObserverMethod<? super Object>>> resolvedObservers
+        = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented on each {@link #addObserver(ObserverMethod)} and {@link #clearCaches()}
+     * to detect resolutions racing with it and observers resolved outside of this manager getting outdated.
+     */
+    private final AtomicInteger observersGeneration = new AtomicInteger();
+
     // this is actually faster than a lambda Comparator.comparingInt(ObserverMethod::getPriority)
     private Comparator<? super ObserverMethod<? super Object>> observerMethodComparator
         = new Comparator<ObserverMethod<? super Object>>()
@@ -146,6 +168,7 @@ public class NotificationManager
     {
         this.webBeansContext = webBeansContext;
         this.defaultNotificationOptions = NotificationOptions.ofExecutor(getDefaultExecutor());
+        this.batchAsyncObservers = webBeansContext.getOpenWebBeansConfiguration().isAsyncObserverBatching();
     }
 
     private Executor getDefaultExecutor()
@@ -153,9 +176,21 @@ public class NotificationManager
         // here it would be nice to support to use a produced bean like @Named("openwebbeansCdiExecutor")
         // instead of a direct spi
         //
-        // logic is: if an Executor is registered as a spi use it, otherwise use JVM default one
+        // logic is: if an Executor is registered as a spi use it, otherwise use the configured built-in one
         Executor service = webBeansContext.getService(Executor.class);
-        return service != null ? service : new CloseableExecutor();
+        if (service != null)
+        {
+            return service;
+        }
+
+        AsyncObserverExecutor executor = AsyncObserverExecutor.create(webBeansContext.getOpenWebBeansConfiguration());
+        if (executor == null)
+        {
+            return new CloseableExecutor();
+        }
+        // registered to get it closed together with the WebBeansContext
+        webBeansContext.registerService(Executor.class, executor);
+        return executor;
     }
 
     /**
@@ -165,7 +200,9 @@ public class NotificationManager
      */
     public void clearCaches()
     {
+        observersGeneration.incrementAndGet();
         observersByRawType.clear();
+        resolvedObservers.clear();
         hasContextLifecycleEventObservers.clear();
 
         processAnnotatedTypeObservers = null;
@@ -227,6 +264,10 @@ public class NotificationManager
         Set<ObserverMethod<?>> set = observers.computeIfAbsent(observer.getObservedType(), k -> new HashSet<>());
 
         set.add(observer);
+
+        observersGeneration.incrementAndGet();
+        observersByRawType.clear();
+        resolvedObservers.clear();
     }
 
     public boolean hasProcessAnnotatedTypeObservers()
@@ -263,6 +304,66 @@ public class NotificationManager
         return observersMethods;
     }
 
+    /**
+     * Creates the key to look up the observers of a non lifecycle event with
+     * {@link #resolveObserversForFire(ObserverCacheKey, Object, EventMetadataImpl)}.
+     * Callers firing the same kind of event repeatedly should keep the key as its hash is only computed once.
+     */
+    public ObserverCacheKey createObserverCacheKey(Object event, EventMetadataImpl metadata, boolean async)
+    {
+        return new ObserverCacheKey(event.getClass(), metadata.validatedType(), metadata.getQualifiers(), async);
+    }
+
+    /**
+     * @return the observers of the given non lifecycle event, ready to get fired.
+     *         The returned list must not be modified.
+     */
+    public List<ObserverMethod<? super Object>> resolveObserversForFire(ObserverCacheKey key, Object event, EventMetadataImpl metadata)
+    {
+        List<ObserverMethod<? super Object>> observerMethods = resolvedObservers.get(key);
+        if (observerMethods == null)
+        {
+            int generation = observersGeneration.get();
+
+            observerMethods = new ArrayList<>( // faster than LinkedList
+                    resolveObservers(event, metadata, false));
+            prepareObserverListForFire(false, key.async, observerMethods);
+
+            List<ObserverMethod<? super Object>> existing = resolvedObservers.putIfAbsent(key, observerMethods);
+            if (existing != null)
+            {
+                observerMethods = existing;
+            }
+            else if (generation != observersGeneration.get())
+            {
+                // an observer got added meanwhile, don't keep a potentially outdated list
+                resolvedObservers.remove(key);
+            }
+        }
+        return observerMethods;
+    }
+
+    /**
+     * @return the current generation of the observers, observers resolved with
+     *         {@link #resolveObserversForFire(Object, EventMetadataImpl, boolean)} before it changed are outdated
+     */
+    public int getObserversGeneration()
+    {
+        return observersGeneration.get();
+    }
+
+    /**
+     * Same as {@link #resolveObserversForFire(ObserverCacheKey, Object, EventMetadataImpl)} without caching them,
+     * for events with qualifiers only known at runtime.
+     */
+    public List<ObserverMethod<? super Object>> resolveObserversForFire(Object event, EventMetadataImpl metadata, boolean async)
+    {
+        List<ObserverMethod<? super Object>> observerMethods = new ArrayList<>( // faster than LinkedList
+                resolveObservers(event, metadata, false));
+        prepareObserverListForFire(false, async, observerMethods);
+        return observerMethods;
+    }
+
     private <T> Collection<ObserverMethod<?>> cacheIfNeeded(final T event)
     {
         if (event instanceof ProcessAnnotatedType)
@@ -569,8 +670,8 @@ public class NotificationManager
             for (Type eventType : eventTypes)
             {
                 if ((ParameterizedType.class.isInstance(eventType) && Class.class.isInstance(observedType)
-                        && GenericsUtil.isAssignableFrom(true, false, observedType, ParameterizedType.class.cast(eventType).getRawType(), new HashMap<>()))
-                    || GenericsUtil.isAssignableFrom(true, false, observedType, eventType, new HashMap<>()))
+                        && webBeansContext.getAssignabilityCache().isAssignableFrom(true, false, observedType, ParameterizedType.class.cast(eventType).getRawType()))
+                    || webBeansContext.getAssignabilityCache().isAssignableFrom(true, false, observedType, eventType))
                 {
                     Set<ObserverMethod<?>> observerMethods = observerEntry.getValue();
 
@@ -775,7 +876,7 @@ public class NotificationManager
         }
         else if (observerTypeActualArg instanceof ParameterizedType)
         {
-            return GenericsUtil.isAssignableFrom(false, true, observerTypeActualArg, beanClass, new HashMap<>());
+            return webBeansContext.getAssignabilityCache().isAssignableFrom(false, true, observerTypeActualArg, beanClass);
         }
         
         return false;
@@ -810,7 +911,7 @@ public class NotificationManager
             if(checkEventTypeParameterForExtensions(beanClass, actualArgs[0])
                     && (secondParam == null || actualArgs.length == 1
                             || checkEventTypeParameterForExtensions(secondParam, actualArgs[1])
-                            || GenericsUtil.isAssignableFrom(true, false, actualArgs[1], secondParam, new HashMap<>())))
+                            || webBeansContext.getAssignabilityCache().isAssignableFrom(true, false, actualArgs[1], secondParam)))
             {
                 addToMatching(type, matching);   
             }
@@ -921,14 +1022,19 @@ public class NotificationManager
                                             NotificationOptions notificationOptions)
     {
         boolean async = notificationOptions != null;
-        if (!isLifecycleEvent && webBeansContext.getWebBeansUtil().isContainerEventType(event))
+        if (isLifecycleEvent)
         {
-            throw new IllegalArgumentException("Firing container events is forbidden");
+            return doFireEvent(
+                    event, metadata, true, notificationOptions, async,
+                    new ArrayList<>(resolveObservers(event, metadata, true)));
         }
-        return doFireEvent(
-                event, metadata, isLifecycleEvent, notificationOptions, async,
-                new ArrayList<>(resolveObservers(event, metadata, isLifecycleEvent)));
 
+        if (webBeansContext.getWebBeansUtil().isContainerEventType(event))
+        {
+            throw new IllegalArgumentException("Firing container events is forbidden");
+        }
+        // the qualifiers can be anything, so the observers don't get cached
+        return fireObservers(event, metadata, false, notificationOptions, async, resolveObserversForFire(event, metadata, async));
     }
 
     public <T> CompletionStage<T> doFireEvent(Object event, EventMetadataImpl metadata, boolean isLifecycleEvent,
@@ -936,6 +1042,13 @@ public class NotificationManager
                                               List<ObserverMethod<? super Object>> observerMethods)
     {
         prepareObserverListForFire(isLifecycleEvent, async, observerMethods);
+        return fireObservers(event, metadata, isLifecycleEvent, notificationOptions, async, observerMethods);
+    }
+
+    private <T> CompletionStage<T> fireObservers(Object event, EventMetadataImpl metadata, boolean isLifecycleEvent,
+                                                 NotificationOptions notificationOptions, boolean async,
+                                                 List<ObserverMethod<? super Object>> observerMethods)
+    {
         if (observerMethods.isEmpty())
         {
             if (async)
@@ -958,21 +1071,30 @@ public class NotificationManager
                                               boolean isLifecycleEvent, NotificationOptions notificationOptions,
                                               List<ObserverMethod<? super Object>> observerMethods)
     {
+        for (ObserverMethod<? super Object> observer : observerMethods)
+        {
+            TransactionPhase phase = observer.getTransactionPhase();
+            if (phase != null && phase != TransactionPhase.IN_PROGRESS)
+            {
+                // reported through the returned stage, batched or not, before any observer got notified
+                CompletableFuture<T> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new WebBeansConfigurationException(
+                        "Async Observer Methods can only use TransactionPhase.IN_PROGRESS!"));
+                return failed;
+            }
+        }
+
+        if (batchAsyncObservers && observerMethods.size() > 1)
+        {
+            return invokeObserverMethodsAsync(context, observerMethods, notificationOptions);
+        }
+
         List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
         for (ObserverMethod<? super Object> observer : observerMethods)
         {
             try
             {
-                TransactionPhase phase = observer.getTransactionPhase();
-
-                if (phase == null || phase == TransactionPhase.IN_PROGRESS)
-                {
-                    completableFutures.add(invokeObserverMethodAsync(context, observer, notificationOptions));
-                }
-                else
-                {
-                    throw new WebBeansConfigurationException("Async Observer Methods can only use TransactionPhase.IN_PROGRESS!");
-                }
+                completableFutures.add(invokeObserverMethodAsync(context, observer, notificationOptions));
             }
             catch (WebBeansException e)
             {
@@ -1112,7 +1234,8 @@ public class NotificationManager
                                            NotificationOptions notificationOptions)
     {
         CompletableFuture<?> future = new CompletableFuture<>();
-        CompletableFuture.runAsync(() -> {
+        getExecutor(notificationOptions).execute(() ->
+        {
             try
             {
                 runAsync(context, observer);
@@ -1120,12 +1243,83 @@ public class NotificationManager
             }
             catch (WebBeansException wbe)
             {
-                future.completeExceptionally(wbe.getCause());
+                future.completeExceptionally(getObserverFailure(wbe));
+            }
+            catch (RuntimeException re)
+            {
+                // e.g. the request context could not be started
+                future.completeExceptionally(re);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Notifies all the given observers in a single task and a single request context.
+     * As for separate tasks, a failing observer doesn't prevent the others from getting notified.
+     */
+    private <T> CompletionStage<T> invokeObserverMethodsAsync(EventContext<?> context,
+                                                             List<ObserverMethod<? super Object>> observers,
+                                                             NotificationOptions notificationOptions)
+    {
+        CDICompletionFuture<T> future = new CDICompletionFuture<>((T) context.getEvent(), observers.size());
+        getExecutor(notificationOptions).execute(() ->
+        {
+            int notified = 0;
+            try
+            {
+                final ContextsService contextsService = webBeansContext.getContextsService();
+                contextsService.startContext(RequestScoped.class, null);
+                try
+                {
+                    for (ObserverMethod<? super Object> observer : observers)
+                    {
+                        try
+                        {
+                            invokeObserverMethod(context, observer);
+                            future.addResult(null);
+                        }
+                        catch (WebBeansException wbe)
+                        {
+                            future.addResult(getObserverFailure(wbe));
+                        }
+                        catch (RuntimeException re)
+                        {
+                            future.addResult(re);
+                        }
+                        notified++;
+                    }
+                }
+                finally
+                {
+                    contextsService.endContext(RequestScoped.class, null);
+                }
+            }
+            catch (RuntimeException re)
+            {
+                // the request context could not be started, the observers not notified yet fail with it
+                for (int i = notified; i < observers.size(); i++)
+                {
+                    future.addResult(re);
+                }
             }
-        }, notificationOptions.getExecutor() == null ? defaultNotificationOptions.getExecutor() : notificationOptions.getExecutor());
+        });
         return future;
     }
 
+    /**
+     * @return the exception thrown by the observer, the given one if it is not just a wrapper
+     */
+    private static Throwable getObserverFailure(WebBeansException wbe)
+    {
+        return wbe.getCause() != null ? wbe.getCause() : wbe;
+    }
+
+    private Executor getExecutor(NotificationOptions notificationOptions)
+    {
+        return notificationOptions.getExecutor() == null ? defaultNotificationOptions.getExecutor() : notificationOptions.getExecutor();
+    }
+
     private void runAsync(EventContext<?> context, ObserverMethod<? super Object> observer)
     {
         //X TODO set up threads, requestcontext etc
@@ -1204,6 +1398,53 @@ public class NotificationManager
                 .collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
+    /**
+     * Identifies the observers of a non lifecycle event: runtime event class, declared event type,
+     * qualifiers and whether the fire is async.
+     */
+    public static final class ObserverCacheKey
+    {
+        private final Class<?> clazz;
+        private final Type type;
+        private final Collection<Annotation> qualifiers;
+        private final boolean async;
+        private final int hash;
+
+        private ObserverCacheKey(Class<?> clazz, Type type, Collection<Annotation> qualifiers, boolean async)
+        {
+            this.clazz = clazz;
+            this.type = type;
+            this.qualifiers = qualifiers;
+            this.async = async;
+            this.hash = Objects.hash(clazz, type, qualifiers, async);
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+            ObserverCacheKey that = ObserverCacheKey.class.cast(o);
+            return hash == that.hash &&
+                    async == that.async &&
+                    clazz == that.clazz &&
+                    Objects.equals(type, that.type) &&
+                    Objects.equals(qualifiers, that.qualifiers);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
     // this behaves as a future aggregator, we don't strictly need to represent it but found it more expressive
     private static final class CDICompletionFuture<T> extends CompletableFuture<T>
     {
@@ -60,6 +60,7 @@ import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.proxy.ObserverMethodInvoker;
 import org.apache.webbeans.proxy.OwbNormalScopeProxy;
 import org.apache.webbeans.spi.plugins.OpenWebBeansEjbPlugin;
 
@@ -110,6 +111,12 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
 
     private final Method view;
 
+    /** generated direct call of the observer method, {@code null} if it gets invoked via reflection */
+    private final ObserverMethodInvoker invoker;
+
+    /** the beans of the injection points, resolved once the deployment got validated */
+    private volatile Bean<Object>[] injectionPointBeans;
+
     /**Annotated method*/
     private AnnotatedMethod<T> annotatedObserverMethod;
     
@@ -206,6 +213,20 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
         {
             ownerBean.getWebBeansContext().getSecurityService().doPrivilegedSetAccessible(view, true);
         }
+
+        invoker = createInvoker();
+    }
+
+    /**
+     * @return the generated invoker for the observer method or {@code null} to invoke it via reflection
+     */
+    protected ObserverMethodInvoker createInvoker()
+    {
+        if (!getWebBeansContext().getOpenWebBeansConfiguration().isGeneratedObserverInvokers())
+        {
+            return null;
+        }
+        return getWebBeansContext().getObserverMethodInvokerFactory().createInvoker(view);
     }
 
     protected void checkObserverCondition(AnnotatedParameter<T> annotatedObservesParameter)
@@ -270,6 +291,11 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
             return;
         }
 
+        if (invoker != null && injectionPoints.isEmpty() && annotatedObservesParameter.getPosition() == 0 && invokeDirectly(component, event))
+        {
+            return;
+        }
+
         Object object = null;
         
         List<ObserverParams> methodArgsMap = getMethodArguments(event, metadata);
@@ -306,7 +332,14 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
             if (Modifier.isStatic(view.getModifiers()))
             {
                 //Invoke Method
-                view.invoke(null, args);
+                if (invoker != null)
+                {
+                    invokeGenerated(null, args);
+                }
+                else
+                {
+                    view.invoke(null, args);
+                }
             }
             else
             {
@@ -407,7 +440,97 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
 
     protected void invoke(Object object, Object[] args) throws IllegalAccessException, InvocationTargetException
     {
-        view.invoke(object, args);
+        if (invoker != null)
+        {
+            invokeGenerated(object, args);
+        }
+        else
+        {
+            view.invoke(object, args);
+        }
+    }
+
+    private void invokeGenerated(Object object, Object[] args) throws InvocationTargetException
+    {
+        try
+        {
+            invoker.invoke(object, args);
+        }
+        catch (Throwable t)
+        {
+            // same as for Method.invoke
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * Notifies observer methods which only take the event without any allocation,
+     * as long as the method is static or the contextual instance already exists.
+     *
+     * @return {@code false} if the contextual instance needs to get created first
+     */
+    private boolean invokeDirectly(AbstractOwbBean<Object> component, T event)
+    {
+        Object object = null;
+        if (!Modifier.isStatic(view.getModifiers()))
+        {
+            if (component.getScope().equals(Dependent.class))
+            {
+                return false;
+            }
+
+            Context context;
+            try
+            {
+                context = ownerBean.getWebBeansContext().getBeanManagerImpl().getContext(component.getScope());
+            }
+            catch (ContextNotActiveException cnae)
+            {
+                return false;
+            }
+
+            object = context.get(component);
+            if (object == null)
+            {
+                return false;
+            }
+        }
+
+        try
+        {
+            invoker.invokeWithEvent(object, event);
+        }
+        catch (Throwable t)
+        {
+            throw new WebBeansException(t);
+        }
+        return true;
+    }
+
+    private Bean<Object>[] getInjectionPointBeans(BeanManagerImpl manager)
+    {
+        Bean<Object>[] beans = injectionPointBeans;
+        if (beans == null && manager.isAfterDeploymentValidationFired())
+        {
+            // all beans are known by now, no need to resolve them again for each event
+            beans = new Bean[injectionPoints.size()];
+            int i = 0;
+            for (InjectionPoint injectionPoint : injectionPoints)
+            {
+                if (!isBeanManager(injectionPoint))
+                {
+                    beans[i] = manager.getInjectionPointBean(injectionPoint);
+                }
+                i++;
+            }
+            injectionPointBeans = beans;
+        }
+        return beans;
+    }
+
+    private boolean isBeanManager(InjectionPoint injectionPoint)
+    {
+        return injectionPoint.getType() == BeanManager.class && injectionPoint.getQualifiers().contains(DefaultLiteral.INSTANCE);
     }
 
     /**
@@ -431,20 +554,23 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
         }
         WebBeansContext webBeansContext = ownerBean.getWebBeansContext();
         BeanManagerImpl manager = webBeansContext.getBeanManagerImpl();
+        Bean<Object>[] injectionPointBeans = getInjectionPointBeans(manager);
 
+        int injectionPointIndex = 0;
         for (InjectionPoint injectionPoint: injectionPoints)
         {
             ObserverParams param = new ObserverParams();
             param.isBean = true;
-            if (injectionPoint.getType() == BeanManager.class &&
-                    injectionPoint.getQualifiers().contains(DefaultLiteral.INSTANCE))
+            if (isBeanManager(injectionPoint))
             {
                 param.instance = webBeansContext.getInjectableBeanManager();
                 param.isBean = false; // no need to release
             }
             else
             {
-                Bean<Object> injectedBean = (Bean<Object>) manager.getInjectionResolver().getInjectionPointBean(injectionPoint);
+                Bean<Object> injectedBean = injectionPointBeans != null ?
+                        injectionPointBeans[injectionPointIndex] :
+                        (Bean<Object>) manager.getInjectionResolver().getInjectionPointBean(injectionPoint);
 
                 CreationalContextImpl<Object> creational = manager.createCreationalContext(injectedBean);
                 creational.putInjectionPoint(metadata.getInjectionPoint());
@@ -468,6 +594,7 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
             }
 
             list.add(param);
+            injectionPointIndex++;
 
             if (list.size() == annotatedObservesParameter.getPosition())
             {
@@ -76,7 +76,7 @@ public abstract class AbstractInjectable<T>
         BeanManagerImpl beanManager = creationalContext.getWebBeansContext().getBeanManagerImpl();
 
         //Injected contextual bean
-        Bean<?> injectedBean = beanManager.getInjectionResolver().getInjectionPointBean(injectionPoint);
+        Bean<Object> injectedBean = beanManager.getInjectionPointBean(injectionPoint);
         
         //Injection for dependent instance InjectionPoint fields
         boolean dependentProducer = false;
@@ -97,7 +97,7 @@ public abstract class AbstractInjectable<T>
         }
 
         //Gets injectable reference for injected bean
-        injected = (T) beanManager.getInjectableReference(injectionPoint, injectionPointContext);
+        injected = (T) beanManager.getInjectableReference(injectionPoint, injectedBean, injectionPointContext);
 
         if (injected == null)
         {
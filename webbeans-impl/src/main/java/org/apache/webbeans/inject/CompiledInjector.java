@@ -0,0 +1,336 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.inject;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.enterprise.inject.IllegalProductException;
+import javax.enterprise.inject.TransientReference;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.apache.webbeans.component.AbstractProducerBean;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.context.creational.CreationalContextImpl;
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.util.ClassUtil;
+import org.apache.webbeans.util.WebBeansUtil;
+
+/**
+ * Injects all fields and initializer methods of an instance in one pass.
+ *
+ * <p>This is the compiled form of what {@link InjectableField} and {@link InjectableMethod}
+ * do for each injection: the members are ordered and made accessible, their injection points
+ * are sorted by parameter position and their beans get resolved once when the injector is built.
+ * Members are written and invoked through {@link MethodHandle}s as injected fields are
+ * private most of the time, which generated bytecode outside of the class could not reach.</p>
+ *
+ * <p>The injector must only be built once all beans are known, i.e. after AfterDeploymentValidation.</p>
+ *
+ * @param <T> type of the injected instance
+ */
+public final class CompiledInjector<T>
+{
+    private static final MethodType FIELD_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType METHOD_INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final WebBeansContext webBeansContext;
+    private final BeanManagerImpl beanManager;
+
+    /** the runtime class of the instances this injector got built for */
+    private final Class<?> instanceClass;
+
+    private final List<Step> building = new ArrayList<>();
+    private Step[] steps;
+
+    public CompiledInjector(WebBeansContext webBeansContext, Class<?> instanceClass)
+    {
+        this.webBeansContext = webBeansContext;
+        this.beanManager = webBeansContext.getBeanManagerImpl();
+        this.instanceClass = instanceClass;
+    }
+
+    public Class<?> getInstanceClass()
+    {
+        return instanceClass;
+    }
+
+    public void addField(Field field, InjectionPoint injectionPoint)
+    {
+        if (!field.isAccessible())
+        {
+            webBeansContext.getSecurityService().doPrivilegedSetAccessible(field, true);
+        }
+
+        MethodHandle setter;
+        try
+        {
+            setter = MethodHandles.lookup().unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers()))
+            {
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+            setter = setter.asType(FIELD_SETTER_TYPE);
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new WebBeansException(e);
+        }
+        building.add(new FieldStep(setter, createValue(injectionPoint)));
+    }
+
+    /**
+     * @param injectionPoints the injection points of all parameters, ordered by parameter position
+     */
+    public void addMethod(Method method, List<InjectionPoint> injectionPoints)
+    {
+        if (!method.isAccessible())
+        {
+            webBeansContext.getSecurityService().doPrivilegedSetAccessible(method, true);
+        }
+
+        MethodHandle invoker;
+        try
+        {
+            invoker = MethodHandles.lookup().unreflect(method).asSpreader(Object[].class, injectionPoints.size());
+            if (Modifier.isStatic(method.getModifiers()))
+            {
+                invoker = MethodHandles.dropArguments(invoker, 0, Object.class);
+            }
+            invoker = invoker.asType(METHOD_INVOKER_TYPE);
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new WebBeansException(e);
+        }
+
+        Value[] parameters = new Value[injectionPoints.size()];
+        boolean transientReference = false;
+        for (int i = 0; i < parameters.length; i++)
+        {
+            parameters[i] = createValue(injectionPoints.get(i));
+            transientReference |= parameters[i].transientReference;
+        }
+        building.add(new MethodStep(invoker, parameters, transientReference));
+    }
+
+    /**
+     * Java EE resources get injected after each level of the class hierarchy.
+     */
+    public void addResourceInjection(Consumer<Object> resourceInjection)
+    {
+        building.add(new ResourceStep(resourceInjection));
+    }
+
+    public CompiledInjector<T> build()
+    {
+        steps = building.toArray(new Step[building.size()]);
+        building.clear();
+        return this;
+    }
+
+    public void inject(T instance, CreationalContextImpl<T> creationalContext)
+    {
+        for (Step step : steps)
+        {
+            step.inject(this, instance, creationalContext);
+        }
+    }
+
+    private Value createValue(InjectionPoint injectionPoint)
+    {
+        if (injectionPoint.isDelegate())
+        {
+            return new Value(injectionPoint, null, false, false, false, null);
+        }
+
+        Bean<Object> bean = beanManager.getInjectionPointBean(injectionPoint);
+        boolean dependentProducer = WebBeansUtil.isDependent(bean) && !injectionPoint.isTransient() && bean instanceof AbstractProducerBean;
+        Class<?> type = ClassUtil.getClass(injectionPoint.getType());
+        return new Value(injectionPoint, bean,
+                beanManager.isNormalScope(bean.getScope()),
+                dependentProducer,
+                injectionPoint.getAnnotated().isAnnotationPresent(TransientReference.class),
+                type.isPrimitive() ? ClassUtil.getDefaultValue(type) : null);
+    }
+
+    /**
+     * Same logic as {@link AbstractInjectable#inject(InjectionPoint)} but with the bean already resolved.
+     */
+    private Object getValue(Value value, CreationalContextImpl<?> creationalContext, CreationalContextImpl<?> transientCreationalContext)
+    {
+        if (value.injectionPoint.isDelegate())
+        {
+            return creationalContext.getDelegate();
+        }
+
+        Object injected = beanManager.getInjectableReference(value.injectionPoint, value.bean,
+                value.transientReference ? transientCreationalContext : creationalContext);
+
+        if (injected == null)
+        {
+            if (value.normalScoped)
+            {
+                throw new IllegalStateException("InjectableReference is 'null' for " + value.injectionPoint.toString());
+            }
+            injected = value.defaultValue;
+        }
+
+        if (value.dependentProducer && injected != null && !(injected instanceof Serializable))
+        {
+            Bean<?> owner = creationalContext.getBean();
+            if (owner != null && beanManager.isPassivatingScope(owner.getScope()))
+            {
+                throw new IllegalProductException("A producer method or field of scope @Dependent returns an unserializable object for injection " +
+                        "into an injection point " + value.injectionPoint + " that requires a passivation capable dependency");
+            }
+        }
+
+        return injected;
+    }
+
+    private static final class Value
+    {
+        private final InjectionPoint injectionPoint;
+        private final Bean<Object> bean;
+        private final boolean normalScoped;
+        private final boolean dependentProducer;
+        private final boolean transientReference;
+        private final Object defaultValue;
+
+        private Value(InjectionPoint injectionPoint, Bean<Object> bean, boolean normalScoped, boolean dependentProducer,
+                      boolean transientReference, Object defaultValue)
+        {
+            this.injectionPoint = injectionPoint;
+            this.bean = bean;
+            this.normalScoped = normalScoped;
+            this.dependentProducer = dependentProducer;
+            this.transientReference = transientReference;
+            this.defaultValue = defaultValue;
+        }
+    }
+
+    private interface Step
+    {
+        void inject(CompiledInjector<?> injector, Object instance, CreationalContextImpl<?> creationalContext);
+    }
+
+    private static final class FieldStep implements Step
+    {
+        private final MethodHandle setter;
+        private final Value value;
+
+        private FieldStep(MethodHandle setter, Value value)
+        {
+            this.setter = setter;
+            this.value = value;
+        }
+
+        @Override
+        public void inject(CompiledInjector<?> injector, Object instance, CreationalContextImpl<?> creationalContext)
+        {
+            Object injected = injector.getValue(value, creationalContext, creationalContext);
+            try
+            {
+                setter.invokeExact(instance, injected);
+            }
+            catch (RuntimeException | Error e)
+            {
+                throw e;
+            }
+            catch (Throwable t)
+            {
+                throw new WebBeansException(t);
+            }
+        }
+    }
+
+    private static final class MethodStep implements Step
+    {
+        private final MethodHandle invoker;
+        private final Value[] parameters;
+        private final boolean transientReference;
+
+        private MethodStep(MethodHandle invoker, Value[] parameters, boolean transientReference)
+        {
+            this.invoker = invoker;
+            this.parameters = parameters;
+            this.transientReference = transientReference;
+        }
+
+        @Override
+        public void inject(CompiledInjector<?> injector, Object instance, CreationalContextImpl<?> creationalContext)
+        {
+            CreationalContextImpl<?> transientCreationalContext = transientReference ?
+                    injector.beanManager.createCreationalContext(creationalContext.getContextual()) : creationalContext;
+            try
+            {
+                Object[] args = new Object[parameters.length];
+                for (int i = 0; i < args.length; i++)
+                {
+                    args[i] = injector.getValue(parameters[i], creationalContext, transientCreationalContext);
+                }
+
+                try
+                {
+                    Object ignored = invoker.invokeExact(instance, args);
+                }
+                catch (Throwable t)
+                {
+                    // same as the reflection based InjectableMethod
+                    throw new WebBeansException(new InvocationTargetException(t));
+                }
+            }
+            finally
+            {
+                if (transientReference)
+                {
+                    transientCreationalContext.release();
+                }
+            }
+        }
+    }
+
+    private static final class ResourceStep implements Step
+    {
+        private final Consumer<Object> resourceInjection;
+
+        private ResourceStep(Consumer<Object> resourceInjection)
+        {
+            this.resourceInjection = resourceInjection;
+        }
+
+        @Override
+        public void inject(CompiledInjector<?> injector, Object instance, CreationalContextImpl<?> creationalContext)
+        {
+            resourceInjection.accept(instance);
+        }
+    }
+}
@@ -35,7 +35,6 @@ import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.inject.spi.Producer;
 
 import org.apache.webbeans.component.ProducerMethodBean;
-import org.apache.webbeans.container.InjectionResolver;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.proxy.NormalScopeProxyFactory;
@@ -128,9 +127,7 @@ public class InjectableMethod<T> extends AbstractInjectable<T>
                         else
                         {
                             Object instance = inject(point);
-                            InjectionResolver injectionResolver = getWebBeansContext().getBeanManagerImpl().getInjectionResolver();
-
-                            Bean<?> injectedBean = injectionResolver.getInjectionPointBean(point);
+                            Bean<?> injectedBean = getWebBeansContext().getBeanManagerImpl().getInjectionPointBean(point);
                             if(injectedBean.getScope() == Dependent.class)
                             {
                                 dependentParameters.put(injectedBean, instance);
@@ -19,8 +19,11 @@
 package org.apache.webbeans.inject;
 
 import javax.enterprise.context.spi.CreationalContext;
-import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.InjectionTarget;
+
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.container.InjectableBeanManager;
 
 /**
  * Injects dependencies of the given Java EE component
@@ -38,6 +41,7 @@ public final class OWBInjector
 
     /**
      * Inject dependencies of given instance.
+     * The InjectionTarget of the class gets reused for the next instances if the BeanManager is the one of OpenWebBeans.
      * @param beanManager the BeanManager to use
      * @param instanceUnderInjection instance
      * @param ownerCreationalContext CreationalContext of the owner
@@ -52,9 +56,19 @@ public final class OWBInjector
             creationalContext = beanManager.createCreationalContext(null);
         }
 
-        AnnotatedType annotatedType = beanManager.createAnnotatedType(instanceUnderInjection.getClass());
-        beanManager.createInjectionTarget(annotatedType).inject(instanceUnderInjection, creationalContext);
+        getInjectionTarget(beanManager, instanceUnderInjection.getClass()).inject(instanceUnderInjection, creationalContext);
     }
 
-
+    private static InjectionTarget getInjectionTarget(BeanManager beanManager, Class<?> type)
+    {
+        if (beanManager instanceof BeanManagerImpl)
+        {
+            return ((BeanManagerImpl) beanManager).getNonContextualInjectionTarget(type);
+        }
+        if (beanManager instanceof InjectableBeanManager)
+        {
+            return ((InjectableBeanManager) beanManager).getNonContextualInjectionTarget(type);
+        }
+        return beanManager.createInjectionTarget(beanManager.createAnnotatedType(type));
+    }
 }
@@ -49,6 +49,7 @@ import javax.enterprise.inject.spi.InjectionPoint;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.container.InjectionHandle;
 import org.apache.webbeans.event.EventUtil;
 import org.apache.webbeans.portable.AnnotatedElementFactory;
 import org.apache.webbeans.util.Asserts;
@@ -73,6 +74,11 @@ public class InjectionPointImpl implements InjectionPoint, Serializable
     
     private boolean delegate;
 
+    /**
+     * resolution computed once the deployment got validated, see {@link BeanManagerImpl#getInjectionHandle(InjectionPoint)}
+     */
+    private transient volatile InjectionHandle handle;
+
     InjectionPointImpl(Bean<?> ownerBean, Collection<Annotation> qualifiers, AnnotatedField<?> annotatedField)
     {
         this(ownerBean, annotatedField.getBaseType(), qualifiers, annotatedField,
@@ -172,6 +178,16 @@ public class InjectionPointImpl implements InjectionPoint, Serializable
         return transientt;
     }
     
+    public InjectionHandle getHandle()
+    {
+        return handle;
+    }
+
+    public void setHandle(InjectionHandle handle)
+    {
+        this.handle = handle;
+    }
+
     private void writeObject(java.io.ObjectOutputStream op) throws IOException
     {
         ObjectOutputStream out = new ObjectOutputStream(op);
@@ -24,6 +24,7 @@ import org.apache.webbeans.intercept.InterceptorResolutionService.BeanIntercepto
 import org.apache.webbeans.intercept.InterceptorResolutionService.BusinessMethodInterceptorInfo;
 import org.apache.webbeans.portable.AbstractProducer;
 import org.apache.webbeans.proxy.InterceptorHandler;
+import org.apache.webbeans.proxy.OwbInterceptedMethodInvoker;
 import org.apache.webbeans.util.ExceptionUtil;
 import org.apache.webbeans.util.WebBeansUtil;
 
@@ -37,6 +38,7 @@ import java.io.NotSerializableException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.ObjectStreamException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.HashMap;
@@ -59,7 +61,25 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
     private Object target;
     private String passivationId;
 
+    /**
+     * the decorating methods resolved by method index, {@code null} to look them up for each invocation
+     */
+    private MethodInterceptorChains chains;
+    private MethodHandle[][] decoratingMethods;
+    private Object[] decoratorInstances;
+
     public DecoratorHandler(BeanInterceptorInfo interceptorInfo, List<Decorator<?>> decorators, Map<Decorator<?>, ?> instances, int index, Object target, String passivationId)
+    {
+        this(interceptorInfo, decorators, instances, index, target, passivationId, null, null);
+    }
+
+    /**
+     * @param chains the resolved interceptors and decorators of the proxy class
+     * @param decoratingMethods the decorating method of each method index for each position of the decorators,
+     *                          see {@link MethodInterceptorChains#getDecoratingMethods(List)}
+     */
+    public DecoratorHandler(BeanInterceptorInfo interceptorInfo, List<Decorator<?>> decorators, Map<Decorator<?>, ?> instances, int index, Object target,
+                            String passivationId, MethodInterceptorChains chains, MethodHandle[][] decoratingMethods)
     {
         this.interceptorInfo = interceptorInfo;
         this.instances = instances;
@@ -67,6 +87,18 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
         this.index = index;
         this.target = target;
         this.passivationId = passivationId;
+        if (chains != null && decoratingMethods != null)
+        {
+            this.chains = chains;
+            this.decoratingMethods = decoratingMethods;
+
+            // the decorators after this position got created before this handler
+            decoratorInstances = new Object[decorators.size()];
+            for (int i = index; i < decoratorInstances.length; i++)
+            {
+                decoratorInstances[i] = instances.get(decorators.get(i));
+            }
+        }
     }
 
     public DecoratorHandler()
@@ -74,6 +106,38 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
         // no-op: for serialization
     }
 
+    @Override
+    public Object invoke(int methodIndex, Method method, Object[] args)
+    {
+        if (decoratingMethods == null || !chains.isMethod(methodIndex, method))
+        {
+            return invoke(method, args);
+        }
+
+        try
+        {
+            for (int i = index; i < decoratingMethods.length; i++)
+            {
+                MethodHandle decoratingMethod = decoratingMethods[i][methodIndex];
+                if (decoratingMethod != null)
+                {
+                    return decoratingMethod.invokeExact(decoratorInstances[i], args);
+                }
+            }
+
+            OwbInterceptedMethodInvoker invoker = chains.getInvoker(methodIndex);
+            if (invoker != null)
+            {
+                return invoker.invokeIntercepted(methodIndex, target, args);
+            }
+        }
+        catch (Throwable e)
+        {
+            return ExceptionUtil.throwAsRuntimeException(e);
+        }
+        return invoke(method, args);
+    }
+
     @Override
     public Object invoke(Method method, Object[] args)
     {
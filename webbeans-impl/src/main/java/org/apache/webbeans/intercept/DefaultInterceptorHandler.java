@@ -75,6 +75,16 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
     private Map<Method, List<Interceptor<?>>> interceptors;
     private Map<Interceptor<?>, ?> instances;
 
+    /**
+     * the interceptors by method index of the proxy class, {@code null} if unknown, e.g. after deserialisation
+     */
+    private MethodInterceptorChains chains;
+
+    /**
+     * provides the {@link #delegate} to the invocation contexts
+     */
+    private Provider<T> delegateProvider;
+
     /**
      * InterceptorHandler wich gets used in our InjectionTargets which
      * support interceptors and decorators
@@ -89,12 +99,37 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
                                      Map<Method, List<Interceptor<?>>> interceptors,
                                      Map<Interceptor<?>, ?> instances,
                                      String beanPassivationId)
+    {
+        this(target, delegate, interceptors, null, instances, beanPassivationId);
+    }
+
+    /**
+     * @param chains the interceptors of each method index of the proxy class
+     * @see #DefaultInterceptorHandler(Object, Object, Map, Map, String)
+     */
+    public DefaultInterceptorHandler(T target,
+                                     T delegate,
+                                     MethodInterceptorChains chains,
+                                     Map<Interceptor<?>, ?> instances,
+                                     String beanPassivationId)
+    {
+        this(target, delegate, chains.getMethodInterceptors(), chains, instances, beanPassivationId);
+    }
+
+    private DefaultInterceptorHandler(T target,
+                                      T delegate,
+                                      Map<Method, List<Interceptor<?>>> interceptors,
+                                      MethodInterceptorChains chains,
+                                      Map<Interceptor<?>, ?> instances,
+                                      String beanPassivationId)
     {
         this.target = target;
         this.delegate = delegate;
         this.instances = instances;
         this.interceptors = interceptors;
+        this.chains = chains;
         this.beanPassivationId = beanPassivationId;
+        this.delegateProvider = new InstanceProvider<>(delegate);
     }
 
     public DefaultInterceptorHandler()
@@ -134,7 +169,30 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
             }
 
             InterceptorInvocationContext<T> ctx
-                = new InterceptorInvocationContext<T>(new InstanceProvider(delegate), InterceptionType.AROUND_INVOKE, methodInterceptors, instances, method, parameters);
+                = new InterceptorInvocationContext<T>(delegateProvider, InterceptionType.AROUND_INVOKE, methodInterceptors, instances, method, parameters);
+
+            return ctx.proceed();
+        }
+        catch (Exception e)
+        {
+            return ExceptionUtil.throwAsRuntimeException(e);
+        }
+    }
+
+    @Override
+    public Object invoke(int methodIndex, Method method, Object[] parameters)
+    {
+        List<Interceptor<?>> methodInterceptors = chains == null ? null : chains.getInterceptors(methodIndex, method);
+        if (methodInterceptors == null)
+        {
+            return invoke(method, parameters);
+        }
+
+        try
+        {
+            InterceptorInvocationContext<T> ctx = new InterceptorInvocationContext<T>(
+                    delegateProvider, InterceptionType.AROUND_INVOKE, methodInterceptors, instances, method, parameters,
+                    chains.getInvoker(methodIndex), methodIndex);
 
             return ctx.proceed();
         }
@@ -225,6 +283,7 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         {
             delegate = (T) in.readObject();
         }
+        delegateProvider = new InstanceProvider<>(delegate);
 
         int instancesSize = in.readInt();
         WebBeansContext webBeansContext = WebBeansContext.getInstance();
@@ -19,6 +19,7 @@
 package org.apache.webbeans.intercept;
 
 import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
 
@@ -26,6 +27,8 @@ import javax.enterprise.inject.spi.InterceptionType;
 import javax.enterprise.inject.spi.Interceptor;
 import javax.inject.Provider;
 
+import org.apache.webbeans.proxy.OwbInterceptedMethodInvoker;
+
 /**
  * InvocationContext for business method interceptors
  */
@@ -36,6 +39,12 @@ public class InterceptorInvocationContext<T> extends AbstractInvocationContext<T
     protected List<Interceptor<?>> interceptors;
     protected Map<Interceptor<?>, ?> instances;
     protected int index;
+
+    /**
+     * invokes the method at the end of the chain without reflection, {@code null} to use reflection
+     */
+    private OwbInterceptedMethodInvoker invoker;
+    private int methodIndex;
     
     public InterceptorInvocationContext(Provider<T> provider, InterceptionType type,
                                         List<Interceptor<?>> interceptors, Map<Interceptor<?>, ?> instances,
@@ -47,6 +56,38 @@ public class InterceptorInvocationContext<T> extends AbstractInvocationContext<T
         this.instances = instances;
     }
 
+    /**
+     * @param invoker invokes the method of the given index of the proxy class, can be {@code null}
+     * @param methodIndex the index of the method in the intercepted methods of the proxy class
+     */
+    public InterceptorInvocationContext(Provider<T> provider, InterceptionType type,
+                                        List<Interceptor<?>> interceptors, Map<Interceptor<?>, ?> instances,
+                                        Method method, Object[] parameters,
+                                        OwbInterceptedMethodInvoker invoker, int methodIndex)
+    {
+        this(provider, type, interceptors, instances, method, parameters);
+        this.invoker = invoker;
+        this.methodIndex = methodIndex;
+    }
+
+    @Override
+    public void setParameters(Object[] parameters)
+    {
+        super.setParameters(parameters);
+        // reflection reports parameters not matching the method as IllegalArgumentException
+        invoker = null;
+    }
+
+    @Override
+    public Object directProceed() throws Exception
+    {
+        if (invoker != null)
+        {
+            return invoker.invokeIntercepted(methodIndex, target.get(), parameters);
+        }
+        return super.directProceed();
+    }
+
     @Override
     public Object proceed() throws Exception
     {
@@ -54,6 +54,7 @@ import javax.interceptor.ExcludeClassInterceptors;
 import javax.interceptor.Interceptors;
 import javax.interceptor.InvocationContext;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -839,6 +840,43 @@ public class InterceptorResolutionService
                                        String passivationId, Map<Interceptor<?>, Object> interceptorInstances,
                                        Function<CreationalContextImpl<?>, Boolean> isDelegateInjection,
                                        BiFunction<T, List<Decorator<?>>, List<Decorator<?>>> filterDecorators)
+    {
+        T delegate = createDelegate(instance, creationalContextImpl, creationalContext, interceptorInfo, proxyClass, null,
+                passivationId, interceptorInstances, isDelegateInjection, filterDecorators);
+        InterceptorHandler interceptorHandler = new DefaultInterceptorHandler<>(instance, delegate, methodInterceptors, interceptorInstances, passivationId);
+
+        return webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(proxyClass, instance, interceptorHandler);
+    }
+
+    /**
+     * @param methodInterceptorChains the interceptors of each method index of the proxyClass
+     */
+    public <T> T createProxiedInstance(T instance, CreationalContextImpl<T> creationalContextImpl,
+                                       CreationalContext<T> creationalContext,
+                                       BeanInterceptorInfo interceptorInfo,
+                                       Class<? extends T> proxyClass, MethodInterceptorChains methodInterceptorChains,
+                                       String passivationId, Map<Interceptor<?>, Object> interceptorInstances,
+                                       Function<CreationalContextImpl<?>, Boolean> isDelegateInjection,
+                                       BiFunction<T, List<Decorator<?>>, List<Decorator<?>>> filterDecorators)
+    {
+        T delegate = createDelegate(instance, creationalContextImpl, creationalContext, interceptorInfo, proxyClass, methodInterceptorChains,
+                passivationId, interceptorInstances, isDelegateInjection, filterDecorators);
+        InterceptorHandler interceptorHandler = new DefaultInterceptorHandler<>(instance, delegate, methodInterceptorChains, interceptorInstances, passivationId);
+
+        return webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(proxyClass, instance, interceptorHandler);
+    }
+
+    /**
+     * @param methodInterceptorChains the resolved decorators of each method index of the proxyClass,
+     *                                {@code null} to look them up for each invocation
+     * @return the outermost Decorator or the instance itself if it doesn't get decorated
+     */
+    private <T> T createDelegate(T instance, CreationalContextImpl<T> creationalContextImpl,
+                                 CreationalContext<T> creationalContext,
+                                 BeanInterceptorInfo interceptorInfo, Class<? extends T> proxyClass,
+                                 MethodInterceptorChains methodInterceptorChains, String passivationId, Map<Interceptor<?>, Object> interceptorInstances,
+                                 Function<CreationalContextImpl<?>, Boolean> isDelegateInjection,
+                                 BiFunction<T, List<Decorator<?>>, List<Decorator<?>>> filterDecorators)
     {
         // register the bean itself for self-interception
         if (interceptorInfo.getSelfInterceptorBean() != null)
@@ -850,6 +888,7 @@ public class InterceptorResolutionService
         if (interceptorInfo.getDecorators() != null && !isDelegateInjection.apply(creationalContextImpl))
         {
             List<Decorator<?>> decorators = filterDecorators.apply(instance, interceptorInfo.getDecorators());
+            MethodHandle[][] decoratingMethods = methodInterceptorChains == null ? null : methodInterceptorChains.getDecoratingMethods(decorators);
             Map<Decorator<?>, Object> instances = new HashMap<>();
             for (int i = decorators.size(); i > 0; i--)
             {
@@ -859,12 +898,11 @@ public class InterceptorResolutionService
                 Object decoratorInstance = decorator.create(creationalContext);
                 instances.put(decorator, decoratorInstance);
                 delegate = webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(proxyClass, instance,
-                        new DecoratorHandler(interceptorInfo, decorators, instances, i - 1, instance, passivationId));
+                        new DecoratorHandler(interceptorInfo, decorators, instances, i - 1, instance, passivationId,
+                                methodInterceptorChains, decoratingMethods));
             }
         }
-        InterceptorHandler interceptorHandler = new DefaultInterceptorHandler<>(instance, delegate, methodInterceptors, interceptorInstances, passivationId);
-
-        return webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(proxyClass, instance, interceptorHandler);
+        return delegate;
     }
 
 
@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import org.apache.webbeans.intercept.InterceptorResolutionService.BusinessMethodInterceptorInfo;
+import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
+import org.apache.webbeans.proxy.OwbInterceptedMethodInvoker;
+
+import javax.enterprise.inject.spi.Decorator;
+import javax.enterprise.inject.spi.InterceptionType;
+import javax.enterprise.inject.spi.Interceptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The business method interceptors and decorators of an Interceptor+Decorator proxy class,
+ * resolved once by the index the proxy passes to
+ * {@link org.apache.webbeans.proxy.InterceptorHandler#invoke(int, Method, Object[])}
+ * instead of looking them up by {@link Method} for each invocation.
+ */
+public final class MethodInterceptorChains
+{
+    private final Map<Method, List<Interceptor<?>>> methodInterceptors;
+    private final Method[] methods;
+    private final List<Interceptor<?>>[] interceptors;
+
+    /**
+     * invokes the intercepted methods at the end of the chain, {@code null} if they have to be invoked via reflection
+     */
+    private final OwbInterceptedMethodInvoker invoker;
+    private final boolean[] directlyInvokable;
+
+    /**
+     * key: the decorator
+     * value: the decorating method of each method index as (Object decorator, Object[] parameters)Object,
+     *        {@code null} for the methods the decorator doesn't decorate
+     */
+    private final Map<Decorator<?>, MethodHandle[]> decoratingMethods;
+    private final MethodHandle[] notDecorated;
+
+    private MethodInterceptorChains(Map<Method, List<Interceptor<?>>> methodInterceptors,
+                                    Method[] methods, List<Interceptor<?>>[] interceptors,
+                                    OwbInterceptedMethodInvoker invoker, boolean[] directlyInvokable,
+                                    Map<Decorator<?>, MethodHandle[]> decoratingMethods)
+    {
+        this.methodInterceptors = methodInterceptors;
+        this.methods = methods;
+        this.interceptors = interceptors;
+        this.invoker = invoker;
+        this.directlyInvokable = directlyInvokable;
+        this.decoratingMethods = decoratingMethods;
+        this.notDecorated = new MethodHandle[methods.length];
+    }
+
+    /**
+     * @param proxyFactory the factory which created the proxy class
+     * @param proxyClass the Interceptor+Decorator proxy class
+     * @param methodInterceptors the interceptors of each intercepted or decorated method
+     * @param businessMethodsInfo the interceptors and decorators of each business method
+     */
+    public static MethodInterceptorChains create(InterceptorDecoratorProxyFactory proxyFactory, Class<?> proxyClass,
+                                                 Map<Method, List<Interceptor<?>>> methodInterceptors,
+                                                 Map<Method, BusinessMethodInterceptorInfo> businessMethodsInfo)
+    {
+        Method[] methods = proxyFactory.getInterceptedMethods(proxyClass);
+        if (methods == null)
+        {
+            return null;
+        }
+
+        List<Interceptor<?>>[] interceptors = new List[methods.length];
+        boolean[] directlyInvokable = new boolean[methods.length];
+        for (int i = 0; i < methods.length; i++)
+        {
+            List<Interceptor<?>> chain = methodInterceptors.get(methods[i]);
+            if (chain == null || chain.isEmpty())
+            {
+                interceptors[i] = Collections.emptyList();
+            }
+            else
+            {
+                // the other interceptors would just proceed
+                List<Interceptor<?>> aroundInvoke = new ArrayList<>(chain.size());
+                for (Interceptor<?> interceptor : chain)
+                {
+                    if (interceptor.intercepts(InterceptionType.AROUND_INVOKE))
+                    {
+                        aroundInvoke.add(interceptor);
+                    }
+                }
+                interceptors[i] = aroundInvoke;
+            }
+            directlyInvokable[i] = InterceptorDecoratorProxyFactory.isDirectlyInvokable(methods[i]);
+        }
+
+        return new MethodInterceptorChains(methodInterceptors, methods, interceptors, proxyFactory.getInterceptedMethodInvoker(proxyClass),
+                directlyInvokable, resolveDecoratingMethods(methods, businessMethodsInfo));
+    }
+
+    /**
+     * @return the decorating methods by decorator, {@code null} if they have to be invoked via reflection
+     */
+    private static Map<Decorator<?>, MethodHandle[]> resolveDecoratingMethods(Method[] methods,
+                                                                              Map<Method, BusinessMethodInterceptorInfo> businessMethodsInfo)
+    {
+        Map<Decorator<?>, MethodHandle[]> decoratingMethods = new HashMap<>();
+        MethodType genericType = MethodType.methodType(Object.class, Object.class, Object[].class);
+        for (int i = 0; i < methods.length; i++)
+        {
+            BusinessMethodInterceptorInfo methodInfo = businessMethodsInfo.get(methods[i]);
+            LinkedHashMap<Decorator<?>, Method> methodDecorators = methodInfo == null ? null : methodInfo.getMethodDecorators();
+            if (methodDecorators == null)
+            {
+                continue;
+            }
+            for (Map.Entry<Decorator<?>, Method> methodDecorator : methodDecorators.entrySet())
+            {
+                Method decoratingMethod = methodDecorator.getValue();
+                MethodHandle handle;
+                try
+                {
+                    if (!decoratingMethod.isAccessible())
+                    {
+                        decoratingMethod.setAccessible(true);
+                    }
+                    handle = MethodHandles.lookup().unreflect(decoratingMethod)
+                            .asSpreader(Object[].class, decoratingMethod.getParameterCount())
+                            .asType(genericType);
+                }
+                catch (RuntimeException | IllegalAccessException e)
+                {
+                    // e.g. a decorator in a module which is not opened to us
+                    return null;
+                }
+                decoratingMethods.computeIfAbsent(methodDecorator.getKey(), d -> new MethodHandle[methods.length])[i] = handle;
+            }
+        }
+        return decoratingMethods;
+    }
+
+    /**
+     * @return all the interceptors of each intercepted or decorated method
+     */
+    public Map<Method, List<Interceptor<?>>> getMethodInterceptors()
+    {
+        return methodInterceptors;
+    }
+
+    /**
+     * @return the interceptors of the method with the given index,
+     *         {@code null} if the index doesn't belong to the method, i.e. the proxy is not one of this proxy class
+     */
+    public List<Interceptor<?>> getInterceptors(int methodIndex, Method method)
+    {
+        if (!isMethod(methodIndex, method))
+        {
+            return null;
+        }
+        return interceptors[methodIndex];
+    }
+
+    /**
+     * @return whether the given index belongs to the method, i.e. the proxy is one of this proxy class
+     */
+    public boolean isMethod(int methodIndex, Method method)
+    {
+        return methodIndex >= 0 && methodIndex < methods.length && methods[methodIndex] == method;
+    }
+
+    /**
+     * @param decorators the decorators of a bean instance in the order of the chain
+     * @return the decorating method of each method index for each position in the chain,
+     *         {@code null} if the decorating methods have to be invoked via reflection
+     */
+    public MethodHandle[][] getDecoratingMethods(List<Decorator<?>> decorators)
+    {
+        if (decoratingMethods == null)
+        {
+            return null;
+        }
+        MethodHandle[][] chain = new MethodHandle[decorators.size()][];
+        for (int i = 0; i < chain.length; i++)
+        {
+            MethodHandle[] handles = decoratingMethods.get(decorators.get(i));
+            chain[i] = handles == null ? notDecorated : handles;
+        }
+        return chain;
+    }
+
+    /**
+     * @return the invoker for the method of the given index, {@code null} if it has to be invoked via reflection
+     */
+    public OwbInterceptedMethodInvoker getInvoker(int methodIndex)
+    {
+        return directlyInvokable[methodIndex] ? invoker : null;
+    }
+}
@@ -28,8 +28,13 @@ import javax.inject.Provider;
 import java.io.NotSerializableException;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.function.Supplier;
 
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.context.AbstractContext;
+import org.apache.webbeans.context.AbstractContextsService;
+import org.apache.webbeans.spi.ContextsService;
 
 /**
  * <p>A Provider which handles all NormalScoped proxying.
@@ -55,6 +60,11 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
      */
     private String beanPassivationId;
 
+    /**
+     * the context of the scope bound to the current thread by the ContextsService, {@code null} if there is none
+     */
+    private transient Supplier<? extends AbstractContext> threadBoundContext;
+
     public NormalScopedBeanInterceptorHandler(BeanManager beanManager, Bean<?> bean)
     {
         this.beanManager = beanManager;
@@ -63,6 +73,14 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
         {
             beanPassivationId = ((PassivationCapable) bean).getId();
         }
+        if (beanManager instanceof BeanManagerImpl)
+        {
+            ContextsService contextsService = ((BeanManagerImpl) beanManager).getWebBeansContext().getContextsService();
+            if (contextsService instanceof AbstractContextsService)
+            {
+                threadBoundContext = ((AbstractContextsService) contextsService).getThreadBoundContext(bean.getScope());
+            }
+        }
     }
 
     @Override
@@ -83,10 +101,23 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
 
     protected Object getContextualInstance()
     {
-        Object webbeansInstance;
+        // the context bound to the thread is the one getContext would return, the instance is stored in it
+        // (at the ContextSlot of the bean if they are enabled), so nothing gets cached here
+        AbstractContext context = threadBoundContext != null ? threadBoundContext.get() : null;
+        if (context != null && context.isActive())
+        {
+            return getContextualInstance(context);
+        }
+        return getContextualInstance(beanManager.getContext(bean.getScope()));
+    }
 
-        //Context of the bean
-        Context context = beanManager.getContext(bean.getScope());
+    /**
+     * @param context the current context of the scope of the bean
+     * @return the contextual instance of the bean in the given context, gets created if needed
+     */
+    protected Object getContextualInstance(Context context)
+    {
+        Object webbeansInstance;
 
         //Already saved in context?
         webbeansInstance = context.get(bean);
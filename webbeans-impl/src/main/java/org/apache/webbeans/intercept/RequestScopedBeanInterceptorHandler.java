@@ -20,34 +20,22 @@ package org.apache.webbeans.intercept;
 
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
-import java.util.HashMap;
 
 
 /**
  * <p>This is a {@link javax.inject.Provider} especially
  * made for &#064;RequestScoped beans used in web applications.</p>
  * 
- * <p>Since there is only one single contextual instance of an &#064;RequestScoped bean per thread,
- * we can simply cache this instance inside our bean. We only need to reload this instance
- * if it is null or if the thread ends.</p>
+ * <p>There is only one single contextual instance of an &#064;RequestScoped bean per request,
+ * the request context bound to the thread itself is the cache of it. With
+ * {@link org.apache.webbeans.config.OpenWebBeansConfiguration#CONTEXT_SLOTS} it is stored
+ * at the slot of the bean, so nothing is shared between the requests and nothing outlives them.</p>
  */
 public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterceptorHandler
 {
     /**default serial id*/
     private static final long serialVersionUID = 1L;
 
-    /**
-     * Cached bean instance for each thread
-     */
-    private static ThreadLocal<HashMap<Bean<?>, Object>> cachedInstances = new ThreadLocal<>();
-
-
-    public static void removeThreadLocals()
-    {
-        cachedInstances.set(null);
-        cachedInstances.remove();
-    }
-
     /**
      * Creates a new handler.
      */
@@ -55,29 +43,5 @@ public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterce
     {
         super(beanManager, bean);
     }
-    
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    protected Object getContextualInstance()
-    {
-        HashMap<Bean<?>, Object> beanMap = cachedInstances.get();
-        if (beanMap == null)
-        {
-            beanMap = new HashMap<>();
-            cachedInstances.set(beanMap);
-        }
-
-        Object cachedInstance = beanMap.get(bean);
-        if (cachedInstance == null)
-        {
-
-            cachedInstance = super.getContextualInstance();
-            beanMap.put(bean, cachedInstance);
-        }
-
-        return cachedInstance;
-    }
 
 }
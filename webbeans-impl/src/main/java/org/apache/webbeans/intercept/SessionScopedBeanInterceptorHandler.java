@@ -18,18 +18,26 @@
  */
 package org.apache.webbeans.intercept;
 
+import javax.enterprise.context.spi.Context;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
-import java.util.HashMap;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.context.SessionContext;
 
 
 /**
  * <p>This is a {@link javax.inject.Provider} especially
  * made for &#064;SessionScoped beans used in web applications.</p>
  * 
- * <p>Since there is only one single contextual instance of an &#064;SessionScoped bean per thread,
- * we can simply cache this instance inside our bean. We only need to reload this instance
- * if it is null or if the thread ends.</p>
+ * <p>There is only one single contextual instance of an &#064;SessionScoped bean per session,
+ * the session context itself is the cache of it. With
+ * {@link org.apache.webbeans.config.OpenWebBeansConfiguration#CONTEXT_SLOTS} it is stored
+ * at the slot of the bean, so nothing is shared between the sessions and nothing outlives them.</p>
+ *
+ * <p>As the instance usually is found without creating it, the {@link SessionContext}
+ * gets marked as dirty explicitly if {@link OpenWebBeansConfiguration#SESSION_DIRTY_TRACKING} is enabled.</p>
  */
 public class SessionScopedBeanInterceptorHandler extends NormalScopedBeanInterceptorHandler
 {
@@ -37,16 +45,9 @@ public class SessionScopedBeanInterceptorHandler extends NormalScopedBeanInterce
     private static final long serialVersionUID = 1L;
 
     /**
-     * Cached bean instance for each thread
+     * @see OpenWebBeansConfiguration#SESSION_DIRTY_TRACKING
      */
-    private static ThreadLocal<HashMap<Bean<?>, Object>> cachedInstances = new ThreadLocal<>();
-
-
-    public static void removeThreadLocals()
-    {
-        cachedInstances.set(null);
-        cachedInstances.remove();
-    }
+    private transient boolean dirtyTracking;
 
     /**
      * Creates a new handler.
@@ -54,30 +55,21 @@ public class SessionScopedBeanInterceptorHandler extends NormalScopedBeanInterce
     public SessionScopedBeanInterceptorHandler(BeanManager beanManager, Bean<?> bean)
     {
         super(beanManager, bean);
+        dirtyTracking = beanManager instanceof BeanManagerImpl && Boolean.parseBoolean(((BeanManagerImpl) beanManager)
+                .getWebBeansContext().getOpenWebBeansConfiguration().getProperty(OpenWebBeansConfiguration.SESSION_DIRTY_TRACKING));
     }
     
     /**
      * {@inheritDoc}
      */
     @Override
-    protected Object getContextualInstance()
+    protected Object getContextualInstance(Context context)
     {
-        HashMap<Bean<?>, Object> beanMap = cachedInstances.get();
-        if (beanMap == null)
+        if (dirtyTracking && context instanceof SessionContext)
         {
-            beanMap = new HashMap<>();
-            cachedInstances.set(beanMap);
+            ((SessionContext) context).markDirty();
         }
-
-        Object cachedInstance = beanMap.get(bean);
-        if (cachedInstance == null)
-        {
-
-            cachedInstance = super.getContextualInstance();
-            beanMap.put(bean, cachedInstance);
-        }
-
-        return cachedInstance;
+        return super.getContextualInstance(context);
     }
 
 }
@@ -162,6 +162,8 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
 
             contextsService.destroy(endObject);
 
+            webBeansContext.getConversationManager().stopReaper();
+
             //Unbind BeanManager
             jndiService.unbind(WebBeansConstants.WEB_BEANS_MANAGER_JNDI_NAME);
 
@@ -38,7 +38,9 @@ import javax.enterprise.inject.spi.Producer;
 import org.apache.webbeans.component.BeanManagerBean;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
+import org.apache.webbeans.intercept.InterceptorResolutionService;
 import org.apache.webbeans.intercept.InterceptorResolutionService.BeanInterceptorInfo;
+import org.apache.webbeans.intercept.MethodInterceptorChains;
 import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 import org.apache.webbeans.proxy.OwbInterceptorProxy;
 
@@ -53,6 +55,7 @@ public abstract class AbstractProducer<T> implements Producer<T>
     protected BeanInterceptorInfo interceptorInfo;
     protected InterceptorDecoratorProxyFactory proxyFactory;
     protected Map<Method, List<Interceptor<?>>> methodInterceptors;
+    protected MethodInterceptorChains methodInterceptorChains;
 
     public AbstractProducer()
     {
@@ -109,6 +112,8 @@ public abstract class AbstractProducer<T> implements Producer<T>
                     .toArray(Method[]::new);
 
             proxyClass = (Class<? extends T>) pf.createProxyClass(bean, classLoader, annotatedType.getJavaClass(), businessMethods, nonInterceptedMethods);
+            methodInterceptorChains = MethodInterceptorChains.create(pf, proxyClass, methodInterceptors,
+                    interceptorInfo.getBusinessMethodsInfo());
 
             // now we collect the post-construct and pre-destroy interceptors
 
@@ -141,10 +146,19 @@ public abstract class AbstractProducer<T> implements Producer<T>
 
         if (hasInterceptorInfo() && !(instance instanceof OwbInterceptorProxy))
         {
-            instance = creationalContextImpl.getWebBeansContext().getInterceptorResolutionService()
-                .createProxiedInstance(instance, creationalContextImpl, creationalContext,
+            InterceptorResolutionService interceptorResolutionService = creationalContextImpl.getWebBeansContext().getInterceptorResolutionService();
+            if (methodInterceptorChains != null)
+            {
+                instance = interceptorResolutionService.createProxiedInstance(instance, creationalContextImpl, creationalContext,
+                        interceptorInfo, proxyClass, methodInterceptorChains, passivationId, interceptorInstances,
+                        this::isDelegateInjection, this::filterDecorators);
+            }
+            else
+            {
+                instance = interceptorResolutionService.createProxiedInstance(instance, creationalContextImpl, creationalContext,
                         interceptorInfo, proxyClass, methodInterceptors, passivationId, interceptorInstances,
                         this::isDelegateInjection, this::filterDecorators);
+            }
             creationalContextImpl.putContextual(oldContextual);
         }
 
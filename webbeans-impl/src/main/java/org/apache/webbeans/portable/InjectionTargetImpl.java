@@ -23,6 +23,7 @@ import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.exception.WebBeansCreationException;
 import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.inject.CompiledInjector;
 import org.apache.webbeans.inject.InjectableConstructor;
 import org.apache.webbeans.inject.InjectableField;
 import org.apache.webbeans.inject.InjectableMethod;
@@ -69,6 +70,7 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -114,6 +116,12 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
 
     private List<Interceptor<?>> aroundConstructInterceptors;
 
+    /**
+     * Injects fields and initializer methods once the deployment got validated,
+     * built on the first injection.
+     */
+    private volatile CompiledInjector<T> compiledInjector;
+
     public InjectionTargetImpl(AnnotatedType<T> annotatedType, Set<InjectionPoint> injectionPoints, WebBeansContext webBeansContext,
                                List<AnnotatedMethod<?>> postConstructMethods, List<AnnotatedMethod<?>> preDestroyMethods)
     {
@@ -204,7 +212,93 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
     @Override
     public void inject(T instance, CreationalContext<T> context)
     {
-        inject(instance.getClass(), unwrapProxyInstance(instance), (CreationalContextImpl<T>) context);
+        Class<?> type = instance.getClass();
+        CompiledInjector<T> injector = getCompiledInjector(type);
+        if (injector != null)
+        {
+            injector.inject(unwrapProxyInstance(instance), (CreationalContextImpl<T>) context);
+        }
+        else
+        {
+            inject(type, unwrapProxyInstance(instance), (CreationalContextImpl<T>) context);
+        }
+    }
+
+    private CompiledInjector<T> getCompiledInjector(Class<?> type)
+    {
+        CompiledInjector<T> injector = compiledInjector;
+        if (injector == null)
+        {
+            if (!webBeansContext.getBeanManagerImpl().isAfterDeploymentValidationFired())
+            {
+                // not all beans are known yet
+                return null;
+            }
+
+            injector = new CompiledInjector<>(webBeansContext, type);
+            compile(type, injector);
+            compiledInjector = injector.build();
+        }
+        // a single injector per InjectionTarget, other runtime classes are not worth caching
+        return injector.getInstanceClass() == type ? injector : null;
+    }
+
+    /**
+     * Same order as {@link #inject(Class, Object, CreationalContextImpl)}: superclass first, fields, methods, initializers.
+     */
+    private void compile(Class<?> type, CompiledInjector<T> injector)
+    {
+        if (type == null || type.equals(Object.class))
+        {
+            return;
+        }
+        compile(type.getSuperclass(), injector);
+
+        for (InjectionPoint injectionPoint : getInjectionPoints())
+        {
+            if (injectionPoint.getMember().getDeclaringClass().equals(type) && injectionPoint.getMember() instanceof Field)
+            {
+                injector.addField((Field) injectionPoint.getMember(), injectionPoint);
+            }
+        }
+
+        Set<Member> injectedMethods = new HashSet<>();
+        for (InjectionPoint injectionPoint : getInjectionPoints())
+        {
+            if (injectionPoint.getMember().getDeclaringClass().equals(type)
+                    && injectionPoint.getMember() instanceof Method
+                    && injectedMethods.add(injectionPoint.getMember())
+                    && !isProducerMethod(injectionPoint)
+                    && !isDisposalMethod(injectionPoint)
+                    && !isObserverMethod(injectionPoint))
+            {
+                injector.addMethod((Method) injectionPoint.getMember(), getParameterInjectionPoints(injectionPoint.getMember()));
+            }
+        }
+
+        for (AnnotatedMethod<? super T> method : webBeansContext.getAnnotatedElementFactory().getFilteredAnnotatedMethods(annotatedType))
+        {
+            if (method.getDeclaringType().getJavaClass().equals(type) && method.isAnnotationPresent(Inject.class) && method.getParameters().isEmpty())
+            {
+                injector.addMethod(method.getJavaMember(), Collections.emptyList());
+            }
+        }
+
+        injector.addResourceInjection(instance -> injectResources((T) instance));
+    }
+
+    private List<InjectionPoint> getParameterInjectionPoints(Member method)
+    {
+        List<InjectionPoint> parameters = new ArrayList<>();
+        for (InjectionPoint injectionPoint : getInjectionPoints())
+        {
+            if (injectionPoint.getMember().equals(method))
+            {
+                parameters.add(injectionPoint);
+            }
+        }
+        parameters.sort(Comparator.comparingInt(ip -> ((AnnotatedParameter<?>) ip.getAnnotated()).getPosition()));
+        return parameters;
     }
 
     private void inject(Class<?> type, T instance, CreationalContextImpl<T> context)
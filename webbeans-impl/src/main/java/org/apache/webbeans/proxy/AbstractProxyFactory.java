@@ -29,12 +29,17 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Stream;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.ProxyGenerationException;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.hash.XxHash64;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.service.ClassLoaderProxyService;
 import org.apache.webbeans.spi.DefiningClassService;
 import org.apache.webbeans.spi.InstantiatingClassService;
 import org.apache.xbean.asm9.ClassReader;
@@ -60,6 +65,8 @@ public abstract class AbstractProxyFactory
      */
     public static final int MODIFIER_VARARGS = 0x00000080;
 
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(AbstractProxyFactory.class);
+
     protected final Unsafe unsafe;
 
     private final DefiningClassService definingService;
@@ -68,6 +75,11 @@ public abstract class AbstractProxyFactory
     private final boolean useStaticNames;
     private final boolean useXXhash64;
 
+    /**
+     * proxies generated at build time, {@code null} if not used
+     */
+    private final ProxyArchive proxyArchive;
+
     protected WebBeansContext webBeansContext;
 
     private final int javaVersion;
@@ -92,11 +104,20 @@ public abstract class AbstractProxyFactory
                                ? (InstantiatingClassService) definingService
                                : webBeansContext.getService(InstantiatingClassService.class);
 
-        useStaticNames = Boolean.parseBoolean(webBeansContext.getOpenWebBeansConfiguration()
+        // archived proxies are looked up by name so the names must be the same at build time and runtime
+        boolean archive = webBeansContext.getOpenWebBeansConfiguration().isProxyArchive();
+        useStaticNames = archive || Boolean.parseBoolean(webBeansContext.getOpenWebBeansConfiguration()
                 .getProperty("org.apache.webbeans.proxy.useStaticNames"));
-        useXXhash64 = Boolean.parseBoolean(webBeansContext.getOpenWebBeansConfiguration()
+        useXXhash64 = archive || Boolean.parseBoolean(webBeansContext.getOpenWebBeansConfiguration()
                 .getProperty("org.apache.webbeans.proxy.staticNames.useXxHash64"));
 
+        // while recording the archive we must not load the one of a previous build,
+        // the archive is read and verified once and shared by all the factories of the context
+        ProxyArchive sharedArchive = archive && !(definingService instanceof ClassLoaderProxyService.Spy)
+                ? webBeansContext.get(ProxyArchive.class)
+                : null;
+        proxyArchive = sharedArchive == null || sharedArchive.isEmpty() ? null : sharedArchive;
+
         // we have fallbacks bellow to try Unsafe anyways if we can't do otherwise
         unsafe = definingService == null || instantiatingService == null ? new Unsafe() : null;
     }
@@ -170,6 +191,14 @@ public abstract class AbstractProxyFactory
      */
     protected abstract Class<?> getMarkerInterface();
 
+    /**
+     * @return further interfaces implemented by the generated code of this proxy.
+     */
+    protected Class<?>[] getAdditionalInterfaces()
+    {
+        return new Class<?>[0];
+    }
+
     /**
      * generate the bytecode for creating the instance variables of the class
      */
@@ -331,6 +360,20 @@ public abstract class AbstractProxyFactory
     {
         String proxyClassFileName = proxyClassName.replace('.', '/');
 
+        byte[] archivedBytes = getArchivedBytecode(proxyClassName, classToProxy);
+        if (archivedBytes != null)
+        {
+            try
+            {
+                return defineAndLoadClass(classLoader, proxyClassName, archivedBytes, classToProxy);
+            }
+            catch (ProxyGenerationException | LinkageError e)
+            {
+                // e.g. built for a newer JVM, the class didn't get defined so it can still be generated
+                logger.log(Level.FINE, "Can't define archived proxy " + proxyClassName + ", regenerating it", e);
+            }
+        }
+
         byte[] proxyBytes = generateProxy(classLoader,
                 classToProxy,
                 proxyClassName,
@@ -339,11 +382,29 @@ public abstract class AbstractProxyFactory
                 sortOutDuplicateMethods(nonInterceptedMethods),
                 constructor);
 
+        return defineAndLoadClass(classLoader, proxyClassName, proxyBytes, classToProxy);
+    }
+
+    /**
+     * @return the bytecode generated at build time for the given class, {@code null} if it has to be generated
+     * @see ProxyArchive
+     */
+    protected byte[] getArchivedBytecode(String className, Class<?> neighbour)
+    {
+        return proxyArchive == null ? null : proxyArchive.getBytecode(className, neighbour);
+    }
+
+    /**
+     * Defines the generated class next to the given one, either via the {@link DefiningClassService} or via {@link Unsafe}.
+     */
+    protected <T> Class<T> defineAndLoadClass(ClassLoader classLoader, String className, byte[] bytes, Class<?> neighbour)
+            throws ProxyGenerationException
+    {
         if (definingService != null)
         {
-            return definingService.defineAndLoad(proxyClassName, proxyBytes, classToProxy);
+            return (Class<T>) definingService.defineAndLoad(className, bytes, neighbour);
         }
-        return unsafe.defineAndLoadClass(classLoader, proxyClassName, proxyBytes, classToProxy);
+        return unsafe.defineAndLoadClass(classLoader, className, bytes, neighbour);
     }
 
     protected <T> T newInstance(final Class<? extends T> proxyClass)
@@ -396,16 +457,22 @@ public abstract class AbstractProxyFactory
         ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
         String classFileName = classToProxy.getName().replace('.', '/');
 
-        String[] interfaceNames = {Type.getInternalName(getMarkerInterface())};
+        List<String> interfaceNames = new ArrayList<>();
         String superClassName = classFileName;
 
         if (classToProxy.isInterface())
         {
-            interfaceNames = new String[]{Type.getInternalName(classToProxy), interfaceNames[0]};
+            interfaceNames.add(Type.getInternalName(classToProxy));
             superClassName = Type.getInternalName(Object.class);
         }
+        interfaceNames.add(Type.getInternalName(getMarkerInterface()));
+        for (Class<?> additionalInterface : getAdditionalInterfaces())
+        {
+            interfaceNames.add(Type.getInternalName(additionalInterface));
+        }
 
-        cw.visit(findJavaVersion(classToProxy), Opcodes.ACC_PUBLIC + Opcodes.ACC_SUPER + Opcodes.ACC_SYNTHETIC, proxyClassFileName, null, superClassName, interfaceNames);
+        cw.visit(findJavaVersion(classToProxy), Opcodes.ACC_PUBLIC + Opcodes.ACC_SUPER + Opcodes.ACC_SYNTHETIC, proxyClassFileName, null, superClassName,
+                interfaceNames.toArray(new String[interfaceNames.size()]));
         cw.visitSource(classFileName + ".java", null);
 
         // proxies are already available in a native environment when scanning is enabled -> lets skip proxies
@@ -38,7 +38,9 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -62,6 +64,9 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
     /** the name of the field which stores the Method[] of all intercepted methods */
     public static final String FIELD_INTERCEPTED_METHODS = "owbIntDecMethods";
 
+    private static final ProxyField PROXIED_INSTANCE = new ProxyField(FIELD_PROXIED_INSTANCE);
+    private static final ProxyField INTERCEPTOR_HANDLER = new ProxyField(FIELD_INTERCEPTOR_HANDLER);
+
     /**
      * Caches the proxy classes for each bean.
      * We need this to prevent filling up the ClassLoaders by
@@ -80,43 +85,46 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
     {
         Asserts.assertNotNull(instance);
 
-        try
-        {
-            T proxy = newInstance(proxyClass);
-
-            Field delegateField = proxy.getClass().getDeclaredField(FIELD_PROXIED_INSTANCE);
-            delegateField.setAccessible(true);
-            delegateField.set(proxy, instance);
-
-            Field invocationHandlerField = proxy.getClass().getDeclaredField(FIELD_INTERCEPTOR_HANDLER);
-            invocationHandlerField.setAccessible(true);
-            invocationHandlerField.set(proxy, interceptorDecoratorStack);
+        T proxy = newInstance(proxyClass);
+        PROXIED_INSTANCE.set(proxy, instance);
+        INTERCEPTOR_HANDLER.set(proxy, interceptorDecoratorStack);
+        return proxy;
+    }
 
-            return proxy;
+    /**
+     * @return the internal instance which gets proxied.
+     */
+    public <T> T unwrapInstance(T proxyInstance)
+    {
+        if (proxyInstance instanceof OwbInterceptorProxy)
+        {
+            return (T) PROXIED_INSTANCE.get(proxyInstance);
         }
-        catch (IllegalAccessException | NoSuchFieldException e)
+        else
         {
-            throw new ProxyGenerationException(e);
+            return proxyInstance;
         }
     }
 
     /**
      * @return the internal instance which gets proxied.
      */
-    public <T> T unwrapInstance(T proxyInstance)
+    public InterceptorHandler getInterceptorHandler(OwbInterceptorProxy proxyInstance)
+    {
+        return (InterceptorHandler) INTERCEPTOR_HANDLER.get(proxyInstance);
+    }
+
+    /**
+     * @return the intercepted methods of the proxy class, the index of a method is the one passed by the proxy
+     *         to {@link InterceptorHandler#invoke(int, Method, Object[])}
+     */
+    public Method[] getInterceptedMethods(Class<?> proxyClass)
     {
         try
         {
-            if (proxyInstance instanceof OwbInterceptorProxy)
-            {
-                Field internalInstanceField = proxyInstance.getClass().getDeclaredField(FIELD_PROXIED_INSTANCE);
-                internalInstanceField.setAccessible(true);
-                return (T) internalInstanceField.get(proxyInstance);
-            }
-            else
-            {
-                return proxyInstance;
-            }
+            Field interceptedMethodsField = proxyClass.getDeclaredField(FIELD_INTERCEPTED_METHODS);
+            interceptedMethodsField.setAccessible(true);
+            return (Method[]) interceptedMethodsField.get(null);
         }
         catch (Exception e)
         {
@@ -125,20 +133,50 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
     }
 
     /**
-     * @return the internal instance which gets proxied.
+     * @return an invoker for the {@link #isDirectlyInvokable(Method) directly invokable} intercepted methods
+     *         of the proxy class or {@code null} if the proxy class doesn't provide one, e.g. as it got archived by an older version
      */
-    public InterceptorHandler getInterceptorHandler(OwbInterceptorProxy proxyInstance)
+    public OwbInterceptedMethodInvoker getInterceptedMethodInvoker(Class<?> proxyClass)
     {
-        try
+        if (!OwbInterceptedMethodInvoker.class.isAssignableFrom(proxyClass))
         {
-            Field internalInstanceField = proxyInstance.getClass().getDeclaredField(FIELD_INTERCEPTOR_HANDLER);
-            internalInstanceField.setAccessible(true);
-            return (InterceptorHandler) internalInstanceField.get(proxyInstance);
+            return null;
         }
-        catch (Exception e)
+        // the invoker doesn't use the state of the proxy, so a single not initialised instance serves all the calls
+        return (OwbInterceptedMethodInvoker) newInstance(proxyClass);
+    }
+
+    /**
+     * Only public methods with public parameter types get invoked without reflection,
+     * the proxy class might not be in the same package (or classloader) as the intercepted class.
+     */
+    public static boolean isDirectlyInvokable(Method method)
+    {
+        if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers()))
         {
-            throw ExceptionUtil.throwAsRuntimeException(e);
+            return false;
         }
+        for (Class<?> parameterType : method.getParameterTypes())
+        {
+            if (!isPublicType(parameterType))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPublicType(Class<?> type)
+    {
+        if (type.isArray())
+        {
+            return isPublicType(type.getComponentType());
+        }
+        if (type.isPrimitive())
+        {
+            return true;
+        }
+        return Modifier.isPublic(type.getModifiers()) && (type.getEnclosingClass() == null || isPublicType(type.getEnclosingClass()));
     }
 
     /**
@@ -243,6 +281,12 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
         return OwbInterceptorProxy.class;
     }
 
+    @Override
+    protected Class<?>[] getAdditionalInterfaces()
+    {
+        return new Class<?>[]{OwbInterceptedMethodInvoker.class};
+    }
+
     @Override
     protected void createInstanceVariables(ClassWriter cw, Class<?> classToProxy, String classFileName)
     {
@@ -410,6 +454,123 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
             Method proxiedMethod = interceptedMethods[i];
             generateInterceptorHandledMethod(cw, proxiedMethod, i, classToProxy, proxyClassFileName);
         }
+        generateInterceptedMethodInvoker(cw, classToProxy, interceptedMethods);
+    }
+
+    /**
+     * Generates {@link OwbInterceptedMethodInvoker#invokeIntercepted(int, Object, Object[])}
+     * which calls the {@link #isDirectlyInvokable(Method) directly invokable} methods:
+     *
+     * <pre>
+     * switch (methodIndex)
+     * {
+     *     case {methodIndex}:
+     *         return [box](((classToProxy) target).method((paramType) parameters[0], ...));
+     *     ...
+     *     default:
+     *         throw new IllegalArgumentException();
+     * }
+     * </pre>
+     */
+    private void generateInterceptedMethodInvoker(ClassWriter cw, Class<?> classToProxy, Method[] interceptedMethods)
+    {
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "invokeIntercepted",
+                "(ILjava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;", null, new String[]{"java/lang/Exception"});
+        mv.visitCode();
+
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < interceptedMethods.length; i++)
+        {
+            if (isDirectlyInvokable(interceptedMethods[i]))
+            {
+                indices.add(i);
+            }
+        }
+        int[] keys = new int[indices.size()];
+        Label[] labels = new Label[indices.size()];
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = indices.get(i);
+            labels[i] = new Label();
+        }
+        Label defaultLabel = new Label();
+
+        mv.visitVarInsn(Opcodes.ILOAD, 1);
+        mv.visitLookupSwitchInsn(defaultLabel, keys, labels);
+
+        String owner = Type.getInternalName(classToProxy);
+        for (int i = 0; i < keys.length; i++)
+        {
+            Method method = interceptedMethods[keys[i]];
+            mv.visitLabel(labels[i]);
+
+            mv.visitVarInsn(Opcodes.ALOAD, 2);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, owner);
+
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            for (int p = 0; p < parameterTypes.length; p++)
+            {
+                mv.visitVarInsn(Opcodes.ALOAD, 3);
+                pushIntOntoStack(mv, p);
+                mv.visitInsn(Opcodes.AALOAD);
+
+                Class<?> parameterType = parameterTypes[p];
+                if (parameterType.isPrimitive())
+                {
+                    String wrapperType = getWrapperType(parameterType);
+                    mv.visitTypeInsn(Opcodes.CHECKCAST, wrapperType);
+                    mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapperType, getPrimitiveMethod(parameterType),
+                            "()" + Type.getDescriptor(parameterType), false);
+                }
+                else if (parameterType != Object.class)
+                {
+                    mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(parameterType));
+                }
+            }
+
+            boolean itf = classToProxy.isInterface();
+            mv.visitMethodInsn(itf ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL, owner, method.getName(),
+                    Type.getMethodDescriptor(method), itf);
+
+            Class<?> returnType = method.getReturnType();
+            if (Void.TYPE.equals(returnType))
+            {
+                mv.visitInsn(Opcodes.ACONST_NULL);
+            }
+            else if (returnType.isPrimitive())
+            {
+                String wrapperType = getWrapperType(returnType);
+                mv.visitMethodInsn(Opcodes.INVOKESTATIC, wrapperType, "valueOf",
+                        "(" + Type.getDescriptor(returnType) + ")L" + wrapperType + ";", false);
+            }
+            mv.visitInsn(Opcodes.ARETURN);
+        }
+
+        mv.visitLabel(defaultLabel);
+        mv.visitTypeInsn(Opcodes.NEW, "java/lang/IllegalArgumentException");
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/IllegalArgumentException", "<init>", "()V", false);
+        mv.visitInsn(Opcodes.ATHROW);
+
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private void pushMethodIndex(MethodVisitor mv, int methodIndex) throws ProxyGenerationException
+    {
+        if (methodIndex <128)
+        {
+            mv.visitIntInsn(Opcodes.BIPUSH, methodIndex);
+        }
+        else if (methodIndex < 32267)
+        {
+            // for methods > 127 we need to push a short number as index
+            mv.visitIntInsn(Opcodes.SIPUSH, methodIndex);
+        }
+        else
+        {
+            throw new ProxyGenerationException("Sorry, we only support Classes with 2^15 methods...");
+        }
     }
 
     private void generateInterceptorHandledMethod(ClassWriter cw, Method method, int methodIndex, Class<?> classToProxy, String proxyClassFileName)
@@ -453,43 +614,11 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
 
         // push try code
         mv.visitLabel(l0);
-        String classNameToOverride = method.getDeclaringClass().getName().replace('.', '/');
-        mv.visitLdcInsn(Type.getType("L" + classNameToOverride + ";"));
-
-        // the following code generates the bytecode for this line of Java:
-        // Method method = <proxy>.class.getMethod("add", new Class[] { <array of function argument classes> });
-
-        // get the method name to invoke, and push to stack
-        mv.visitLdcInsn(method.getName());
-
-        // create the Class[]
-        createArrayDefinition(mv, parameterTypes.length, Class.class);
 
+        // first free local variable, used for the caught exception
         int length = 1;
-
-        // push parameters into array
-        for (int i = 0; i < parameterTypes.length; i++)
+        for (Class<?> parameterType : parameterTypes)
         {
-            // keep copy of array on stack
-            mv.visitInsn(Opcodes.DUP);
-
-            Class<?> parameterType = parameterTypes[i];
-
-            // push number onto stack
-            pushIntOntoStack(mv, i);
-
-            if (parameterType.isPrimitive())
-            {
-                String wrapperType = getWrapperType(parameterType);
-                mv.visitFieldInsn(Opcodes.GETSTATIC, wrapperType, "TYPE", "Ljava/lang/Class;");
-            }
-            else
-            {
-                mv.visitLdcInsn(Type.getType(parameterType));
-            }
-
-            mv.visitInsn(Opcodes.AASTORE);
-
             if (Long.TYPE.equals(parameterType) || Double.TYPE.equals(parameterType))
             {
                 length += 2;
@@ -501,7 +630,7 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
         }
 
         // the following code generates bytecode equivalent to:
-        // return ((<returntype>) invocationHandler.invoke(this, {methodIndex}, new Object[] { <function arguments }))[.<primitive>Value()];
+        // return ((<returntype>) invocationHandler.invoke({methodIndex}, methods[{methodIndex}], new Object[] { <function arguments }))[.<primitive>Value()];
 
         Label l4 = new Label();
         mv.visitLabel(l4);
@@ -511,23 +640,12 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
         // get the invocationHandler field from this class
         mv.visitFieldInsn(Opcodes.GETFIELD, proxyClassFileName, FIELD_INTERCEPTOR_HANDLER, Type.getDescriptor(InterceptorHandler.class));
 
-        // add the Method from the static array as first parameter
-        mv.visitFieldInsn(Opcodes.GETSTATIC, proxyClassFileName, FIELD_INTERCEPTED_METHODS, Type.getDescriptor(Method[].class));
+        // the methodIndex as first parameter
+        pushMethodIndex(mv, methodIndex);
 
-        // push the methodIndex of the current method
-        if (methodIndex <128)
-        {
-            mv.visitIntInsn(Opcodes.BIPUSH, methodIndex);
-        }
-        else if (methodIndex < 32267)
-        {
-            // for methods > 127 we need to push a short number as index
-            mv.visitIntInsn(Opcodes.SIPUSH, methodIndex);
-        }
-        else
-        {
-            throw new ProxyGenerationException("Sorry, we only support Classes with 2^15 methods...");
-        }
+        // add the Method from the static array as second parameter
+        mv.visitFieldInsn(Opcodes.GETSTATIC, proxyClassFileName, FIELD_INTERCEPTED_METHODS, Type.getDescriptor(Method[].class));
+        pushMethodIndex(mv, methodIndex);
 
         // and now load the Method from the array
         mv.visitInsn(Opcodes.AALOAD);
@@ -539,7 +657,7 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
 
         // invoke the invocationHandler
         mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(InterceptorHandler.class), "invoke",
-                "(Ljava/lang/reflect/Method;[Ljava/lang/Object;)Ljava/lang/Object;", true);
+                "(ILjava/lang/reflect/Method;[Ljava/lang/Object;)Ljava/lang/Object;", true);
 
         // cast the result
         mv.visitTypeInsn(Opcodes.CHECKCAST, getCastType(returnType));
@@ -35,4 +35,16 @@ public interface InterceptorHandler
      * @return the return value of the intercepted methos
      */
     Object invoke(Method method, Object[] args);
+
+    /**
+     * Called by the generated proxies instead of {@link #invoke(Method, Object[])}.
+     * @param methodIndex index of the method in the intercepted methods of the proxy class
+     * @param method Method which should get invoked
+     * @param args original invocation parameters
+     * @return the return value of the intercepted methos
+     */
+    default Object invoke(int methodIndex, Method method, Object[] args)
+    {
+        return invoke(method, args);
+    }
 }
@@ -59,6 +59,8 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
     /** the Method[] for all protected methods. We need to invoke them via reflection. */
     public static final String FIELD_PROTECTED_METHODS = "owbProtectedMethods";
 
+    private static final ProxyField INSTANCE_PROVIDER = new ProxyField(FIELD_INSTANCE_PROVIDER);
+
     /**
      * Caches the proxy classes for each bean.
      * We need this to prevent filling up the ClassLoaders by
@@ -82,17 +84,8 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
     {
         if (proxyInstance instanceof OwbNormalScopeProxy)
         {
-            try
-            {
-                Field internalInstanceField = proxyInstance.getClass().getDeclaredField(FIELD_INSTANCE_PROVIDER);
-                internalInstanceField.setAccessible(true);
-                Provider<T> provider = (Provider<T>) internalInstanceField.get(proxyInstance);
-                return provider.get();
-            }
-            catch (Exception e)
-            {
-                throw ExceptionUtil.throwAsRuntimeException(e);
-            }
+            Provider<T> provider = (Provider<T>) INSTANCE_PROVIDER.get(proxyInstance);
+            return provider.get();
         }
 
         return proxyInstance;
@@ -103,16 +96,7 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
      */
     public Provider getInstanceProvider(OwbNormalScopeProxy proxyInstance)
     {
-        try
-        {
-            Field internalInstanceField = proxyInstance.getClass().getDeclaredField(FIELD_INSTANCE_PROVIDER);
-            internalInstanceField.setAccessible(true);
-            return (Provider) internalInstanceField.get(proxyInstance);
-        }
-        catch (Exception e)
-        {
-            throw ExceptionUtil.throwAsRuntimeException(e);
-        }
+        return (Provider) INSTANCE_PROVIDER.get(proxyInstance);
     }
 
     public <T> T createNormalScopeProxy(Bean<T> bean)
@@ -285,11 +269,7 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
         try
         {
             T proxy = newInstance(proxyClass);
-
-            Field delegateField = proxy.getClass().getDeclaredField(FIELD_INSTANCE_PROVIDER);
-            delegateField.setAccessible(true);
-            delegateField.set(proxy, provider);
-
+            INSTANCE_PROVIDER.set(proxy, provider);
             return proxy;
         }
         catch (Exception e)
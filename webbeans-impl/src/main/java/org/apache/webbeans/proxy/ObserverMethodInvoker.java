@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+/**
+ * <p>Direct call of a single observer method, generated by the {@link ObserverMethodInvokerFactory}.</p>
+ *
+ * <p>Exceptions thrown by the observer method are not wrapped.</p>
+ */
+public interface ObserverMethodInvoker
+{
+    /**
+     * @param instance the contextual instance, {@code null} for static observer methods
+     * @param args all the parameters of the observer method, including the event
+     */
+    void invoke(Object instance, Object[] args) throws Exception;
+
+    /**
+     * Shortcut for observer methods which only take the event, it doesn't need any parameter array.
+     *
+     * @param instance the contextual instance, {@code null} for static observer methods
+     * @param event the event payload
+     */
+    default void invokeWithEvent(Object instance, Object event) throws Exception
+    {
+        invoke(instance, new Object[]{event});
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.xbean.asm9.ClassWriter;
+import org.apache.xbean.asm9.MethodVisitor;
+import org.apache.xbean.asm9.Opcodes;
+import org.apache.xbean.asm9.Type;
+
+/**
+ * Generates an {@link ObserverMethodInvoker} per observer method
+ * which directly calls the method instead of going through reflection.
+ *
+ * The invoker gets defined in the package of the class declaring the observer method,
+ * this way package private and protected observer methods can be called as well.
+ */
+public class ObserverMethodInvokerFactory extends AbstractProxyFactory
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ObserverMethodInvokerFactory.class);
+
+    private static final String INVOKER_CLASS_NAME_SUFFIX = "$$OwbObserverInvoker$";
+
+    public ObserverMethodInvokerFactory(WebBeansContext webBeansContext)
+    {
+        super(webBeansContext);
+    }
+
+    @Override
+    protected Class<?> getMarkerInterface()
+    {
+        return ObserverMethodInvoker.class;
+    }
+
+    /**
+     * @param method the observer method
+     * @return the invoker for the given method or {@code null} if it can't be called without reflection
+     */
+    public synchronized ObserverMethodInvoker createInvoker(Method method)
+    {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (Modifier.isPrivate(method.getModifiers()) || declaringClass.getSigners() != null)
+        {
+            return null;
+        }
+
+        String invokerClassName = getInvokerClassName(method);
+        if (!invokerClassName.equals(fixPreservedPackages(invokerClassName)))
+        {
+            return null;
+        }
+
+        ClassLoader classLoader = getProxyClassLoader(declaringClass);
+        if (!isAccessible(method, classLoader))
+        {
+            return null;
+        }
+
+        try
+        {
+            Class<? extends ObserverMethodInvoker> invokerClass = tryToLoadClass(classLoader, invokerClassName);
+            if (invokerClass == null)
+            {
+                byte[] bytes = getArchivedBytecode(invokerClassName, declaringClass);
+                if (bytes == null)
+                {
+                    bytes = generateInvoker(invokerClassName.replace('.', '/'), method);
+                }
+                invokerClass = defineAndLoadClass(classLoader, invokerClassName, bytes, declaringClass);
+            }
+            return newInstance(invokerClass);
+        }
+        catch (RuntimeException | LinkageError e)
+        {
+            logger.log(Level.FINE, "Can't generate an invoker for " + method + ", using reflection", e);
+            return null;
+        }
+    }
+
+    private String getInvokerClassName(Method method)
+    {
+        // the descriptor hash distinguishes overloaded observer methods and keeps the name stable across restarts
+        return method.getDeclaringClass().getName() + INVOKER_CLASS_NAME_SUFFIX + method.getName() + '$' +
+                Integer.toHexString(Type.getMethodDescriptor(method).hashCode());
+    }
+
+    private Class<? extends ObserverMethodInvoker> tryToLoadClass(ClassLoader classLoader, String invokerClassName)
+    {
+        try
+        {
+            // e.g. a second container in the same classloader
+            return (Class<? extends ObserverMethodInvoker>) Class.forName(invokerClassName, true, classLoader);
+        }
+        catch (ClassNotFoundException cnfe)
+        {
+            // this means we need to generate that class
+            return null;
+        }
+    }
+
+    /**
+     * The invoker lives in the package of the declaring class, so anything not private is callable
+     * as long as it ends up in the same classloader. Otherwise we need public types all the way.
+     */
+    private boolean isAccessible(Method method, ClassLoader classLoader)
+    {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (classLoader == declaringClass.getClassLoader())
+        {
+            for (Class<?> parameterType : method.getParameterTypes())
+            {
+                if (!isPublic(parameterType) && !isSamePackage(parameterType, declaringClass))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        if (!Modifier.isPublic(method.getModifiers()) || !isPublic(declaringClass) || !isVisible(declaringClass, classLoader))
+        {
+            return false;
+        }
+        for (Class<?> parameterType : method.getParameterTypes())
+        {
+            if (!isPublic(parameterType))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isPublic(Class<?> type)
+    {
+        Class<?> current = type;
+        while (current.isArray())
+        {
+            current = current.getComponentType();
+        }
+        if (current.isPrimitive())
+        {
+            return true;
+        }
+        for (; current != null; current = current.getEnclosingClass())
+        {
+            if (!Modifier.isPublic(current.getModifiers()))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isSamePackage(Class<?> type, Class<?> declaringClass)
+    {
+        Class<?> current = type;
+        while (current.isArray())
+        {
+            current = current.getComponentType();
+        }
+        return current.getClassLoader() == declaringClass.getClassLoader() &&
+                getPackageName(current).equals(getPackageName(declaringClass));
+    }
+
+    private String getPackageName(Class<?> type)
+    {
+        String name = type.getName();
+        int lastDot = name.lastIndexOf('.');
+        return lastDot < 0 ? "" : name.substring(0, lastDot);
+    }
+
+    private boolean isVisible(Class<?> type, ClassLoader classLoader)
+    {
+        try
+        {
+            return Class.forName(type.getName(), false, classLoader) == type;
+        }
+        catch (ClassNotFoundException | LinkageError e)
+        {
+            return false;
+        }
+    }
+
+    private byte[] generateInvoker(String invokerClassFileName, Method method)
+    {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC + Opcodes.ACC_SUPER + Opcodes.ACC_SYNTHETIC + Opcodes.ACC_FINAL,
+                invokerClassFileName, null, Type.getInternalName(Object.class), new String[]{Type.getInternalName(ObserverMethodInvoker.class)});
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(Object.class), "<init>", "()V", false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+
+        Class<?>[] parameterTypes = method.getParameterTypes();
+
+        // invoke(Object instance, Object[] args)
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "invoke",
+                Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Object.class), Type.getType(Object[].class)),
+                null, new String[]{Type.getInternalName(Exception.class)});
+        mv.visitCode();
+        loadInstance(mv, method);
+        for (int i = 0; i < parameterTypes.length; i++)
+        {
+            mv.visitVarInsn(Opcodes.ALOAD, 2);
+            pushIntOntoStack(mv, i);
+            mv.visitInsn(Opcodes.AALOAD);
+            castParameter(mv, parameterTypes[i]);
+        }
+        invokeObserverMethod(mv, method);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+
+        if (parameterTypes.length == 1)
+        {
+            // invokeWithEvent(Object instance, Object event), no array needed
+            mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "invokeWithEvent",
+                    Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Object.class), Type.getType(Object.class)),
+                    null, new String[]{Type.getInternalName(Exception.class)});
+            mv.visitCode();
+            loadInstance(mv, method);
+            mv.visitVarInsn(Opcodes.ALOAD, 2);
+            castParameter(mv, parameterTypes[0]);
+            invokeObserverMethod(mv, method);
+            mv.visitMaxs(-1, -1);
+            mv.visitEnd();
+        }
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private void loadInstance(MethodVisitor mv, Method method)
+    {
+        if (!Modifier.isStatic(method.getModifiers()))
+        {
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(method.getDeclaringClass()));
+        }
+    }
+
+    private void castParameter(MethodVisitor mv, Class<?> parameterType)
+    {
+        if (parameterType.isPrimitive())
+        {
+            String wrapperType = getWrapperType(parameterType);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, wrapperType);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapperType, getPrimitiveMethod(parameterType),
+                    "()" + Type.getDescriptor(parameterType), false);
+        }
+        else if (parameterType != Object.class)
+        {
+            mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(parameterType));
+        }
+    }
+
+    private void invokeObserverMethod(MethodVisitor mv, Method method)
+    {
+        Class<?> declaringClass = method.getDeclaringClass();
+        boolean isInterface = declaringClass.isInterface();
+        int opcode;
+        if (Modifier.isStatic(method.getModifiers()))
+        {
+            opcode = Opcodes.INVOKESTATIC;
+        }
+        else
+        {
+            opcode = isInterface ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL;
+        }
+        mv.visitMethodInsn(opcode, Type.getInternalName(declaringClass), method.getName(), Type.getMethodDescriptor(method), isInterface);
+
+        Class<?> returnType = method.getReturnType();
+        if (returnType == long.class || returnType == double.class)
+        {
+            mv.visitInsn(Opcodes.POP2);
+        }
+        else if (returnType != void.class)
+        {
+            mv.visitInsn(Opcodes.POP);
+        }
+        mv.visitInsn(Opcodes.RETURN);
+    }
+
+    @Override
+    protected void createInstanceVariables(ClassWriter cw, Class<?> classToProxy, String classFileName)
+    {
+        // invokers are no proxies
+    }
+
+    @Override
+    protected void createSerialisation(ClassWriter cw, String proxyClassFileName, Class<?> classToProxy, String classFileName)
+    {
+        // invokers are no proxies
+    }
+
+    @Override
+    protected void createConstructor(ClassWriter cw, String proxyClassFileName, Class<?> classToProxy, String classFileName,
+                                     Constructor<?> injectConstructor)
+    {
+        // invokers are no proxies
+    }
+
+    @Override
+    protected void delegateInterceptedMethods(ClassLoader classLoader, ClassWriter cw, String proxyClassFileName, Class<?> classToProxy,
+                                              Method[] interceptedMethods)
+    {
+        // invokers are no proxies
+    }
+
+    @Override
+    protected void delegateNonInterceptedMethods(ClassLoader classLoader, ClassWriter cw, String proxyClassFileName, Class<?> classToProxy,
+                                                 Method[] noninterceptedMethods)
+    {
+        // invokers are no proxies
+    }
+}
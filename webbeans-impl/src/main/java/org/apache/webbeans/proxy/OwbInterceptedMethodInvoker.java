@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+/**
+ * Implemented by the generated Interceptor+Decorator proxies
+ * to invoke the intercepted methods of the proxied class without reflection.
+ */
+public interface OwbInterceptedMethodInvoker
+{
+    /**
+     * Invokes the method of the given index in the intercepted methods of the proxy class.
+     * Only the methods for which {@link InterceptorDecoratorProxyFactory#isDirectlyInvokable(java.lang.reflect.Method)}
+     * is {@code true} can get invoked.
+     *
+     * @param methodIndex index of the method in the intercepted methods of the proxy class
+     * @param target the instance to invoke the method on
+     * @param parameters the parameters of the method
+     * @return the return value of the method, boxed for primitives, {@code null} for void methods
+     */
+    Object invokeIntercepted(int methodIndex, Object target, Object[] parameters) throws Exception;
+}
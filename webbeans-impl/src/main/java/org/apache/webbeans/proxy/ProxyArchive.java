@@ -0,0 +1,368 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.util.WebBeansUtil;
+
+/**
+ * Proxy classes generated at build time by {@link ProxyArchiveGenerator}.
+ *
+ * The archive consists of an index {@value #INDEX} listing the proxy class names
+ * with a hash of the proxy bytecode and of the bytecode of the proxied class hierarchy,
+ * and one {@code <proxy class name>.proxy} resource per proxy containing its bytecode.
+ * An entry only gets used if the hash still matches, i.e. if the proxied classes, their super classes
+ * and interfaces did not change since the archive got generated. Otherwise the proxy gets generated as usual.
+ * An index written by another OpenWebBeans version or proxy generator gets ignored as a whole.
+ *
+ * There is one archive per {@link WebBeansContext}, shared by all the proxy factories.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#PROXY_ARCHIVE
+ */
+public final class ProxyArchive
+{
+    public static final String LOCATION = "META-INF/openwebbeans/proxies/";
+    public static final String INDEX = LOCATION + "index.properties";
+
+    /**
+     * index entry with the {@link #getGeneratorVersion() version of the generator}, not a valid class name
+     */
+    static final String GENERATOR_KEY = "@generator";
+
+    private static final String EXTENSION = ".proxy";
+
+    /**
+     * the classes which define the layout of the generated proxies
+     */
+    private static final Class<?>[] GENERATOR_CLASSES =
+    {
+        AbstractProxyFactory.class, NormalScopeProxyFactory.class, InterceptorDecoratorProxyFactory.class,
+        SubclassProxyFactory.class, ObserverMethodInvokerFactory.class
+    };
+
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ProxyArchive.class);
+
+    /**
+     * the newest class file version the running JVM can load
+     */
+    private static final int MAX_CLASS_VERSION = (int) Double.parseDouble(System.getProperty("java.class.version"));
+
+    private static volatile String generatorVersion;
+
+    private final ClassLoader loader;
+
+    /**
+     * proxy class name -> expected hash
+     */
+    private final Map<String, String> hashes;
+
+    /**
+     * digests of the proxied classes and their hierarchy, they are shared by many proxies
+     */
+    private final Map<Class<?>, byte[]> classDigests = new ConcurrentHashMap<>();
+
+    /**
+     * Reads the archive visible to the class loader of the application, see {@link WebBeansContext#get(Class)}.
+     */
+    public ProxyArchive(WebBeansContext webBeansContext)
+    {
+        this(WebBeansUtil.getCurrentClassLoader());
+    }
+
+    private ProxyArchive(ClassLoader loader)
+    {
+        this.loader = loader;
+        this.hashes = readIndices(loader);
+    }
+
+    /**
+     * @return the archive merged from all indices visible to the given loader, {@code null} if there is none
+     */
+    public static ProxyArchive load(ClassLoader loader)
+    {
+        ProxyArchive archive = new ProxyArchive(loader);
+        return archive.isEmpty() ? null : archive;
+    }
+
+    /**
+     * @return whether there are no archived proxies at all
+     */
+    public boolean isEmpty()
+    {
+        return hashes.isEmpty();
+    }
+
+    private static Map<String, String> readIndices(ClassLoader loader)
+    {
+        Map<String, String> hashes = new HashMap<>();
+        try
+        {
+            Enumeration<URL> indices = loader.getResources(INDEX);
+            while (indices.hasMoreElements())
+            {
+                URL index = indices.nextElement();
+                Properties properties = new Properties();
+                try (InputStream stream = index.openStream())
+                {
+                    properties.load(stream);
+                }
+                if (!getGeneratorVersion().equals(properties.getProperty(GENERATOR_KEY)))
+                {
+                    logger.info("The proxy archive " + index + " got generated by another OpenWebBeans version, ignoring it");
+                    continue;
+                }
+                for (String name : properties.stringPropertyNames())
+                {
+                    if (!GENERATOR_KEY.equals(name))
+                    {
+                        hashes.putIfAbsent(name, properties.getProperty(name));
+                    }
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Can't read the proxy archive, proxies will get generated", e);
+            return Collections.emptyMap();
+        }
+        return hashes;
+    }
+
+    /**
+     * @return the archived bytecode of the given class or {@code null} if it is not archived or outdated
+     */
+    public byte[] getBytecode(String className, Class<?> proxiedClass)
+    {
+        String expectedHash = hashes.get(className);
+        if (expectedHash == null)
+        {
+            return null;
+        }
+
+        try (InputStream stream = loader.getResourceAsStream(LOCATION + className + EXTENSION))
+        {
+            if (stream == null)
+            {
+                return null;
+            }
+            byte[] bytecode = read(stream);
+            if (getClassVersion(bytecode) > MAX_CLASS_VERSION)
+            {
+                logger.fine(() -> "Archived proxy " + className + " got generated for a newer JVM, regenerating it");
+                return null;
+            }
+            if (!expectedHash.equals(hash(bytecode, proxiedClass, classDigests)))
+            {
+                logger.fine(() -> "Archived proxy " + className + " is outdated, regenerating it");
+                return null;
+            }
+            return bytecode;
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.FINE, "Can't read archived proxy " + className, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the major version of the given class file, see the class file format
+     */
+    static int getClassVersion(byte[] bytecode)
+    {
+        return bytecode.length < 8 ? Integer.MAX_VALUE : ((bytecode[6] & 0xFF) << 8) | (bytecode[7] & 0xFF);
+    }
+
+    /**
+     * Writes the given classes as a proxy archive below the given root directory.
+     *
+     * @param root the directory to write the archive to, usually the build output directory
+     * @param bytecodes proxy class name -> bytecode
+     * @param proxiedClasses proxy class name -> the class it got generated for
+     */
+    public static void write(File root, Map<String, byte[]> bytecodes, Map<String, Class<?>> proxiedClasses)
+            throws IOException
+    {
+        File directory = new File(root, LOCATION);
+        if (!directory.isDirectory() && !directory.mkdirs())
+        {
+            throw new IOException("Can't create " + directory);
+        }
+
+        Map<Class<?>, byte[]> classDigests = new HashMap<>();
+        Map<String, String> index = new TreeMap<>();
+        for (Map.Entry<String, byte[]> proxy : bytecodes.entrySet())
+        {
+            String name = proxy.getKey().replace('/', '.');
+            Class<?> proxiedClass = proxiedClasses.get(proxy.getKey());
+            if (proxiedClass == null)
+            {
+                continue;
+            }
+            Files.write(new File(directory, name + EXTENSION).toPath(), proxy.getValue());
+            index.put(name, hash(proxy.getValue(), proxiedClass, classDigests));
+        }
+
+        // sorted and without date comment to keep the build reproducible
+        try (Writer writer = Files.newBufferedWriter(new File(root, INDEX).toPath(), StandardCharsets.ISO_8859_1))
+        {
+            writer.write(GENERATOR_KEY + '=' + getGeneratorVersion() + '\n');
+            for (Map.Entry<String, String> entry : index.entrySet())
+            {
+                writer.write(entry.getKey() + '=' + entry.getValue() + '\n');
+            }
+        }
+    }
+
+    /**
+     * @return the implementation version of OpenWebBeans together with a hash of the proxy generators,
+     *         so snapshot builds with another proxy layout don't match either
+     */
+    static String getGeneratorVersion() throws IOException
+    {
+        String version = generatorVersion;
+        if (version == null)
+        {
+            MessageDigest digest = newDigest();
+            for (Class<?> generatorClass : GENERATOR_CLASSES)
+            {
+                digest.update(readClass(generatorClass));
+            }
+            String implementationVersion = ProxyArchive.class.getPackage() != null
+                    ? ProxyArchive.class.getPackage().getImplementationVersion() : null;
+            version = (implementationVersion != null ? implementationVersion : "unknown") + '-' + toHex(digest.digest());
+            generatorVersion = version;
+        }
+        return version;
+    }
+
+    /**
+     * @param classDigests digests of already hashed classes, filled with the ones of the given hierarchy
+     */
+    static String hash(byte[] bytecode, Class<?> proxiedClass, Map<Class<?>, byte[]> classDigests) throws IOException
+    {
+        MessageDigest digest = newDigest();
+        digest.update(bytecode);
+        for (Class<?> current : getHierarchy(proxiedClass))
+        {
+            byte[] classDigest = classDigests.get(current);
+            if (classDigest == null)
+            {
+                MessageDigest single = newDigest();
+                single.update(readClass(current));
+                classDigest = single.digest();
+                classDigests.put(current, classDigest);
+            }
+            digest.update(classDigest);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * @return the given class, its super classes and all their interfaces in a stable order, without the JVM classes
+     */
+    private static Set<Class<?>> getHierarchy(Class<?> proxiedClass)
+    {
+        Set<Class<?>> hierarchy = new LinkedHashSet<>();
+        Deque<Class<?>> toVisit = new ArrayDeque<>();
+        toVisit.add(proxiedClass);
+        while (!toVisit.isEmpty())
+        {
+            Class<?> current = toVisit.poll();
+            if (current == Object.class || current.getClassLoader() == null || !hierarchy.add(current))
+            {
+                continue; // JVM classes only change with the JVM
+            }
+            if (current.getSuperclass() != null)
+            {
+                toVisit.add(current.getSuperclass());
+            }
+            Collections.addAll(toVisit, current.getInterfaces());
+        }
+        return hierarchy;
+    }
+
+    private static byte[] readClass(Class<?> clazz) throws IOException
+    {
+        try (InputStream stream = clazz.getClassLoader().getResourceAsStream(clazz.getName().replace('.', '/') + ".class"))
+        {
+            return stream == null ? new byte[0] : read(stream);
+        }
+    }
+
+    private static MessageDigest newDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new WebBeansException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes)
+    {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes)
+        {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static byte[] read(InputStream stream) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = stream.read(buffer)) >= 0)
+        {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
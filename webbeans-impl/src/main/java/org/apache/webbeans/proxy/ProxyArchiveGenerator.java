@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.config.WebBeansFinder;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.corespi.DefaultSingletonService;
+import org.apache.webbeans.lifecycle.StandaloneLifeCycle;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.service.ClassLoaderProxyService;
+import org.apache.webbeans.spi.DefiningClassService;
+import org.apache.webbeans.util.WebBeansUtil;
+
+/**
+ * Build time companion of {@link ProxyArchive}.
+ *
+ * It boots the container on the current classpath, generates the proxies of all beans
+ * (normal scope proxies are otherwise only generated on first use) and writes them as a proxy archive.
+ * It is meant to be run after the compilation, e.g. with the exec-maven-plugin:
+ *
+ * <pre>
+ * java -cp &lt;application classpath&gt; org.apache.webbeans.proxy.ProxyArchiveGenerator target/classes
+ * </pre>
+ *
+ * There is no dedicated Maven plugin goal, builds have to call this main class.
+ * The configuration documentation of webbeans-spi shows the exec-maven-plugin profile doing it.
+ * The application then has to run with {@link OpenWebBeansConfiguration#PROXY_ARCHIVE} enabled.
+ */
+public final class ProxyArchiveGenerator
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ProxyArchiveGenerator.class);
+
+    private ProxyArchiveGenerator()
+    {
+        // utility class
+    }
+
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length != 1)
+        {
+            throw new IllegalArgumentException("Usage: " + ProxyArchiveGenerator.class.getName() + " <output directory>");
+        }
+        int count = generate(new File(args[0]), new Properties());
+        logger.info("Wrote " + count + " proxies to " + new File(args[0], ProxyArchive.LOCATION));
+    }
+
+    /**
+     * @param root the directory to write the archive to
+     * @param configuration additional openwebbeans.properties entries for the container booted to generate the proxies
+     * @return the number of archived proxies
+     */
+    public static int generate(File root, Properties configuration) throws IOException
+    {
+        Properties properties = new Properties();
+        properties.putAll(configuration);
+        properties.setProperty(OpenWebBeansConfiguration.PROXY_ARCHIVE, "true");
+        properties.setProperty(DefiningClassService.class.getName(), ClassLoaderProxyService.Spy.class.getName());
+
+        ClassLoader loader = WebBeansUtil.getCurrentClassLoader();
+        WebBeansContext webBeansContext = new WebBeansContext(null, properties);
+        DefaultSingletonService.class.cast(WebBeansFinder.getSingletonService()).register(loader, webBeansContext);
+
+        StandaloneLifeCycle lifecycle = new StandaloneLifeCycle();
+        lifecycle.startApplication(null);
+        try
+        {
+            createNormalScopeProxies(webBeansContext);
+
+            ClassLoaderProxyService.Spy spy =
+                    ClassLoaderProxyService.Spy.class.cast(webBeansContext.getService(DefiningClassService.class));
+            ProxyArchive.write(root, spy.getProxies(), spy.getProxiedClasses());
+            return spy.getProxies().size();
+        }
+        finally
+        {
+            lifecycle.stopApplication(null);
+            WebBeansFinder.clearInstances(loader);
+        }
+    }
+
+    private static void createNormalScopeProxies(WebBeansContext webBeansContext)
+    {
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        NormalScopeProxyFactory proxyFactory = webBeansContext.getNormalScopeProxyFactory();
+        for (Bean<?> bean : beanManager.getBeans())
+        {
+            if (!beanManager.isNormalScope(bean.getScope()))
+            {
+                continue;
+            }
+            try
+            {
+                proxyFactory.createNormalScopeProxy(bean);
+            }
+            catch (RuntimeException e)
+            {
+                // such a bean just gets its proxy generated at runtime
+                logger.log(Level.FINE, "Can't generate the proxy of " + bean, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import org.apache.webbeans.util.ExceptionUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * An instance field of the generated proxy classes.
+ * It gets read and written through {@link MethodHandle}s which are looked up once per proxy class,
+ * instead of looking up and opening the {@link Field} again for every proxy instance.
+ */
+final class ProxyField
+{
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final ClassValue<MethodHandle> getters = new ClassValue<MethodHandle>()
+    {
+        @Override
+        protected MethodHandle computeValue(Class<?> proxyClass)
+        {
+            try
+            {
+                return MethodHandles.lookup().unreflectGetter(field(proxyClass)).asType(GETTER_TYPE);
+            }
+            catch (ReflectiveOperationException e)
+            {
+                throw ExceptionUtil.throwAsRuntimeException(e);
+            }
+        }
+    };
+
+    private final ClassValue<MethodHandle> setters = new ClassValue<MethodHandle>()
+    {
+        @Override
+        protected MethodHandle computeValue(Class<?> proxyClass)
+        {
+            try
+            {
+                return MethodHandles.lookup().unreflectSetter(field(proxyClass)).asType(SETTER_TYPE);
+            }
+            catch (ReflectiveOperationException e)
+            {
+                throw ExceptionUtil.throwAsRuntimeException(e);
+            }
+        }
+    };
+
+    private final String name;
+
+    ProxyField(String name)
+    {
+        this.name = name;
+    }
+
+    Object get(Object proxy)
+    {
+        try
+        {
+            return getters.get(proxy.getClass()).invokeExact(proxy);
+        }
+        catch (Throwable e)
+        {
+            throw ExceptionUtil.throwAsRuntimeException(e);
+        }
+    }
+
+    void set(Object proxy, Object value)
+    {
+        try
+        {
+            setters.get(proxy.getClass()).invokeExact(proxy, value);
+        }
+        catch (Throwable e)
+        {
+            throw ExceptionUtil.throwAsRuntimeException(e);
+        }
+    }
+
+    private Field field(Class<?> proxyClass) throws NoSuchFieldException
+    {
+        Field field = proxyClass.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+}
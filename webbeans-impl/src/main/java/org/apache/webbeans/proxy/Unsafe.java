@@ -18,7 +18,9 @@
  */
 package org.apache.webbeans.proxy;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -45,6 +47,7 @@ public class Unsafe
     private final Object unsafe;
     private final Object internalUnsafe;
     private Method unsafeAllocateInstance;
+    private MethodHandle allocateInstance;
     private final AtomicReference<Method> unsafeDefineClass = new AtomicReference<>();
 
     // defineClass method on ClassLoader
@@ -100,6 +103,19 @@ public class Unsafe
                     return null; // use newInstance()
                 }
             });
+            if (unsafeAllocateInstance != null)
+            {
+                try
+                {
+                    // bound once, cheaper than Method#invoke for every proxy instance
+                    allocateInstance = MethodHandles.lookup().unreflect(unsafeAllocateInstance).bindTo(unsafe)
+                            .asType(MethodType.methodType(Object.class, Class.class));
+                }
+                catch (IllegalAccessException e)
+                {
+                    // keep using the reflective call
+                }
+            }
 
             try {
                 final Class<?> rootLoaderClass = Class.forName("java.lang.ClassLoader");
@@ -385,6 +401,18 @@ public class Unsafe
 
     public <T> T unsafeNewInstance(Class<T> clazz)
     {
+        if (allocateInstance != null)
+        {
+            try
+            {
+                Object instance = allocateInstance.invokeExact((Class<?>) clazz);
+                return (T) instance;
+            }
+            catch (Throwable e)
+            {
+                throw new IllegalStateException("Failed to allocateInstance of Proxy class " + clazz.getName(), e);
+            }
+        }
         try
         {
             if (unsafeAllocateInstance != null)
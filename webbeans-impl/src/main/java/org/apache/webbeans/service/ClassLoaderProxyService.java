@@ -73,10 +73,11 @@ public class ClassLoaderProxyService implements DefiningClassService, Instantiat
         }
     }
 
-    // for build tools - @Experimental
+    // for build tools, see org.apache.webbeans.proxy.ProxyArchiveGenerator
     public static class Spy extends ClassLoaderProxyService
     {
         private final Map<String, byte[]> proxies = new HashMap<>();
+        private final Map<String, Class<?>> proxiedClasses = new HashMap<>();
 
         public Spy(final WebBeansContext context)
         {
@@ -88,15 +89,21 @@ public class ClassLoaderProxyService implements DefiningClassService, Instantiat
             return proxies;
         }
 
+        public Map<String, Class<?>> getProxiedClasses()
+        {
+            return proxiedClasses;
+        }
+
         @Override
         public <T> Class<T> defineAndLoad(final String name, final byte[] bytecode, final Class<T> proxiedClass)
         {
             proxies.put(name, bytecode);
+            proxiedClasses.put(name, proxiedClass);
             return super.defineAndLoad(name, bytecode, proxiedClass);
         }
     }
 
-    // runtime companion of Spy - @Experimental
+    // runtime companion of Spy when the proxies got written as classes
     public static class LoadFirst extends ClassLoaderProxyService
     {
         public LoadFirst(final WebBeansContext context)
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.util;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.webbeans.config.OwbGenericArrayTypeImpl;
+import org.apache.webbeans.config.OwbParametrizedTypeImpl;
+import org.apache.webbeans.config.OwbWildcardTypeImpl;
+
+/**
+ * Remembers the results of the generic type checks of {@link GenericsUtil} for a container,
+ * as the same required and bean types get checked over and over again,
+ * during the deployment as well as for each {@code BeanManager#getReference} or event.
+ *
+ * Only the checks of types with value based equality get remembered, i.e. classes and the generic types
+ * created by the JVM or by OpenWebBeans, and only those which need more than comparing two classes.
+ * The results depend on the types only, so they never get invalid.
+ */
+public final class AssignabilityCache
+{
+    /**
+     * beyond that the new checks just don't get remembered anymore
+     */
+    private static final int MAX_SIZE = 16384;
+
+    private static final int SATISFIES_DEPENDENCY = 0;
+    private static final int SATISFIES_DEPENDENCY_RAW = 1;
+    private static final int IS_ASSIGNABLE_FROM = 2;
+
+    private final ConcurrentMap<Key, Boolean> results = new ConcurrentHashMap<>();
+
+    /**
+     * @see GenericsUtil#satisfiesDependency(boolean, boolean, Type, Type)
+     */
+    public boolean satisfiesDependency(boolean isDelegateOrEvent, boolean isProducer, Type injectionPointType, Type beanType)
+    {
+        if (!isCacheable(injectionPointType, beanType) || !isSameRawType(injectionPointType, beanType))
+        {
+            return GenericsUtil.satisfiesDependency(isDelegateOrEvent, isProducer, injectionPointType, beanType);
+        }
+
+        Key key = new Key(SATISFIES_DEPENDENCY, isDelegateOrEvent, isProducer, injectionPointType, beanType);
+        Boolean result = results.get(key);
+        if (result == null)
+        {
+            result = GenericsUtil.satisfiesDependency(isDelegateOrEvent, isProducer, injectionPointType, beanType);
+            remember(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @see GenericsUtil#satisfiesDependencyRaw(boolean, boolean, Type, Type)
+     */
+    public boolean satisfiesDependencyRaw(boolean isDelegateOrEvent, boolean isProducer, Type injectionPointType, Type beanType)
+    {
+        if (!isCacheable(injectionPointType, beanType))
+        {
+            return GenericsUtil.satisfiesDependencyRaw(isDelegateOrEvent, isProducer, injectionPointType, beanType);
+        }
+
+        Key key = new Key(SATISFIES_DEPENDENCY_RAW, isDelegateOrEvent, isProducer, injectionPointType, beanType);
+        Boolean result = results.get(key);
+        if (result == null)
+        {
+            result = GenericsUtil.satisfiesDependencyRaw(isDelegateOrEvent, isProducer, injectionPointType, beanType);
+            remember(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @see GenericsUtil#isAssignableFrom(boolean, boolean, Type, Type)
+     */
+    public boolean isAssignableFrom(boolean isDelegateOrEvent, boolean isProducer, Type requiredType, Type beanType)
+    {
+        if (!isCacheable(requiredType, beanType))
+        {
+            return GenericsUtil.isAssignableFrom(isDelegateOrEvent, isProducer, requiredType, beanType);
+        }
+
+        Key key = new Key(IS_ASSIGNABLE_FROM, isDelegateOrEvent, isProducer, requiredType, beanType);
+        Boolean result = results.get(key);
+        if (result == null)
+        {
+            result = GenericsUtil.isAssignableFrom(isDelegateOrEvent, isProducer, requiredType, beanType);
+            remember(key, result);
+        }
+        return result;
+    }
+
+    public int size()
+    {
+        return results.size();
+    }
+
+    public void clear()
+    {
+        results.clear();
+    }
+
+    private void remember(Key key, Boolean result)
+    {
+        if (results.size() < MAX_SIZE)
+        {
+            results.putIfAbsent(key, result);
+        }
+    }
+
+    /**
+     * Two classes get compared faster than they get looked up.
+     */
+    private static boolean isCacheable(Type requiredType, Type beanType)
+    {
+        return !(requiredType instanceof Class && beanType instanceof Class) && hasValueEquality(requiredType) && hasValueEquality(beanType);
+    }
+
+    /**
+     * Types with different raw types never satisfy a dependency and get rejected right away.
+     */
+    private static boolean isSameRawType(Type injectionPointType, Type beanType)
+    {
+        if (beanType instanceof TypeVariable || beanType instanceof WildcardType || beanType instanceof GenericArrayType)
+        {
+            return true;
+        }
+        Type injectionPointRawType = injectionPointType instanceof ParameterizedType ? ((ParameterizedType) injectionPointType).getRawType() : injectionPointType;
+        Type beanRawType = beanType instanceof ParameterizedType ? ((ParameterizedType) beanType).getRawType() : beanType;
+        return ClassUtil.isSame(injectionPointRawType, beanRawType);
+    }
+
+    private static boolean hasValueEquality(Type type)
+    {
+        if (type instanceof Class)
+        {
+            return true;
+        }
+        Class<?> typeClass = type.getClass();
+        return typeClass == OwbParametrizedTypeImpl.class || typeClass == OwbWildcardTypeImpl.class || typeClass == OwbGenericArrayTypeImpl.class
+                || typeClass.getName().startsWith("sun.reflect.generics.reflectiveObjects.");
+    }
+
+    private static final class Key
+    {
+        private final int flags;
+        private final Type requiredType;
+        private final Type beanType;
+        private final int hashCode;
+
+        private Key(int check, boolean isDelegateOrEvent, boolean isProducer, Type requiredType, Type beanType)
+        {
+            this.flags = check << 2 | (isDelegateOrEvent ? 2 : 0) | (isProducer ? 1 : 0);
+            this.requiredType = requiredType;
+            this.beanType = beanType;
+            this.hashCode = 31 * (31 * flags + requiredType.hashCode()) + beanType.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof Key))
+            {
+                return false;
+            }
+            Key key = (Key) o;
+            return flags == key.flags && hashCode == key.hashCode && requiredType.equals(key.requiredType) && beanType.equals(key.beanType);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+}
@@ -31,6 +31,7 @@ import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +50,18 @@ public final class GenericsUtil
 
     private static final int MAX_GENERIC_LOOPS = 4; // todo: config? it is already crazy :s
 
+    /**
+     * Same as {@link #satisfiesDependency(boolean, boolean, Type, Type, Map)},
+     * the map to detect recursive types only gets created once a recursive type gets checked.
+     */
+    public static boolean satisfiesDependency(boolean isDelegateOrEvent, boolean isProducer, Type injectionPointType, Type beanType)
+    {
+        return satisfiesDependency(isDelegateOrEvent, isProducer, injectionPointType, beanType, null);
+    }
+
+    /**
+     * @param visited the types already visited to detect recursive types, {@code null} to create it when needed
+     */
     public static boolean satisfiesDependency(boolean isDelegateOrEvent, boolean isProducer, Type injectionPointType, Type beanType,
                                               Map<Type, Integer> visited)
     {
@@ -70,6 +83,15 @@ public final class GenericsUtil
         return false;
     }
 
+    /**
+     * Same as {@link #satisfiesDependencyRaw(boolean, boolean, Type, Type, Map)},
+     * the map to detect recursive types only gets created once a recursive type gets checked.
+     */
+    public static boolean satisfiesDependencyRaw(boolean isDelegateOrEvent, boolean isProducer, Type injectionPointType, Type beanType)
+    {
+        return satisfiesDependencyRaw(isDelegateOrEvent, isProducer, injectionPointType, beanType, null);
+    }
+
     public static boolean satisfiesDependencyRaw(boolean isDelegateOrEvent, boolean isProducer, Type injectionPointType, Type beanType,
                                                  Map<Type, Integer> visited)
     {
@@ -113,8 +135,18 @@ public final class GenericsUtil
         return false;
     }
 
+    /**
+     * Same as {@link #isAssignableFrom(boolean, boolean, Type, Type, Map)},
+     * the map to detect recursive types only gets created once a recursive type gets checked.
+     */
+    public static boolean isAssignableFrom(boolean isDelegateOrEvent, boolean isProducer, Type requiredType, Type beanType)
+    {
+        return isAssignableFrom(isDelegateOrEvent, isProducer, requiredType, beanType, null);
+    }
+
     /**
      * 5.2.3 and 5.2.4
+     * @param visited the types already visited to detect recursive types, {@code null} to create it when needed
      */
     public static boolean isAssignableFrom(boolean isDelegateOrEvent, boolean isProducer, Type requiredType, Type beanType,
                                            Map<Type, Integer> visited)
@@ -240,6 +272,10 @@ public final class GenericsUtil
     private static boolean isAssignableFrom(boolean isDelegateOrEvent, Type injectionPointType, WildcardType beanType,
                                             Map<Type, Integer> visited)
     {
+        if (visited == null)
+        {
+            visited = new HashMap<>();
+        }
         if (isGenericLoop(beanType, visited))
         {
             return false;
@@ -415,6 +451,10 @@ public final class GenericsUtil
     private static boolean isAssignableFrom(boolean isDelegateOrEvent, TypeVariable<?> injectionPointType, Type beanType,
                                             Map<Type, Integer> visited)
     {
+        if (visited == null)
+        {
+            visited = new HashMap<>();
+        }
         if (isGenericLoop(beanType, visited))
         {
             return false; // looping type so not resolvable
@@ -33,7 +33,11 @@ public class PriorityClasses
      * value: the priority. Alternatives from beans.xml have -1 as they are lowest prio.
      */
     private final List<PriorityClass> raw = new ArrayList<>();
-    private List<Class<?>> sorted;
+
+    /**
+     * built lazily, also by the threads preparing the deployment in parallel
+     */
+    private volatile List<Class<?>> sorted;
 
     public OptionalInt getPriority(final Class<?> type)
     {
@@ -61,20 +65,29 @@ public class PriorityClasses
 
     public List<Class<?>> getSorted()
     {
-        if (sorted == null)
+        List<Class<?>> result = sorted;
+        if (result == null)
         {
-            Collections.sort(raw);
+            synchronized (this)
+            {
+                result = sorted;
+                if (result == null)
+                {
+                    Collections.sort(raw);
 
-            sorted = new ArrayList<>(raw.size());
+                    result = new ArrayList<>(raw.size());
 
-            for (PriorityClass priorityAlternative : raw)
-            {
-                // add in reverse order
-                sorted.add(priorityAlternative.getClazz());
+                    for (PriorityClass priorityAlternative : raw)
+                    {
+                        // add in reverse order
+                        result.add(priorityAlternative.getClazz());
+                    }
+                    sorted = result;
+                }
             }
         }
 
-        return sorted;
+        return result;
     }
 
     public boolean contains(Class<?> beanType)
@@ -150,7 +150,6 @@ import java.lang.reflect.WildcardType;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -1464,8 +1463,8 @@ public final class WebBeansUtil
                     rawType.equals(Interceptor.class))
                 {
                     Type[] types = ClassUtil.getActualTypeArguments(injectionPoint.getType());
-                    if (types.length != 1 || !GenericsUtil.isAssignableFrom(
-                            false, AbstractProducerBean.class.isInstance(bean), bean.getBeanClass(), types[0], new HashMap<>()))
+                    if (types.length != 1 || !webBeansContext.getAssignabilityCache().isAssignableFrom(
+                            false, AbstractProducerBean.class.isInstance(bean), bean.getBeanClass(), types[0]))
                     {
                         throw new WebBeansConfigurationException("injected bean parameter must be " + rawType);
                     }
@@ -1715,8 +1714,8 @@ public final class WebBeansUtil
                     Class<?> beanClass = AbstractOwbBean.class.isInstance(injectionPointBean) ?
                             AbstractOwbBean.class.cast(injectionPointBean).getReturnType() : injectionPointBean.getBeanClass();
                     Type beanType = pt.getActualTypeArguments()[0];
-                    if (!GenericsUtil.isAssignableFrom(
-                            false, AbstractProducerBean.class.isInstance(bean), beanClass, beanType, new HashMap<>()))
+                    if (!webBeansContext.getAssignabilityCache().isAssignableFrom(
+                            false, AbstractProducerBean.class.isInstance(bean), beanClass, beanType))
                     {
                         throw new WebBeansConfigurationException("@Inject Bean<X> can only be done in X, found " + beanType + " and " + beanClass);
                     }
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import org.apache.webbeans.annotation.DefaultLiteral;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.enterprise.util.TypeLiteral;
+import javax.inject.Qualifier;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BeanIndexTest extends AbstractUnitTest
+{
+    @Test
+    public void candidatesShareTheRawType()
+    {
+        startContainer(Service.class, Producers.class);
+
+        Collection<Bean<?>> candidates = getIndex().getCandidates(Service.class, DefaultLiteral.ARRAY);
+        assertEquals(1, candidates.size());
+        assertEquals(Service.class, candidates.iterator().next().getBeanClass());
+
+        // int and Integer are the same for the resolution
+        assertEquals(1, getIndex().getCandidates(int.class, DefaultLiteral.ARRAY).size());
+        assertEquals(42, getInstance(Integer.class).intValue());
+    }
+
+    @Test
+    public void candidatesShareTheQualifier()
+    {
+        startContainer(Service.class, Producers.class);
+
+        Annotation[] qualifiers = {new AnnotationLiteral<Special>() { }};
+        Collection<Bean<?>> candidates = getIndex().getCandidates(Object.class, qualifiers);
+        assertEquals(1, candidates.size());
+        assertEquals(singletonList("special"), getInstance(new TypeLiteral<List<String>>() { }.getType(), qualifiers));
+    }
+
+    @Test
+    public void indexFollowsTheBeans()
+    {
+        startContainer(Service.class);
+
+        BeanIndex index = getIndex();
+        Bean<?> bean = getBean(Service.class);
+        getWebBeansContext().getBeanManagerImpl().getBeans().remove(bean);
+        assertTrue(getIndex() != index);
+        assertTrue(getIndex().getCandidates(Service.class, DefaultLiteral.ARRAY).isEmpty());
+
+        getWebBeansContext().getBeanManagerImpl().getBeans().add(bean);
+        assertEquals(1, getIndex().getCandidates(Service.class, DefaultLiteral.ARRAY).size());
+    }
+
+    @Test
+    public void indexFollowsAReplacedBean()
+    {
+        startContainer(Service.class, Other.class);
+
+        getIndex();
+        Set<Bean<?>> beans = getWebBeansContext().getBeanManagerImpl().getBeans();
+        Bean<?> service = getBean(Service.class);
+        Bean<?> other = getBean(Other.class);
+
+        // same number of beans afterwards, the index still has to change
+        beans.removeIf(bean -> bean == service);
+        beans.remove(other);
+        beans.add(other);
+        assertTrue(getIndex().getCandidates(Service.class, DefaultLiteral.ARRAY).isEmpty());
+        assertEquals(1, getIndex().getCandidates(Other.class, DefaultLiteral.ARRAY).size());
+    }
+
+    private BeanIndex getIndex()
+    {
+        return getWebBeansContext().getBeanManagerImpl().getBeanIndex();
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+    }
+
+    @ApplicationScoped
+    public static class Other
+    {
+    }
+
+    @ApplicationScoped
+    public static class Producers
+    {
+        @Produces
+        public int answer()
+        {
+            return 42;
+        }
+
+        @Produces
+        @Special
+        public List<String> special()
+        {
+            return singletonList("special");
+        }
+    }
+
+    @Qualifier
+    @Retention(RUNTIME)
+    @Target({TYPE, METHOD, FIELD})
+    public @interface Special
+    {
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import org.apache.webbeans.annotation.AnyLiteral;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.spi.BeanManager;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResolutionCacheTest extends AbstractUnitTest
+{
+    @Test
+    public void clockKeepsReferencedEntries()
+    {
+        ResolutionCache<String, String> cache = new ResolutionCache<>(2);
+        cache.put("a", "a");
+        cache.put("b", "b");
+        assertEquals("a", cache.get("a"));
+
+        cache.put("c", "c");
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("c", cache.get("c"));
+
+        assertEquals(3, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void sizeStaysBoundedAfterConcurrentClears() throws InterruptedException
+    {
+        ResolutionCache<Integer, Integer> cache = new ResolutionCache<>(10);
+        Thread clearer = new Thread(() ->
+        {
+            for (int i = 0; i < 1000; i++)
+            {
+                cache.clear();
+            }
+        });
+        clearer.start();
+        for (int i = 0; i < 10000; i++)
+        {
+            cache.put(i, i);
+        }
+        clearer.join();
+
+        for (int i = 0; i < 100; i++)
+        {
+            cache.put(-i - 1, i);
+        }
+        assertEquals(10, cache.size());
+    }
+
+    @Test
+    public void concurrentPutsDoNotEvictTooMuch() throws InterruptedException
+    {
+        ResolutionCache<Integer, Integer> cache = new ResolutionCache<>(10);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++)
+        {
+            int offset = t * 10000;
+            threads[t] = new Thread(() ->
+            {
+                for (int i = 0; i < 10000; i++)
+                {
+                    cache.put(offset + i, i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+        assertEquals(10, cache.size());
+        assertEquals(4 * 10000 - 10, cache.getEvictionCount());
+    }
+
+    @Test
+    public void defaultSizeIsUnbounded()
+    {
+        startContainer();
+        assertEquals(0, getWebBeansContext().getBeanManagerImpl().getInjectionResolver().getLookupCache().getMaxSize());
+    }
+
+    @Test
+    public void unboundedCacheNeverEvicts()
+    {
+        ResolutionCache<Integer, Integer> cache = new ResolutionCache<>(0);
+        for (int i = 0; i < 100; i++)
+        {
+            cache.put(i, i);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void dynamicLookupsAreBounded()
+    {
+        addConfiguration(OpenWebBeansConfiguration.RESOLUTION_CACHE_SIZE, "5");
+        startContainer(Producer.class);
+
+        BeanManager beanManager = getBeanManager();
+        Set<Type> types = getBean(ArrayList.class).getTypes();
+        Type last = null;
+        for (Type type : types)
+        {
+            last = type;
+            assertFalse(beanManager.getBeans(type).isEmpty());
+            assertFalse(beanManager.getBeans(type, AnyLiteral.INSTANCE).isEmpty());
+        }
+
+        ResolutionCache<?, ?> cache = getWebBeansContext().getBeanManagerImpl().getInjectionResolver().getLookupCache();
+        assertEquals(5, cache.getMaxSize());
+        assertTrue(cache.size() <= 5);
+        assertTrue(cache.getEvictionCount() >= 2 * types.size() - 5);
+
+        // the last lookup is still cached
+        long hits = cache.getHitCount();
+        beanManager.getBeans(last, AnyLiteral.INSTANCE);
+        assertEquals(hits + 1, cache.getHitCount());
+    }
+
+    @ApplicationScoped
+    public static class Producer
+    {
+        @Produces
+        public ArrayList<String> names()
+        {
+            return new ArrayList<>();
+        }
+    }
+}
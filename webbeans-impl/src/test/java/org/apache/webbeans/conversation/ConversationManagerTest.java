@@ -22,11 +22,25 @@ import static java.lang.Thread.sleep;
 import static org.apache.webbeans.util.Asserts.assertNotNull;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
 
+import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.ConversationScoped;
+import javax.enterprise.context.Destroyed;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.BeanManager;
 
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.context.ConversationContext;
 import org.apache.webbeans.spi.ContextsService;
 import org.apache.webbeans.spi.ConversationService;
@@ -76,4 +90,90 @@ public class ConversationManagerTest extends AbstractUnitTest
         contextsService.getCurrentContext(ConversationScoped.class); // trigger update
         assertNotEquals(beginTime, conversation2.getLastAccessTime());
     }
+
+    @Test
+    public void conversationsAreStoredById()
+    {
+        addConfiguration("org.apache.webbeans.application.supportsConversation", "true");
+        startContainer();
+        final ContextsService contextsService = getWebBeansContext().getContextsService();
+        contextsService.startContext(ConversationScoped.class, null);
+        final ConversationContext conversationContext = ConversationContext.class.cast(
+                contextsService.getCurrentContext(ConversationScoped.class));
+        final ConversationImpl conversation = conversationContext.getConversation();
+        conversation.begin("stored");
+
+        final ConversationStorage storage = ConversationStorage.class.cast(getWebBeansContext().getConversationManager()
+                .getSessionConversations(contextsService.getCurrentContext(SessionScoped.class), false));
+        assertSame(conversationContext, storage.get("stored"));
+        assertTrue(storage.contains(conversationContext));
+
+        conversation.end();
+        assertNull(storage.get("stored"));
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void reaperDestroysTimedOutConversations() throws InterruptedException
+    {
+        DestroyedConversations.IDS.clear();
+        DestroyedConversations.CONTEXTS_ACTIVE.clear();
+        addConfiguration("org.apache.webbeans.application.supportsConversation", "true");
+        addConfiguration(OpenWebBeansConfiguration.CONVERSATION_REAPER, "true");
+        addConfiguration(OpenWebBeansConfiguration.CONVERSATION_TIMEOUT_INTERVAL, "1000");
+        startContainer(DestroyedConversations.class);
+        final ContextsService contextsService = getWebBeansContext().getContextsService();
+        contextsService.startContext(ConversationScoped.class, null);
+        final ConversationImpl conversation = ConversationContext.class.cast(
+                contextsService.getCurrentContext(ConversationScoped.class)).getConversation();
+        conversation.begin("reaped");
+        conversation.setTimeout(1);
+
+        final Set<ConversationContext> storage = getWebBeansContext().getConversationManager()
+                .getSessionConversations(contextsService.getCurrentContext(SessionScoped.class), false);
+        assertEquals(1, storage.size());
+
+        // the request ends and nothing touches the session anymore
+        conversation.iDontUseItAnymore();
+
+        // the conversation gets removed before it gets destroyed
+        for (int i = 0; i < 100 && DestroyedConversations.IDS.isEmpty(); i++)
+        {
+            sleep(100);
+        }
+        assertTrue(storage.isEmpty());
+        assertEquals(Collections.singletonList("reaped"), DestroyedConversations.IDS);
+        assertEquals(Collections.singletonList(true), DestroyedConversations.CONTEXTS_ACTIVE);
+    }
+
+    @Test
+    public void storagesAreTrackedByIdentity()
+    {
+        addConfiguration("org.apache.webbeans.application.supportsConversation", "true");
+        startContainer();
+        final ContextsService contextsService = getWebBeansContext().getContextsService();
+        final Set<ConversationContext> storage = getWebBeansContext().getConversationManager()
+                .getSessionConversations(contextsService.getCurrentContext(SessionScoped.class), true);
+        assertNotEquals(new ConversationStorage(), storage);
+
+        final int hashCode = storage.hashCode();
+        contextsService.startContext(ConversationScoped.class, null);
+        ConversationContext.class.cast(contextsService.getCurrentContext(ConversationScoped.class)).getConversation().begin("tracked");
+        assertEquals(1, storage.size());
+        assertEquals(hashCode, storage.hashCode());
+    }
+
+    @ApplicationScoped
+    public static class DestroyedConversations
+    {
+        private static final List<Object> IDS = new CopyOnWriteArrayList<>();
+        private static final List<Boolean> CONTEXTS_ACTIVE = new CopyOnWriteArrayList<>();
+
+        public void destroyed(@Observes @Destroyed(ConversationScoped.class) Object payload, BeanManager beanManager)
+        {
+            IDS.add(payload);
+            CONTEXTS_ACTIVE.add(beanManager.getContext(RequestScoped.class).isActive() &&
+                    beanManager.getContext(SessionScoped.class).isActive());
+        }
+    }
 }
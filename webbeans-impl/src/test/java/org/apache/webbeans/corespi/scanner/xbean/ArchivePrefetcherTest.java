@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+
+import org.apache.webbeans.xml.DefaultBeanArchiveService;
+import org.apache.xbean.finder.archive.Archive;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArchivePrefetcherTest
+{
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void prefetchingFindsTheSameClassesInTheSameOrder() throws Exception
+    {
+        Map<String, URL> urls = new LinkedHashMap<>();
+        for (int i = 0; i < 5; i++)
+        {
+            URL url = createJar("jar" + i + ".jar", First.class, Second.class).toURI().toURL();
+            urls.put(url.toExternalForm(), url);
+        }
+
+        CdiArchive sequential = newArchive(urls, null);
+        List<String> expected = entryNames(sequential);
+        OwbAnnotationFinder sequentialFinder = new OwbAnnotationFinder(sequential);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try
+        {
+            CdiArchive prefetching = newArchive(urls, new ArchivePrefetcher(executor, 2, 1));
+            assertEquals(expected, entryNames(prefetching));
+
+            OwbAnnotationFinder finder = new OwbAnnotationFinder(newArchive(urls, new ArchivePrefetcher(executor, 2, 1)));
+            assertNotNull(finder.getClassInfo(First.class.getName()));
+            assertEquals(sequentialFinder.getAnnotatedClassNames(), finder.getAnnotatedClassNames());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void nestedJars() throws Exception
+    {
+        assertTrue(ArchivePrefetcher.isNestedJar(new URL("jar:file:/app.war!/WEB-INF/lib/lib.jar!/")));
+        assertFalse(ArchivePrefetcher.isNestedJar(new URL("jar:file:/lib.jar!/")));
+        assertFalse(ArchivePrefetcher.isNestedJar(new URL("file:/classes/")));
+        assertFalse(ArchivePrefetcher.isNestedJar(null));
+    }
+
+    private List<String> entryNames(CdiArchive archive)
+    {
+        List<String> names = new ArrayList<>();
+        for (Archive.Entry entry : archive)
+        {
+            names.add(entry.getName());
+        }
+        return names;
+    }
+
+    private CdiArchive newArchive(Map<String, URL> urls, ArchivePrefetcher prefetcher)
+    {
+        return new CdiArchive(new DefaultBeanArchiveService(), getClass().getClassLoader(), urls, null, null, null, prefetcher);
+    }
+
+    private File createJar(String name, Class<?>... classes) throws IOException
+    {
+        File file = temp.newFile(name);
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(file)))
+        {
+            for (Class<?> clazz : classes)
+            {
+                String resource = clazz.getName().replace('.', '/') + ".class";
+                try (InputStream in = getClass().getClassLoader().getResourceAsStream(resource))
+                {
+                    out.putNextEntry(new JarEntry(resource));
+                    byte[] buffer = new byte[4096];
+                    int read;
+                    while ((read = in.read(buffer)) >= 0)
+                    {
+                        out.write(buffer, 0, read);
+                    }
+                    out.closeEntry();
+                }
+            }
+        }
+        return file;
+    }
+
+    @ApplicationScoped
+    public static class First
+    {
+    }
+
+    @Dependent
+    public static class Second
+    {
+    }
+}
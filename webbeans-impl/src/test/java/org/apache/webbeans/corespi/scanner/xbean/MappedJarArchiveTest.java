@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.xbean.finder.archive.Archive;
+import org.apache.xbean.finder.archive.ClasspathArchive;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedJarArchiveTest
+{
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void readsTheSameClassesAsTheJarArchive() throws Exception
+    {
+        File jar = temp.newFile("classes.jar");
+        write(jar, null, jar(ZipEntry.DEFLATED, Mapped.class, MappedJarArchiveTest.class));
+        URL url = jar.toURI().toURL();
+
+        Archive expected = ClasspathArchive.archive(getClass().getClassLoader(), url);
+        MappedJarArchive mapped = MappedJarArchive.open(getClass().getClassLoader(), url);
+        assertNotNull(mapped);
+        assertEquals(names(expected), names(mapped));
+        assertArrayEquals(read(expected.getBytecode(Mapped.class.getName())), read(mapped.getBytecode(Mapped.class.getName())));
+    }
+
+    @Test
+    public void nestedJarIsReadFromTheOuterMapping() throws Exception
+    {
+        File fatJar = temp.newFile("fat.jar");
+        ByteArrayOutputStream outer = new ByteArrayOutputStream();
+        try (JarOutputStream out = new JarOutputStream(outer))
+        {
+            addEntry(out, "lib/nested.jar", jar(ZipEntry.DEFLATED, Mapped.class), ZipEntry.STORED);
+        }
+        // like an executable jar with a launcher script in front of it
+        write(fatJar, "#!/bin/sh\nexit 0\n".getBytes("UTF-8"), outer.toByteArray());
+
+        URL url = new URL("jar:" + fatJar.toURI().toURL() + "!/lib/nested.jar!/");
+        MappedJarArchive mapped = MappedJarArchive.open(getClass().getClassLoader(), url);
+        assertNotNull(mapped);
+        List<String> names = names(mapped);
+        assertEquals(1, names.size());
+        assertEquals(Mapped.class.getName(), names.get(0));
+        assertArrayEquals(read(getClass().getClassLoader().getResourceAsStream(resource(Mapped.class))),
+                read(mapped.iterator().next().getBytecode()));
+    }
+
+    @Test
+    public void compressedNestedJarIsNotMapped() throws Exception
+    {
+        File fatJar = temp.newFile("fat.jar");
+        ByteArrayOutputStream outer = new ByteArrayOutputStream();
+        try (JarOutputStream out = new JarOutputStream(outer))
+        {
+            addEntry(out, "lib/nested.jar", jar(ZipEntry.DEFLATED, Mapped.class), ZipEntry.DEFLATED);
+        }
+        write(fatJar, null, outer.toByteArray());
+
+        URL fatJarUrl = fatJar.toURI().toURL();
+        assertNull(MappedJarArchive.open(getClass().getClassLoader(), new URL("jar:" + fatJarUrl + "!/lib/nested.jar!/")));
+        assertNull(MappedJarArchive.open(getClass().getClassLoader(), new URL("jar:" + fatJarUrl + "!/lib/")));
+        assertNull(MappedJarArchive.open(getClass().getClassLoader(), temp.getRoot().toURI().toURL()));
+    }
+
+    private static List<String> names(Archive archive)
+    {
+        List<String> names = new ArrayList<>();
+        for (Archive.Entry entry : archive)
+        {
+            names.add(entry.getName());
+        }
+        return names;
+    }
+
+    private static String resource(Class<?> clazz)
+    {
+        return clazz.getName().replace('.', '/') + ".class";
+    }
+
+    private byte[] jar(int method, Class<?>... classes) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JarOutputStream out = new JarOutputStream(bytes))
+        {
+            for (Class<?> clazz : classes)
+            {
+                addEntry(out, resource(clazz), read(getClass().getClassLoader().getResourceAsStream(resource(clazz))), method);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void addEntry(JarOutputStream out, String name, byte[] content, int method) throws IOException
+    {
+        JarEntry entry = new JarEntry(name);
+        entry.setMethod(method);
+        if (method == ZipEntry.STORED)
+        {
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            entry.setSize(content.length);
+            entry.setCompressedSize(content.length);
+            entry.setCrc(crc.getValue());
+        }
+        out.putNextEntry(entry);
+        out.write(content);
+        out.closeEntry();
+    }
+
+    private static void write(File file, byte[] prefix, byte[] content) throws IOException
+    {
+        try (OutputStream out = new FileOutputStream(file))
+        {
+            if (prefix != null)
+            {
+                out.write(prefix);
+            }
+            out.write(content);
+        }
+    }
+
+    private static byte[] read(InputStream in) throws IOException
+    {
+        try (InputStream stream = in)
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = stream.read(buffer)) >= 0)
+            {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    @ApplicationScoped
+    public static class Mapped
+    {
+    }
+}
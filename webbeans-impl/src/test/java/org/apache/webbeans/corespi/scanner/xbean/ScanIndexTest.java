@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.webbeans.xml.DefaultBeanArchiveService;
+import org.apache.xbean.finder.AnnotationFinder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScanIndexTest
+{
+    private static final String INDEXED = Indexed.class.getName();
+
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void unchangedJarIsNotScannedAgain() throws Exception
+    {
+        File jar = createJar();
+        File index = new File(temp.getRoot(), "scan.index");
+
+        OwbAnnotationFinder first = scan(jar, index);
+        assertNotNull(first.getClassInfo(INDEXED));
+        assertTrue(index.isFile());
+
+        CdiArchive archive = newArchive(jar, ScanIndex.load(index));
+        OwbAnnotationFinder second = new OwbAnnotationFinder(archive);
+        assertNull("the jar must not be read", second.getClassInfo(INDEXED));
+
+        archive.updateIndex(second);
+        AnnotationFinder.ClassInfo classInfo = second.getClassInfo(INDEXED);
+        assertNotNull(classInfo);
+        assertEquals(ApplicationScoped.class.getName(), classInfo.getAnnotations().get(0).getName());
+        assertEquals(1, second.findAnnotatedClasses(ApplicationScoped.class).size());
+        assertTrue(archive.classesByUrl().values().iterator().next().getClassNames().contains(INDEXED));
+
+        // members are not indexed, asking for them reads the bytecode
+        assertEquals(1, second.findAnnotatedMethods(PostConstruct.class).size());
+        assertEquals(1, second.findAnnotatedClasses(ApplicationScoped.class).size());
+    }
+
+    @Test
+    public void changedJarIsScannedAgain() throws Exception
+    {
+        File jar = createJar();
+        File index = new File(temp.getRoot(), "scan.index");
+        scan(jar, index);
+
+        assertTrue(jar.setLastModified(jar.lastModified() - 10000));
+
+        OwbAnnotationFinder finder = new OwbAnnotationFinder(newArchive(jar, ScanIndex.load(index)));
+        assertNotNull(finder.getClassInfo(INDEXED));
+    }
+
+    @Test
+    public void corruptedIndexIsIgnored() throws Exception
+    {
+        File jar = createJar();
+        File index = new File(temp.getRoot(), "scan.index");
+        try (FileOutputStream out = new FileOutputStream(index))
+        {
+            out.write(new byte[]{0, 0, 0, 1, 0, 0, 0, 5});
+        }
+
+        OwbAnnotationFinder finder = scan(jar, index);
+        assertNotNull(finder.getClassInfo(INDEXED));
+    }
+
+    private OwbAnnotationFinder scan(File jar, File index) throws IOException
+    {
+        CdiArchive archive = newArchive(jar, ScanIndex.load(index));
+        OwbAnnotationFinder finder = new OwbAnnotationFinder(archive);
+        archive.updateIndex(finder);
+        return finder;
+    }
+
+    private CdiArchive newArchive(File jar, ScanIndex scanIndex) throws IOException
+    {
+        URL url = jar.toURI().toURL();
+        return new CdiArchive(new DefaultBeanArchiveService(), getClass().getClassLoader(),
+                singletonMap(url.toExternalForm(), url), null, null, scanIndex);
+    }
+
+    private File createJar() throws IOException
+    {
+        File file = temp.newFile("indexed.jar");
+        String resource = INDEXED.replace('.', '/') + ".class";
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(file));
+             InputStream in = getClass().getClassLoader().getResourceAsStream(resource))
+        {
+            out.putNextEntry(new JarEntry(resource));
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) >= 0)
+            {
+                out.write(buffer, 0, read);
+            }
+            out.closeEntry();
+        }
+        return file;
+    }
+
+    @ApplicationScoped
+    public static class Indexed
+    {
+        @PostConstruct
+        public void init()
+        {
+            // no-op
+        }
+    }
+}
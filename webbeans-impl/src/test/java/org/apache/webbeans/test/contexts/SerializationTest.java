@@ -161,6 +161,26 @@ public class SerializationTest extends AbstractUnitTest
         Assert.assertNotNull(sessContext2.get(pdbBean));
     }
 
+    @Test
+    public void testSessionContextIsDeserializedLazily() throws Exception
+    {
+        startContainer(SessScopedBean.class, AppScopedBean.class);
+
+        Assert.assertNotNull(getInstance(SessScopedBean.class).getApp());
+        Bean<SessScopedBean> bean = getBean(SessScopedBean.class);
+
+        byte[] serial = serializeObject(getBeanManager().getContext(SessionScoped.class));
+        SessionContext restored = (SessionContext) deSerializeObject(serial);
+
+        // not used yet, so it gets written as it got read
+        Assert.assertArrayEquals(serial, serializeObject(restored));
+
+        restored.setActive(true);
+        SessScopedBean instance = restored.get(bean);
+        Assert.assertNotNull(instance);
+        Assert.assertNotNull(instance.getApp());
+    }
+
     @Test
     public void testProxySerialization() throws Exception
     {
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts.slots;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.context.ContextSlot;
+import org.apache.webbeans.context.SlottedInstanceMap;
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ContextSlotsTest extends AbstractUnitTest
+{
+    @Test
+    public void slotsPerScope()
+    {
+        addConfiguration(OpenWebBeansConfiguration.CONTEXT_SLOTS, "true");
+        startContainer(FirstRequestBean.class, SecondRequestBean.class, ApplicationBean.class, DependentBean.class);
+
+        ContextSlot first = getContextSlot(FirstRequestBean.class);
+        ContextSlot second = getContextSlot(SecondRequestBean.class);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNotEquals(first.getIndex(), second.getIndex());
+        assertEquals(first.getScopeSize(), second.getScopeSize());
+        assertNotNull(getContextSlot(ApplicationBean.class));
+        assertNull(getContextSlot(DependentBean.class));
+    }
+
+    @Test
+    public void noSlotsByDefault()
+    {
+        startContainer(FirstRequestBean.class);
+
+        assertNull(getContextSlot(FirstRequestBean.class));
+        assertEquals(1, getInstance(FirstRequestBean.class).increment());
+    }
+
+    @Test
+    public void contextualInstances()
+    {
+        addConfiguration(OpenWebBeansConfiguration.CONTEXT_SLOTS, "true");
+        startContainer(FirstRequestBean.class, SecondRequestBean.class, ApplicationBean.class, DependentBean.class);
+
+        FirstRequestBean first = getInstance(FirstRequestBean.class);
+        assertEquals(1, first.increment());
+        assertEquals(2, getInstance(FirstRequestBean.class).increment());
+        assertEquals(1, getInstance(SecondRequestBean.class).increment());
+        assertEquals(1, getInstance(ApplicationBean.class).increment());
+
+        FirstRequestBean.destroyed.clear();
+        restartContext(RequestScoped.class);
+        assertEquals(1, FirstRequestBean.destroyed.size());
+
+        assertEquals(1, first.increment());
+        assertEquals(2, getInstance(ApplicationBean.class).increment());
+    }
+
+    @Test
+    public void sharedSlotFallsBackToMap()
+    {
+        startContainer(FirstRequestBean.class, ApplicationBean.class);
+
+        // both are the first bean of their scope, the map doesn't know about scopes
+        Bean<FirstRequestBean> requestBean = getBean(FirstRequestBean.class);
+        Bean<ApplicationBean> applicationBean = getBean(ApplicationBean.class);
+        ContextSlot.Allocator allocator = new ContextSlot.Allocator();
+        allocator.assign((AbstractOwbBean<?>) requestBean);
+        allocator.assign((AbstractOwbBean<?>) applicationBean);
+        assertEquals(0, getContextSlot(FirstRequestBean.class).getIndex());
+        assertEquals(0, getContextSlot(ApplicationBean.class).getIndex());
+
+        SlottedInstanceMap map = new SlottedInstanceMap();
+        BeanInstanceBag<FirstRequestBean> requestBag = new BeanInstanceBag<>(getBeanManager().createCreationalContext(requestBean));
+        BeanInstanceBag<ApplicationBean> applicationBag = new BeanInstanceBag<>(getBeanManager().createCreationalContext(applicationBean));
+        assertNull(map.putIfAbsent(requestBean, requestBag));
+        assertNull(map.putIfAbsent(applicationBean, applicationBag));
+        assertSame(requestBag, map.putIfAbsent(requestBean, applicationBag));
+
+        assertSame(requestBag, map.get(requestBean));
+        assertSame(applicationBag, map.get(applicationBean));
+        assertEquals(2, map.size());
+        assertEquals(2, map.entrySet().size());
+
+        assertSame(requestBag, map.remove(requestBean));
+        assertNull(map.get(requestBean));
+        assertEquals(1, map.size());
+    }
+
+    private ContextSlot getContextSlot(Class<?> type)
+    {
+        return ((AbstractOwbBean<?>) getBean(type)).getContextSlot();
+    }
+
+    public abstract static class Counter
+    {
+        private int count;
+
+        public int increment()
+        {
+            return ++count;
+        }
+    }
+
+    @RequestScoped
+    public static class FirstRequestBean extends Counter
+    {
+        private static final List<String> destroyed = new ArrayList<>();
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed.add("first");
+        }
+    }
+
+    @RequestScoped
+    public static class SecondRequestBean extends Counter
+    {
+    }
+
+    @ApplicationScoped
+    public static class ApplicationBean extends Counter
+    {
+    }
+
+    @Dependent
+    public static class DependentBean
+    {
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.decorators.tests;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+import javax.annotation.Priority;
+import javax.decorator.Decorator;
+import javax.decorator.Delegate;
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class DecoratorChainTest extends AbstractUnitTest
+{
+    private static final List<String> CALLS = new ArrayList<>();
+
+    @Test
+    public void decoratorsGetCalledInOrder() throws Exception
+    {
+        startContainer(Repository.class, DefaultRepository.class, TracingDecorator.class, CachingDecorator.class);
+        CALLS.clear();
+
+        Repository repository = getInstance(Repository.class);
+
+        assertEquals(43, repository.count(42));
+        assertEquals(asList("caching:count", "repository:count"), CALLS);
+
+        CALLS.clear();
+        assertEquals("found 1", repository.find(1L));
+        assertEquals(asList("tracing:find", "caching:find", "repository:find"), CALLS);
+
+        CALLS.clear();
+        repository.store("value");
+        assertEquals(asList("repository:store"), CALLS);
+
+        try
+        {
+            repository.find(-1L);
+            fail("the checked exception must be thrown");
+        }
+        catch (IOException e)
+        {
+            assertEquals("not found", e.getMessage());
+        }
+    }
+
+    public interface Repository
+    {
+        int count(int base);
+
+        String find(long id) throws IOException;
+
+        void store(String value);
+    }
+
+    @Dependent
+    public static class DefaultRepository implements Repository
+    {
+        @Override
+        public int count(int base)
+        {
+            CALLS.add("repository:count");
+            return base + 1;
+        }
+
+        @Override
+        public String find(long id) throws IOException
+        {
+            CALLS.add("repository:find");
+            if (id < 0)
+            {
+                throw new IOException("not found");
+            }
+            return "found " + id;
+        }
+
+        @Override
+        public void store(String value)
+        {
+            CALLS.add("repository:store");
+        }
+    }
+
+    @Decorator
+    @Priority(1)
+    public abstract static class TracingDecorator implements Repository
+    {
+        @Inject
+        @Delegate
+        private Repository delegate;
+
+        @Override
+        public String find(long id) throws IOException
+        {
+            CALLS.add("tracing:find");
+            return delegate.find(id);
+        }
+    }
+
+    @Decorator
+    @Priority(2)
+    public abstract static class CachingDecorator implements Repository
+    {
+        @Inject
+        @Delegate
+        private Repository delegate;
+
+        @Override
+        public int count(int base)
+        {
+            CALLS.add("caching:count");
+            return delegate.count(base);
+        }
+
+        @Override
+        public String find(long id) throws IOException
+        {
+            CALLS.add("caching:find");
+            return delegate.find(id);
+        }
+    }
+}
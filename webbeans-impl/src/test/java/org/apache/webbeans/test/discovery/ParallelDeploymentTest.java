@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.discovery;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.exception.WebBeansDeploymentException;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.enterprise.inject.spi.ProcessBeanAttributes;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelDeploymentTest extends AbstractUnitTest
+{
+    private static final List<Class<?>> BEANS = asList(Service.class, Client.class, Other.class, NoBean.class);
+
+    @Test
+    public void eventsKeepTheirOrder()
+    {
+        EventRecorder sequential = new EventRecorder();
+        addExtension(sequential);
+        startContainer(BEANS);
+        shutDownContainer();
+
+        EventRecorder parallel = new EventRecorder();
+        addExtension(parallel);
+        addConfiguration(OpenWebBeansConfiguration.PARALLEL_DEPLOYMENT, "true");
+        startContainer(BEANS);
+
+        assertFalse(parallel.events.isEmpty());
+        assertEquals(sequential.events, parallel.events);
+        assertEquals("service", getInstance(Client.class).call());
+    }
+
+    @Test
+    public void validationErrorsAreReported()
+    {
+        addConfiguration(OpenWebBeansConfiguration.PARALLEL_DEPLOYMENT, "true");
+        try
+        {
+            startContainer(Unsatisfied.class);
+            fail("the injection point can't be satisfied");
+        }
+        catch (WebBeansConfigurationException e)
+        {
+            assertTrue(e.getCause() instanceof WebBeansDeploymentException);
+        }
+    }
+
+    public static class EventRecorder implements Extension
+    {
+        private final List<String> events = new ArrayList<>();
+
+        void pat(@Observes ProcessAnnotatedType<?> pat)
+        {
+            events.add("PAT " + pat.getAnnotatedType().getJavaClass().getName());
+        }
+
+        void pba(@Observes ProcessBeanAttributes<?> pba)
+        {
+            events.add("PBA " + pba.getAnnotated().getBaseType());
+        }
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        public String name()
+        {
+            return "service";
+        }
+    }
+
+    @Dependent
+    public static class Client
+    {
+        @Inject
+        private Service service;
+
+        public String call()
+        {
+            return service.name();
+        }
+    }
+
+    @Dependent
+    public static class Other
+    {
+        @Inject
+        private Client client;
+    }
+
+    public abstract static class NoBean
+    {
+    }
+
+    @Dependent
+    public static class Unsatisfied
+    {
+        @Inject
+        private NoBean noBean;
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.events.async;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.ContextException;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.ObservesAsync;
+import javax.enterprise.event.Reception;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.ObserverMethod;
+import javax.inject.Inject;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.corespi.se.DefaultContextsService;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.spi.ContextsService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncObserverExecutorTest extends AbstractUnitTest
+{
+    @Test
+    public void boundedExecutor() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.ASYNC_OBSERVER_EXECUTOR, "bounded");
+        addConfiguration(OpenWebBeansConfiguration.ASYNC_OBSERVER_PARALLELISM, "2");
+        startContainer(Observers.class, RequestBean.class);
+
+        final Payload payload = fire();
+        assertEquals(2, payload.threads.size());
+        payload.threads.forEach(t -> assertTrue(t.getName(), t.getName().startsWith("openwebbeans-async-observer-")));
+    }
+
+    @Test
+    public void virtualExecutor() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.ASYNC_OBSERVER_EXECUTOR, "virtual");
+        startContainer(Observers.class, RequestBean.class);
+
+        final Payload payload = fire();
+        assertEquals(2, payload.threads.size());
+        for (Thread thread : payload.threads)
+        {
+            try
+            {
+                assertTrue(Boolean.class.cast(Thread.class.getMethod("isVirtual").invoke(thread)));
+            }
+            catch (NoSuchMethodException e)
+            {
+                // Java < 21, falls back to the bounded pool
+                assertTrue(thread.getName(), thread.getName().startsWith("openwebbeans-async-observer-"));
+            }
+        }
+    }
+
+    @Test
+    public void observersUseOwnRequestContextByDefault() throws Exception
+    {
+        startContainer(Observers.class, RequestBean.class);
+
+        final Payload payload = fire();
+        assertEquals(2, payload.requestBeanIds.size());
+        assertEquals(2, payload.requestBeanIds.stream().distinct().count());
+    }
+
+    @Test
+    public void batchedObserversShareRequestContext() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.ASYNC_OBSERVER_BATCHING, "true");
+        startContainer(Observers.class, RequestBean.class);
+
+        final Payload payload = fire();
+        assertEquals(2, payload.requestBeanIds.size());
+        assertEquals(1, payload.requestBeanIds.stream().distinct().count());
+        assertEquals(1, payload.threads.stream().distinct().count());
+    }
+
+    @Test
+    public void batchedObserversFailureDoesNotStopOthers() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.ASYNC_OBSERVER_BATCHING, "true");
+        startContainer(Observers.class, RequestBean.class);
+
+        final Payload payload = new Payload();
+        payload.fail = true;
+        try
+        {
+            getBeanManager().getEvent().fireAsync(payload).toCompletableFuture().join();
+            fail();
+        }
+        catch (final CompletionException ce)
+        {
+            assertTrue(IllegalStateException.class.isInstance(ce.getCause()));
+            assertEquals(2, ce.getSuppressed().length);
+        }
+        assertEquals(2, payload.threads.size());
+    }
+
+    @Test
+    public void failingRequestContextFailsTheEvent() throws Exception
+    {
+        assertRequestContextFailure();
+    }
+
+    @Test
+    public void failingRequestContextFailsTheBatchedEvent() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.ASYNC_OBSERVER_BATCHING, "true");
+        assertRequestContextFailure();
+    }
+
+    @Test
+    public void transactionalObserverFailsTheEvent() throws Exception
+    {
+        assertTransactionalObserverFailure();
+    }
+
+    @Test
+    public void transactionalObserverFailsTheBatchedEvent() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.ASYNC_OBSERVER_BATCHING, "true");
+        assertTransactionalObserverFailure();
+    }
+
+    private void assertTransactionalObserverFailure() throws Exception
+    {
+        startContainer(Observers.class, RequestBean.class);
+        getWebBeansContext().getNotificationManager().addObserver(new ObserverMethod<Payload>()
+        {
+            @Override
+            public Class<?> getBeanClass()
+            {
+                return AsyncObserverExecutorTest.class;
+            }
+
+            @Override
+            public Type getObservedType()
+            {
+                return Payload.class;
+            }
+
+            @Override
+            public Set<Annotation> getObservedQualifiers()
+            {
+                return Collections.emptySet();
+            }
+
+            @Override
+            public Reception getReception()
+            {
+                return Reception.ALWAYS;
+            }
+
+            @Override
+            public TransactionPhase getTransactionPhase()
+            {
+                return TransactionPhase.AFTER_SUCCESS;
+            }
+
+            @Override
+            public boolean isAsync()
+            {
+                return true;
+            }
+
+            @Override
+            public void notify(final Payload event)
+            {
+                event.threads.add(Thread.currentThread());
+            }
+        });
+
+        final Payload payload = new Payload();
+        try
+        {
+            // the error is reported through the stage and not thrown by fireAsync
+            getBeanManager().getEvent().fireAsync(payload).toCompletableFuture().get(1, TimeUnit.MINUTES);
+            fail();
+        }
+        catch (final ExecutionException ee)
+        {
+            assertTrue(String.valueOf(ee.getCause()), WebBeansConfigurationException.class.isInstance(ee.getCause()));
+        }
+        assertTrue(payload.threads.isEmpty());
+    }
+
+    private void assertRequestContextFailure() throws Exception
+    {
+        addConfiguration(ContextsService.class.getName(), AsyncFailingContextsService.class.getName());
+        AsyncFailingContextsService.owner = Thread.currentThread();
+        startContainer(Observers.class, RequestBean.class);
+
+        final Payload payload = new Payload();
+        try
+        {
+            getBeanManager().getEvent().fireAsync(payload).toCompletableFuture().get(1, TimeUnit.MINUTES);
+            fail();
+        }
+        catch (final ExecutionException ee)
+        {
+            assertTrue(String.valueOf(ee.getCause()), ContextException.class.isInstance(ee.getCause()));
+        }
+        finally
+        {
+            AsyncFailingContextsService.owner = null;
+        }
+        assertTrue(payload.threads.isEmpty());
+    }
+
+    private Payload fire() throws Exception
+    {
+        return getBeanManager().getEvent().fireAsync(new Payload()).toCompletableFuture().get(1, TimeUnit.MINUTES);
+    }
+
+    public static class Payload
+    {
+        private final Collection<Thread> threads = new ConcurrentLinkedQueue<>();
+        private final Collection<Integer> requestBeanIds = new ConcurrentLinkedQueue<>();
+        private boolean fail;
+    }
+
+    /**
+     * can't start a request context on another thread than the test one
+     */
+    public static class AsyncFailingContextsService extends DefaultContextsService
+    {
+        private static volatile Thread owner;
+
+        public AsyncFailingContextsService(final WebBeansContext webBeansContext)
+        {
+            super(webBeansContext);
+        }
+
+        @Override
+        public void startContext(final Class<? extends Annotation> scopeType, final Object startParameter)
+        {
+            if (scopeType == RequestScoped.class && owner != null && owner != Thread.currentThread())
+            {
+                throw new ContextException("no request context in async observers");
+            }
+            super.startContext(scopeType, startParameter);
+        }
+    }
+
+    @RequestScoped
+    public static class RequestBean
+    {
+        private static final AtomicInteger IDS = new AtomicInteger();
+
+        private final int id = IDS.incrementAndGet();
+
+        public int getId()
+        {
+            return id;
+        }
+    }
+
+    @ApplicationScoped
+    public static class Observers
+    {
+        @Inject
+        private RequestBean requestBean;
+
+        public void first(@ObservesAsync final Payload payload)
+        {
+            record(payload);
+        }
+
+        public void second(@ObservesAsync final Payload payload)
+        {
+            record(payload);
+        }
+
+        private void record(final Payload payload)
+        {
+            payload.threads.add(Thread.currentThread());
+            payload.requestBeanIds.add(requestBean.getId());
+            if (payload.fail)
+            {
+                throw new IllegalStateException("failing on purpose");
+            }
+        }
+    }
+}
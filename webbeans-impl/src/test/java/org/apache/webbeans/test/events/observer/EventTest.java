@@ -18,9 +18,21 @@
  */
 package org.apache.webbeans.test.events.observer;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Reception;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.apache.webbeans.annotation.AnyLiteral;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.junit.Assert;
 import org.junit.Ignore;
@@ -146,6 +158,90 @@ public class EventTest extends AbstractUnitTest {
         shutDownContainer();
     }
 
+    @Test
+    public void testResolvedObserversGetRefreshedByAddObserver()
+    {
+        startContainer(Painter.class);
+
+        getBeanManager().fireEvent(new Orange());
+        Assert.assertEquals(1, getInstance(Painter.class).getObserved().size());
+
+        final List<Orange> lateObserved = new ArrayList<>();
+        addOrangeObserver(lateObserved);
+
+        final Orange orange = new Orange();
+        getBeanManager().fireEvent(orange);
+        Assert.assertEquals(2, getInstance(Painter.class).getObserved().size());
+        Assert.assertEquals(1, lateObserved.size());
+        Assert.assertSame(orange, lateObserved.get(0));
+
+        shutDownContainer();
+    }
+
+    @Test
+    public void testSelectedEventObserversGetRefreshedByAddObserver()
+    {
+        startContainer(Painter.class);
+
+        final Event<Orange> event = getBeanManager().getEvent().select(Orange.class, AnyLiteral.INSTANCE);
+        event.fire(new Orange());
+        event.fire(new Orange());
+        Assert.assertEquals(2, getInstance(Painter.class).getObserved().size());
+
+        final List<Orange> lateObserved = new ArrayList<>();
+        addOrangeObserver(lateObserved);
+
+        final Orange orange = new Orange();
+        event.fire(orange);
+        Assert.assertEquals(3, getInstance(Painter.class).getObserved().size());
+        Assert.assertEquals(1, lateObserved.size());
+        Assert.assertSame(orange, lateObserved.get(0));
+
+        shutDownContainer();
+    }
+
+    private void addOrangeObserver(final List<Orange> observed)
+    {
+        getWebBeansContext().getNotificationManager().addObserver(new ObserverMethod<Orange>()
+        {
+            @Override
+            public Class<?> getBeanClass()
+            {
+                return EventTest.class;
+            }
+
+            @Override
+            public Type getObservedType()
+            {
+                return Orange.class;
+            }
+
+            @Override
+            public Set<Annotation> getObservedQualifiers()
+            {
+                return Collections.emptySet();
+            }
+
+            @Override
+            public Reception getReception()
+            {
+                return Reception.ALWAYS;
+            }
+
+            @Override
+            public TransactionPhase getTransactionPhase()
+            {
+                return TransactionPhase.IN_PROGRESS;
+            }
+
+            @Override
+            public void notify(Orange event)
+            {
+                observed.add(event);
+            }
+        });
+    }
+
     @Test
     @Ignore("only for manual performance testing and debugging")
     public void testEventPerformance()
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.events.observer;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Observes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GeneratedObserverInvokerTest extends AbstractUnitTest
+{
+    @Before
+    public void enableGeneratedInvokers()
+    {
+        addConfiguration(OpenWebBeansConfiguration.GENERATED_OBSERVER_INVOKERS, "true");
+    }
+
+    @Test
+    public void eventOnly()
+    {
+        startContainer(Observers.class);
+
+        Payload payload = new Payload();
+        getBeanManager().getEvent().select(Payload.class).fire(payload);
+
+        assertEquals(3, payload.invocations.size());
+        assertTrue(payload.invocations.contains("instance"));
+        assertTrue(payload.invocations.contains("static"));
+        assertTrue(payload.invocations.contains("private"));
+        assertTrue(payload.generated.contains("instance"));
+        assertTrue(payload.generated.contains("static"));
+        assertFalse(payload.generated.contains("private"));
+    }
+
+    @Test
+    public void injectedParameters()
+    {
+        startContainer(InjectingObserver.class, Helper.class);
+
+        Helper.destroyed = 0;
+        for (int i = 0; i < 2; i++)
+        {
+            Number payload = i;
+            getBeanManager().getEvent().select(Number.class).fire(payload);
+            assertSame(payload, getInstance(InjectingObserver.class).getLastEvent());
+        }
+        assertEquals(4, Helper.destroyed);
+    }
+
+    @Test
+    public void exceptionsAreNotWrapped()
+    {
+        startContainer(FailingObserver.class);
+
+        try
+        {
+            getBeanManager().getEvent().select(Failure.class).fire(new Failure());
+            fail();
+        }
+        catch (IllegalStateException ise)
+        {
+            assertEquals("failing on purpose", ise.getMessage());
+        }
+    }
+
+    @Test
+    public void reflectionWhenDisabled()
+    {
+        addConfiguration(OpenWebBeansConfiguration.GENERATED_OBSERVER_INVOKERS, "false");
+        startContainer(Observers.class);
+
+        Payload payload = new Payload();
+        getBeanManager().getEvent().select(Payload.class).fire(payload);
+
+        assertEquals(3, payload.invocations.size());
+        assertTrue(payload.generated.isEmpty());
+    }
+
+    private static boolean isGeneratedInvocation()
+    {
+        return Stream.of(new Throwable().getStackTrace())
+                .anyMatch(e -> e.getClassName().contains("$$OwbObserverInvoker$"));
+    }
+
+    public static class Payload
+    {
+        private final Collection<String> invocations = new ArrayList<>();
+        private final Collection<String> generated = new ArrayList<>();
+
+        void record(String name)
+        {
+            invocations.add(name);
+            if (isGeneratedInvocation())
+            {
+                generated.add(name);
+            }
+        }
+    }
+
+    public static class Failure
+    {
+    }
+
+    @ApplicationScoped
+    public static class Observers
+    {
+        void instance(@Observes Payload payload)
+        {
+            payload.record("instance");
+        }
+
+        public static void staticObserver(@Observes Payload payload)
+        {
+            payload.record("static");
+        }
+
+        private void privateObserver(@Observes Payload payload)
+        {
+            payload.record("private");
+        }
+    }
+
+    @ApplicationScoped
+    public static class InjectingObserver
+    {
+        private Number lastEvent;
+
+        public void observe(Helper helper, @Observes Number event, Helper other)
+        {
+            assertTrue(isGeneratedInvocation());
+            lastEvent = event;
+        }
+
+        public Number getLastEvent()
+        {
+            return lastEvent;
+        }
+    }
+
+    @Dependent
+    public static class Helper
+    {
+        private static int destroyed;
+
+        @PreDestroy
+        void destroy()
+        {
+            destroyed++;
+        }
+    }
+
+    @ApplicationScoped
+    public static class FailingObserver
+    {
+        public List<String> observe(@Observes Failure failure)
+        {
+            throw new IllegalStateException("failing on purpose");
+        }
+    }
+}
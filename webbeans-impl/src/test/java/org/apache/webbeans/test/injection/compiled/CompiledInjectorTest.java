@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.injection.compiled;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.TransientReference;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.InjectionTarget;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.webbeans.inject.CompiledInjector;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompiledInjectorTest extends AbstractUnitTest
+{
+    @Test
+    public void injectionOrder()
+    {
+        startContainer(Parent.class, Child.class, DependentBean.class, ApplicationBean.class);
+
+        Bean<Child> bean = (Bean<Child>) getBeanManager().resolve(getBeanManager().getBeans(Child.class));
+        CreationalContext<Child> creationalContext = getBeanManager().createCreationalContext(bean);
+        DependentBean.destroyed.clear();
+
+        Child child = bean.create(creationalContext);
+
+        assertEquals(Arrays.asList(
+                "parentField", "parentMethod(DependentBean,ApplicationBean)",
+                "childField", "childMethod(DependentBean)", "childInitializer"),
+                child.getInvocations());
+        assertTrue(child.isCompiled());
+        assertEquals(Arrays.asList("transient"), DependentBean.destroyed);
+
+        bean.destroy(child, creationalContext);
+        assertEquals(4, DependentBean.destroyed.size());
+    }
+
+    @Test
+    public void nonContextualInstance()
+    {
+        startContainer(DependentBean.class, ApplicationBean.class);
+
+        BeanManager beanManager = getBeanManager();
+        AnnotatedType<NonContextual> annotatedType = beanManager.createAnnotatedType(NonContextual.class);
+        InjectionTarget<NonContextual> injectionTarget = beanManager.getInjectionTargetFactory(annotatedType).createInjectionTarget(null);
+
+        for (int i = 0; i < 2; i++)
+        {
+            NonContextual instance = new NonContextual();
+            injectionTarget.inject(instance, beanManager.createCreationalContext(null));
+            assertNotNull(instance.dependentBean);
+            assertNotNull(instance.applicationBean);
+            assertEquals(0, instance.primitive);
+        }
+    }
+
+    private static boolean isCompiledInjection()
+    {
+        return Stream.of(new Throwable().getStackTrace()).anyMatch(e -> e.getClassName().equals(CompiledInjector.class.getName()));
+    }
+
+    @Dependent
+    public static class DependentBean
+    {
+        private static final List<String> destroyed = new ArrayList<>();
+
+        private String name;
+
+        void setName(String name)
+        {
+            this.name = name;
+        }
+
+        @PreDestroy
+        void destroy()
+        {
+            destroyed.add(name);
+        }
+    }
+
+    @ApplicationScoped
+    public static class ApplicationBean
+    {
+    }
+
+    @Dependent
+    public static class Parent
+    {
+        protected final List<String> invocations = new ArrayList<>();
+        protected boolean compiled;
+
+        @Inject
+        private DependentBean parentField;
+
+        @Inject
+        void parentMethod(DependentBean dependentBean, ApplicationBean applicationBean)
+        {
+            assertNotNull(parentField);
+            invocations.add("parentField");
+            invocations.add("parentMethod(DependentBean,ApplicationBean)");
+            dependentBean.setName("parentMethod");
+        }
+
+        public List<String> getInvocations()
+        {
+            return invocations;
+        }
+
+        public boolean isCompiled()
+        {
+            return compiled;
+        }
+    }
+
+    @Dependent
+    public static class Child extends Parent
+    {
+        @Inject
+        private DependentBean childField;
+
+        @Inject
+        protected void childMethod(@TransientReference DependentBean dependentBean)
+        {
+            assertNotNull(childField);
+            invocations.add("childField");
+            invocations.add("childMethod(DependentBean)");
+            dependentBean.setName("transient");
+        }
+
+        @Inject
+        public void childInitializer()
+        {
+            invocations.add("childInitializer");
+            compiled = isCompiledInjection();
+        }
+    }
+
+    public static class NonContextual
+    {
+        @Inject
+        private DependentBean dependentBean;
+
+        @Inject
+        private ApplicationBean applicationBean;
+
+        private int primitive = 1;
+
+        @Inject
+        void init()
+        {
+            primitive = 0;
+        }
+    }
+}
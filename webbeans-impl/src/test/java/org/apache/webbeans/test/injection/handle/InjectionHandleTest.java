@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.injection.handle;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Inject;
+
+import org.apache.webbeans.container.InjectionHandle;
+import org.apache.webbeans.inject.impl.InjectionPointImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class InjectionHandleTest extends AbstractUnitTest
+{
+    @Test
+    public void handlesAreCreatedDuringValidation()
+    {
+        startContainer(Holder.class, ApplicationBean.class, DependentBean.class);
+
+        Bean<?> holderBean = getBean(Holder.class);
+        assertEquals(2, holderBean.getInjectionPoints().size());
+        for (InjectionPoint injectionPoint : holderBean.getInjectionPoints())
+        {
+            InjectionHandle handle = ((InjectionPointImpl) injectionPoint).getHandle();
+            assertNotNull(injectionPoint.toString(), handle);
+            assertSame(getBean((Class<?>) injectionPoint.getType()), handle.getBean());
+        }
+    }
+
+    @Test
+    public void normalScopedProxyIsReused()
+    {
+        startContainer(Holder.class, ApplicationBean.class, DependentBean.class);
+
+        Holder first = getInstance(Holder.class);
+        Holder second = getInstance(Holder.class);
+
+        assertSame(first.applicationBean, second.applicationBean);
+        assertNotSame(first.dependentBean, second.dependentBean);
+        assertEquals("ok", second.applicationBean.ping());
+    }
+
+    @Test
+    public void injectableReference()
+    {
+        startContainer(Holder.class, ApplicationBean.class, DependentBean.class);
+
+        BeanManager beanManager = getBeanManager();
+        Bean<Holder> holderBean = getBean(Holder.class);
+        CreationalContext<Holder> creationalContext = beanManager.createCreationalContext(holderBean);
+        for (InjectionPoint injectionPoint : holderBean.getInjectionPoints())
+        {
+            Object reference = beanManager.getInjectableReference(injectionPoint, creationalContext);
+            assertNotNull(reference);
+            if (injectionPoint.getType() == ApplicationBean.class)
+            {
+                assertSame(reference, beanManager.getInjectableReference(injectionPoint, creationalContext));
+            }
+            else
+            {
+                assertNotSame(reference, beanManager.getInjectableReference(injectionPoint, creationalContext));
+            }
+        }
+    }
+
+    @Dependent
+    public static class Holder
+    {
+        @Inject
+        private ApplicationBean applicationBean;
+
+        @Inject
+        private DependentBean dependentBean;
+    }
+
+    @ApplicationScoped
+    public static class ApplicationBean
+    {
+        public String ping()
+        {
+            return "ok";
+        }
+    }
+
+    @Dependent
+    public static class DependentBean
+    {
+    }
+}
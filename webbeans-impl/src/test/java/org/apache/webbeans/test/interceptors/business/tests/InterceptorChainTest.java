@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.interceptors.business.tests;
+
+import org.apache.webbeans.proxy.OwbInterceptedMethodInvoker;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.Dependent;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class InterceptorChainTest extends AbstractUnitTest
+{
+    @Test
+    public void interceptedMethodsGetInvoked() throws Exception
+    {
+        startContainer(Calculator.class, RecordingInterceptor.class);
+        RecordingInterceptor.CALLS.clear();
+
+        Calculator calculator = getInstance(Calculator.class);
+        assertTrue(calculator instanceof OwbInterceptedMethodInvoker);
+
+        assertEquals(5, calculator.add(2, 3));
+        assertArrayEquals(new long[]{2, 4}, calculator.twice(1, 2));
+        assertEquals("changed", calculator.echo("original"));
+        assertEquals("hidden", calculator.hidden("hidden"));
+        try
+        {
+            calculator.fail();
+            fail("the checked exception must be thrown");
+        }
+        catch (IOException e)
+        {
+            assertEquals("failed", e.getMessage());
+        }
+
+        assertEquals(asList("add", "twice", "echo", "hidden", "fail"), RecordingInterceptor.CALLS);
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    public @interface Recorded
+    {
+    }
+
+    @Recorded
+    @Interceptor
+    @Priority(1)
+    public static class RecordingInterceptor
+    {
+        private static final List<String> CALLS = new ArrayList<>();
+
+        @AroundInvoke
+        public Object record(InvocationContext context) throws Exception
+        {
+            CALLS.add(context.getMethod().getName());
+            if ("echo".equals(context.getMethod().getName()))
+            {
+                context.setParameters(new Object[]{"changed"});
+            }
+            return context.proceed();
+        }
+    }
+
+    @Recorded
+    @Dependent
+    public static class Calculator
+    {
+        public int add(int a, int b)
+        {
+            return a + b;
+        }
+
+        public long[] twice(long... values)
+        {
+            long[] result = new long[values.length];
+            for (int i = 0; i < values.length; i++)
+            {
+                result[i] = values[i] * 2;
+            }
+            return result;
+        }
+
+        public String echo(String value)
+        {
+            return value;
+        }
+
+        String hidden(String value)
+        {
+            return value;
+        }
+
+        public void fail() throws IOException
+        {
+            throw new IOException("failed");
+        }
+    }
+}
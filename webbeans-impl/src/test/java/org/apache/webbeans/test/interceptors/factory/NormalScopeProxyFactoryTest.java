@@ -28,6 +28,7 @@ import org.apache.webbeans.test.AbstractUnitTest;
 import org.apache.webbeans.test.interceptors.factory.beans.ClassInterceptedClass;
 import org.apache.webbeans.test.interceptors.factory.beans.SomeBaseClass;
 import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.proxy.OwbNormalScopeProxy;
 import org.apache.webbeans.test.util.Serializations;
 import org.junit.Assert;
 import org.junit.Test;
@@ -219,6 +220,13 @@ public class NormalScopeProxyFactoryTest extends AbstractUnitTest
             Assert.assertEquals("should fit", nfe.getMessage());
         }
 
+        // a second instance of the same proxy class gets its own provider
+        ClassInterceptedClass otherInstance = new ClassInterceptedClass();
+        TestContextualInstanceProvider otherProvider = new TestContextualInstanceProvider(otherInstance);
+        ClassInterceptedClass otherProxy = pf.createProxyInstance(proxyClass, otherProvider);
+        Assert.assertSame(otherProvider, pf.getInstanceProvider((OwbNormalScopeProxy) otherProxy));
+        Assert.assertSame(provider, pf.getInstanceProvider((OwbNormalScopeProxy) proxy));
+        Assert.assertSame(internalInstance, NormalScopeProxyFactory.unwrapInstance(proxy));
     }
 
     // ensure we don't get:
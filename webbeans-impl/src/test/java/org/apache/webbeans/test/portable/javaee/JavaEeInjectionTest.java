@@ -23,6 +23,7 @@ import java.util.Collection;
 
 import org.junit.Assert;
 
+import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.inject.OWBInjector;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.junit.Test;
@@ -47,4 +48,22 @@ public class JavaEeInjectionTest extends AbstractUnitTest
         
     }
 
+    @Test
+    public void testInjectionTargetIsReused()
+    {
+        startContainer(SampleBean.class);
+
+        BeanManagerImpl beanManager = getWebBeansContext().getBeanManagerImpl();
+        Assert.assertSame(beanManager.getNonContextualInjectionTarget(MockInstance.class),
+                beanManager.getNonContextualInjectionTarget(MockInstance.class));
+
+        for (int i = 0; i < 2; i++)
+        {
+            MockInstance instance = new MockInstance();
+            OWBInjector.inject(getWebBeansContext().getInjectableBeanManager(), instance, null);
+            Assert.assertNotNull(instance.getSample());
+            Assert.assertNotNull(instance.getViaMethod());
+        }
+    }
+
 }
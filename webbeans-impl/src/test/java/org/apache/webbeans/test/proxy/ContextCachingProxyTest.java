@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.proxy;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.control.RequestContextController;
+import javax.enterprise.context.spi.AlterableContext;
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.context.SessionContext;
+import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
+import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
+import org.apache.webbeans.proxy.OwbNormalScopeProxy;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The request and session scoped handlers cache the instance per context and not per thread.
+ */
+public class ContextCachingProxyTest extends AbstractUnitTest
+{
+    @Before
+    public void mapping()
+    {
+        addConfiguration(OpenWebBeansConfiguration.SESSION_DIRTY_TRACKING, "true");
+        addConfiguration("org.apache.webbeans.proxy.mapping.javax.enterprise.context.RequestScoped",
+                RequestScopedBeanInterceptorHandler.class.getName());
+        addConfiguration("org.apache.webbeans.proxy.mapping.javax.enterprise.context.SessionScoped",
+                SessionScopedBeanInterceptorHandler.class.getName());
+        startContainer(RequestBean.class, SessionBean.class);
+    }
+
+    @Test
+    public void handlers()
+    {
+        assertEquals(RequestScopedBeanInterceptorHandler.class, getProvider(getInstance(RequestBean.class)).getClass());
+        assertEquals(SessionScopedBeanInterceptorHandler.class, getProvider(getInstance(SessionBean.class)).getClass());
+    }
+
+    @Test
+    public void newContext()
+    {
+        RequestBean requestBean = getInstance(RequestBean.class);
+        SessionBean sessionBean = getInstance(SessionBean.class);
+        int requestId = requestBean.getId();
+        int sessionId = sessionBean.getId();
+        assertEquals(requestId, requestBean.getId());
+        assertEquals(sessionId, sessionBean.getId());
+
+        restartContext(RequestScoped.class);
+        assertEquals(requestId + 1, requestBean.getId());
+        assertEquals(sessionId, sessionBean.getId());
+
+        restartContext(SessionScoped.class);
+        assertEquals(sessionId + 1, sessionBean.getId());
+    }
+
+    @Test
+    public void dirtySession()
+    {
+        SessionBean sessionBean = getInstance(SessionBean.class);
+        SessionContext context = (SessionContext) getBeanManager().getContext(SessionScoped.class);
+        sessionBean.getId();
+        context.resetDirty();
+        assertFalse(context.isDirty());
+
+        sessionBean.getId();
+        assertTrue(context.isDirty());
+    }
+
+    @Test
+    public void destroyedInstance()
+    {
+        RequestBean requestBean = getInstance(RequestBean.class);
+        int id = requestBean.getId();
+
+        AlterableContext context = (AlterableContext) getBeanManager().getContext(RequestScoped.class);
+        context.destroy(getBean(RequestBean.class));
+
+        assertEquals(id + 1, requestBean.getId());
+        assertEquals(id + 1, requestBean.getId());
+    }
+
+    @Test
+    public void otherThread() throws Exception
+    {
+        RequestBean requestBean = getInstance(RequestBean.class);
+        int id = requestBean.getId();
+
+        AtomicInteger otherId = new AtomicInteger();
+        Thread thread = new Thread(() ->
+        {
+            RequestContextController controller = getInstance(RequestContextController.class);
+            controller.activate();
+            try
+            {
+                otherId.set(requestBean.getId());
+            }
+            finally
+            {
+                controller.deactivate();
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(id + 1, otherId.get());
+        assertEquals(id, requestBean.getId());
+    }
+
+    private Object getProvider(Object proxy)
+    {
+        return getWebBeansContext().getNormalScopeProxyFactory().getInstanceProvider((OwbNormalScopeProxy) proxy);
+    }
+
+    @RequestScoped
+    public static class RequestBean
+    {
+        private static final AtomicInteger IDS = new AtomicInteger();
+
+        private final int id = IDS.incrementAndGet();
+
+        public int getId()
+        {
+            return id;
+        }
+    }
+
+    @SessionScoped
+    public static class SessionBean implements Serializable
+    {
+        private static final AtomicInteger IDS = new AtomicInteger();
+
+        private final int id = IDS.incrementAndGet();
+
+        public int getId()
+        {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.proxy;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.proxy.ProxyArchive;
+import org.apache.webbeans.service.ClassLoaderProxyService;
+import org.apache.webbeans.spi.DefiningClassService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class ProxyArchiveTest extends AbstractUnitTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void archivedProxyIsLoaded() throws Exception
+    {
+        String proxyName = record();
+
+        try (URLClassLoader loader = archiveLoader())
+        {
+            ProxyArchive archive = ProxyArchive.load(loader);
+            assertNotNull(archive);
+            assertArrayEquals(getSpy().getProxies().get(proxyName), archive.getBytecode(proxyName, Service.class));
+            assertNull(archive.getBytecode(proxyName + "Unknown", Service.class));
+        }
+    }
+
+    @Test
+    public void changedClassIsNotLoaded() throws Exception
+    {
+        String proxyName = record();
+
+        try (URLClassLoader loader = archiveLoader())
+        {
+            // the hash covers the proxied class so another one does not match
+            assertNull(ProxyArchive.load(loader).getBytecode(proxyName, OtherService.class));
+        }
+    }
+
+    @Test
+    public void changedProxyIsNotLoaded() throws Exception
+    {
+        String proxyName = record();
+        Files.write(new File(tempFolder.getRoot(), ProxyArchive.LOCATION + proxyName + ".proxy").toPath(), new byte[]{1, 2, 3});
+
+        try (URLClassLoader loader = archiveLoader())
+        {
+            assertNull(ProxyArchive.load(loader).getBytecode(proxyName, Service.class));
+        }
+    }
+
+    @Test
+    public void proxyOfNewerJvmIsNotLoaded() throws Exception
+    {
+        String proxyName = record();
+        byte[] bytecode = getSpy().getProxies().get(proxyName).clone();
+        bytecode[6] = (byte) 0xFF; // major version of the class file
+        ProxyArchive.write(tempFolder.getRoot(), Collections.singletonMap(proxyName, bytecode), getSpy().getProxiedClasses());
+
+        try (URLClassLoader loader = archiveLoader())
+        {
+            // the hash matches but the running JVM can't load it
+            assertNull(ProxyArchive.load(loader).getBytecode(proxyName, Service.class));
+        }
+    }
+
+    @Test
+    public void archiveOfAnotherVersionIsIgnored() throws Exception
+    {
+        String proxyName = record();
+        File index = new File(tempFolder.getRoot(), ProxyArchive.INDEX);
+        String content = new String(Files.readAllBytes(index.toPath()), StandardCharsets.ISO_8859_1);
+        Files.write(index.toPath(), content.replaceFirst("@generator=.*", "@generator=1.0.0-other").getBytes(StandardCharsets.ISO_8859_1));
+
+        try (URLClassLoader loader = archiveLoader())
+        {
+            assertNull(ProxyArchive.load(loader));
+        }
+    }
+
+    @Test
+    public void noArchive() throws Exception
+    {
+        try (URLClassLoader loader = archiveLoader())
+        {
+            assertNull(ProxyArchive.load(loader));
+        }
+    }
+
+    private String record() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.PROXY_ARCHIVE, "true");
+        addConfiguration(DefiningClassService.class.getName(), ClassLoaderProxyService.Spy.class.getName());
+        startContainer(Service.class);
+
+        String proxyName = getInstance(Service.class).getClass().getName();
+
+        ClassLoaderProxyService.Spy spy = getSpy();
+        Map<String, Class<?>> proxiedClasses = spy.getProxiedClasses();
+        assertEquals(Service.class, proxiedClasses.get(proxyName));
+        ProxyArchive.write(tempFolder.getRoot(), Collections.singletonMap(proxyName, spy.getProxies().get(proxyName)), proxiedClasses);
+        return proxyName;
+    }
+
+    private ClassLoaderProxyService.Spy getSpy()
+    {
+        return ClassLoaderProxyService.Spy.class.cast(getWebBeansContext().getService(DefiningClassService.class));
+    }
+
+    private URLClassLoader archiveLoader() throws Exception
+    {
+        // no parent so only the archive of the test is visible
+        return new URLClassLoader(new URL[]{tempFolder.getRoot().toURI().toURL()}, null);
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        public String ping()
+        {
+            return "pong";
+        }
+    }
+
+    @ApplicationScoped
+    public static class OtherService
+    {
+        public String ping()
+        {
+            return "pong";
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.apache.webbeans.config.OwbParametrizedTypeImpl;
+import org.apache.webbeans.config.OwbWildcardTypeImpl;
+import org.apache.webbeans.util.AssignabilityCache;
+import org.apache.webbeans.util.GenericsUtil;
+import org.junit.Test;
+
+public class AssignabilityCacheTest
+{
+    private List<String> strings;
+    private List<? extends Number> numbers;
+
+    @Test
+    public void sameResultsAsGenericsUtil() throws Exception
+    {
+        AssignabilityCache cache = new AssignabilityCache();
+        Type stringList = field("strings");
+        Type numberList = field("numbers");
+        Type integerList = new OwbParametrizedTypeImpl(null, List.class, Integer.class);
+
+        for (int i = 0; i < 2; i++)
+        {
+            assertTrue(cache.satisfiesDependency(false, false, stringList, stringList));
+            assertTrue(cache.satisfiesDependency(false, false, numberList, integerList));
+            assertFalse(cache.satisfiesDependency(false, false, numberList, stringList));
+            assertEquals(GenericsUtil.isAssignableFrom(true, false, numberList, integerList),
+                    cache.isAssignableFrom(true, false, numberList, integerList));
+        }
+        assertEquals(4, cache.size());
+
+        // equal types share the results
+        Type otherStringList = new OwbParametrizedTypeImpl(null, List.class, String.class);
+        assertTrue(cache.satisfiesDependency(false, false, otherStringList, otherStringList));
+        Type wildcard = new OwbParametrizedTypeImpl(null, List.class, new OwbWildcardTypeImpl(new Type[]{Number.class}, new Type[0]));
+        assertEquals(numberList, wildcard);
+        assertTrue(cache.satisfiesDependency(false, false, wildcard, integerList));
+        assertEquals(4, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void classesAndDifferentRawTypesAreNotRemembered() throws Exception
+    {
+        AssignabilityCache cache = new AssignabilityCache();
+        assertTrue(cache.satisfiesDependency(false, false, Number.class, Number.class));
+        assertFalse(cache.isAssignableFrom(false, false, Integer.class, Number.class));
+        assertFalse(cache.satisfiesDependency(false, false, field("strings"), Number.class));
+        assertEquals(0, cache.size());
+    }
+
+    private static Type field(String name) throws NoSuchFieldException
+    {
+        return AssignabilityCacheTest.class.getDeclaredField(name).getGenericType();
+    }
+}
@@ -18,13 +18,23 @@
  */
 package org.apache.openwebbeans.se;
 
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.corespi.scanner.xbean.ScanSnapshot;
+import org.apache.webbeans.spi.ScannerService;
+import org.apache.xbean.finder.AnnotationFinder;
 import org.junit.Test;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.se.SeContainer;
 import javax.enterprise.inject.se.SeContainerInitializer;
+import javax.inject.Inject;
 
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 public class CDISETest
@@ -74,6 +84,55 @@ public class CDISETest
         }
     }
 
+    @Test
+    public void snapshot() {
+        ScanSnapshot.clear();
+        try {
+            final AnnotationFinder first = startWithSnapshot(ImNotScanned.class);
+            assertFalse(notScannedInfo(first).getMethods().isEmpty());
+
+            // each container has its own finder, the snapshot only keeps the class level data and no bytecode gets read
+            final AnnotationFinder second = startWithSnapshot(ImNotScanned.class);
+            assertNotSame(first, second);
+            assertTrue(notScannedInfo(second).getMethods().isEmpty());
+            // until it gets asked about members
+            assertTrue(OwbAnnotationFinder.class.cast(second).findAnnotatedMethods(Inject.class).isEmpty());
+            assertFalse(notScannedInfo(second).getMethods().isEmpty());
+
+            // another scan
+            final AnnotationFinder third = startWithSnapshot(ImNotScanned.class, Scanned.class);
+            assertFalse(notScannedInfo(third).getMethods().isEmpty());
+        } finally {
+            ScanSnapshot.clear();
+        }
+    }
+
+    private static AnnotationFinder.ClassInfo notScannedInfo(final AnnotationFinder finder) {
+        return OwbAnnotationFinder.class.cast(finder).getClassInfo(ImNotScanned.class.getName());
+    }
+
+    private AnnotationFinder startWithSnapshot(final Class<?>... classes) {
+        final AtomicReference<AnnotationFinder> usedFinder = new AtomicReference<>();
+        final CDISeScannerService scanner = new CDISeScannerService() {
+            @Override
+            protected AnnotationFinder initFinder() {
+                usedFinder.set(super.initFinder());
+                return usedFinder.get();
+            }
+        };
+        scanner.loader(Thread.currentThread().getContextClassLoader());
+        scanner.disableAutoScanning();
+        scanner.classes(classes);
+        try (final SeContainer container = SeContainerInitializer.newInstance()
+                .addProperty(ScannerService.class.getName(), scanner)
+                .addProperty(OpenWebBeansConfiguration.SCAN_SNAPSHOT, "true")
+                .initialize()) {
+            assertNotNull(container.select(ImNotScanned.class).get());
+        }
+        assertNotNull(usedFinder.get());
+        return usedFinder.get();
+    }
+
     @Test // main for OWB-1260 and enable java 11 testing
     public void fire() {
         try (final SeContainer container = SeContainerInitializer.newInstance()
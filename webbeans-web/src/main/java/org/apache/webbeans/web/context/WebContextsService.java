@@ -24,6 +24,7 @@ import org.apache.webbeans.annotation.InitializedLiteral;
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.AbstractContext;
 import org.apache.webbeans.context.AbstractContextsService;
 import org.apache.webbeans.context.ApplicationContext;
 import org.apache.webbeans.context.ConversationContext;
@@ -33,9 +34,7 @@ import org.apache.webbeans.context.SessionContext;
 import org.apache.webbeans.context.SingletonContext;
 import org.apache.webbeans.conversation.ConversationManager;
 import org.apache.webbeans.el.ELContextStore;
-import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.ContextException;
@@ -51,6 +50,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import java.lang.annotation.Annotation;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -97,6 +97,16 @@ public class WebContextsService extends AbstractContextsService
     protected Boolean eagerSessionInitialisation;
     protected Pattern eagerSessionPattern;
 
+    /**
+     * @see OpenWebBeansConfiguration#SESSION_DIRTY_TRACKING
+     */
+    protected boolean sessionDirtyTracking;
+
+    /**
+     * whether the current request and session contexts are the ones of the ThreadLocals
+     */
+    private final boolean threadBoundContexts;
+
 
     /**
      * Creates a new instance.
@@ -106,7 +116,7 @@ public class WebContextsService extends AbstractContextsService
         super(webBeansContext);
         conversationManager = webBeansContext.getConversationManager();
 
-        applicationContext = new ApplicationContext();
+        applicationContext = initContextSlots(new ApplicationContext());
         applicationContext.setActive(true);
 
         requestContexts = new ThreadLocal<>();
@@ -118,6 +128,10 @@ public class WebContextsService extends AbstractContextsService
         dependentContext.setActive(true);
 
         configureEagerSessionInitialisation(webBeansContext);
+        sessionDirtyTracking = Boolean.parseBoolean(webBeansContext.getOpenWebBeansConfiguration()
+                .getProperty(OpenWebBeansConfiguration.SESSION_DIRTY_TRACKING));
+        threadBoundContexts = isDeclaredBy(WebContextsService.class,
+                "getCurrentContext", "getRequestContext", "getSessionContext");
     }
 
     protected void configureEagerSessionInitialisation(WebBeansContext webBeansContext)
@@ -148,7 +162,6 @@ public class WebContextsService extends AbstractContextsService
         requestContexts.remove();
         sessionContexts.remove();
         conversationContexts.remove();
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
     }
 
 
@@ -346,7 +359,7 @@ public class WebContextsService extends AbstractContextsService
     protected void initRequestContext(Object startupObject )
     {
         
-        ServletRequestContext requestContext = new ServletRequestContext();
+        ServletRequestContext requestContext = initContextSlots(new ServletRequestContext());
         requestContext.setActive(true);
 
         requestContexts.set(requestContext);// set thread local
@@ -406,6 +419,11 @@ public class WebContextsService extends AbstractContextsService
             destroyOutdatedConversations(conversationContexts.get());
         }
 
+        if (sessionDirtyTracking && context.getPropagatedSessionContext() == null)
+        {
+            replicateSessionContext(context);
+        }
+
         if (context.getPropagatedSessionContext() != null)
         {
             SessionContext sessionContext = context.getPropagatedSessionContext();
@@ -460,16 +478,53 @@ public class WebContextsService extends AbstractContextsService
                 payload != null ? payload : new Object(), DestroyedLiteral.INSTANCE_REQUEST_SCOPED);
         }
 
-        // clean the proxy cache ThreadLocals
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
-
         //Clear thread locals
         requestContexts.set(null);
         requestContexts.remove();
     }
 
 
+    /**
+     * Sets the SessionContext on the HttpSession again if it changed during the request,
+     * this triggers the replication on most servers.
+     */
+    private void replicateSessionContext(ServletRequestContext requestContext)
+    {
+        SessionContext sessionContext = sessionContexts.get();
+        if (sessionContext == null || requestContext.getServletRequest() == null)
+        {
+            return;
+        }
+        ConversationContext conversationContext = conversationContexts.get();
+        if (conversationContext != null && !conversationContext.getConversation().isTransient())
+        {
+            // long running conversations are stored in the session
+            sessionContext.markDirty();
+        }
+        if (!sessionContext.resetDirty())
+        {
+            return;
+        }
+
+        HttpSession session = requestContext.getServletRequest().getSession(false);
+        if (session == null)
+        {
+            return;
+        }
+
+        try
+        {
+            if (session.getAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME) == sessionContext)
+            {
+                session.setAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME, sessionContext);
+            }
+        }
+        catch (IllegalStateException e)
+        {
+            // the session got invalidated meanwhile
+        }
+    }
+
     /**
      * Creates the session context at the session start.
      * @param startupObject HttpSession object
@@ -493,7 +548,7 @@ public class WebContextsService extends AbstractContextsService
                     currentSessionContext = (SessionContext) session.getAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME);
                     if (currentSessionContext == null)
                     {
-                        currentSessionContext = new SessionContext();
+                        currentSessionContext = initContextSlots(new SessionContext());
                         currentSessionContext.setActive(true);
                         
                         // init context before fire @Initialized(SessionScoped)
@@ -508,9 +563,12 @@ public class WebContextsService extends AbstractContextsService
             }
             else
             {
-                // we do that in any case.
-                // This is needed to trigger delta-replication on most servers
-                session.setAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME, currentSessionContext);
+                if (!sessionDirtyTracking)
+                {
+                    // we do that in any case.
+                    // This is needed to trigger delta-replication on most servers
+                    session.setAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME, currentSessionContext);
+                }
                 currentSessionContext.setActive(true);
 
                 //Set thread local
@@ -580,8 +638,6 @@ public class WebContextsService extends AbstractContextsService
                 requestContext.setHttpSession(session);
             }
         }
-
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
     }
 
 
@@ -615,7 +671,7 @@ public class WebContextsService extends AbstractContextsService
             return;
         }
 
-        ApplicationContext newApplicationContext = new ApplicationContext();
+        ApplicationContext newApplicationContext = initContextSlots(new ApplicationContext());
         newApplicationContext.setActive(true);
 
         if (applicationContext == null)
@@ -663,7 +719,7 @@ public class WebContextsService extends AbstractContextsService
         {
             if (singletonContext == null)
             {
-                singletonContext = new SingletonContext();
+                singletonContext = initContextSlots(new SingletonContext());
                 singletonContext.setActive(true);
                 Object payLoad = startupObject instanceof ServletContext
                     ? (ServletContext) startupObject : new Object();
@@ -770,6 +826,39 @@ public class WebContextsService extends AbstractContextsService
         return context;
     }
 
+    @Override
+    public Supplier<? extends AbstractContext> getThreadBoundContext(Class<? extends Annotation> scopeType)
+    {
+        if (!threadBoundContexts)
+        {
+            return null;
+        }
+        if (scopeType.equals(RequestScoped.class))
+        {
+            return () -> requestContexts.get();
+        }
+        if (scopeType.equals(SessionScoped.class))
+        {
+            return () -> sessionContexts.get();
+        }
+        return null;
+    }
+
+    @Override
+    public SessionContext attachSessionContext(SessionContext sessionContext)
+    {
+        SessionContext previous = sessionContexts.get();
+        if (sessionContext == null)
+        {
+            sessionContexts.remove();
+        }
+        else
+        {
+            sessionContexts.set(sessionContext);
+        }
+        return previous;
+    }
+
     /**
      * Get current conversation ctx.
      * @return conversation context
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.web.tests;
+
+import java.io.Serializable;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.servlet.ServletRequestEvent;
+import javax.servlet.http.HttpSession;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.spi.ContextsService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.web.lifecycle.test.MockServletContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SessionDirtyTrackingTest extends AbstractUnitTest
+{
+    @Test
+    public void sessionIsOnlySetAgainIfUsed()
+    {
+        addConfiguration(OpenWebBeansConfiguration.SESSION_DIRTY_TRACKING, "true");
+        startContainer(Cart.class);
+
+        CountingSession session = new CountingSession();
+
+        request(session, true);
+        Assert.assertEquals("created and used", 2, session.setAttributeCount);
+
+        request(session, false);
+        Assert.assertEquals("not used", 2, session.setAttributeCount);
+
+        request(session, true);
+        Assert.assertEquals("used", 3, session.setAttributeCount);
+    }
+
+    private void request(final CountingSession session, boolean useCart)
+    {
+        ContextsService contextsService = getWebBeansContext().getContextsService();
+        MockServletRequest request = new MockServletRequest()
+        {
+            @Override
+            public HttpSession getSession(boolean create)
+            {
+                return session;
+            }
+        };
+        ServletRequestEvent requestEvent = new ServletRequestEvent(new MockServletContext(), request);
+
+        contextsService.startContext(RequestScoped.class, requestEvent);
+        contextsService.startContext(SessionScoped.class, session);
+        if (useCart)
+        {
+            getInstance(Cart.class).add();
+        }
+        contextsService.endContext(RequestScoped.class, requestEvent);
+    }
+
+    @SessionScoped
+    public static class Cart implements Serializable
+    {
+        private int items;
+
+        public void add()
+        {
+            items++;
+        }
+    }
+
+    public static class CountingSession extends MockHttpSession
+    {
+        private int setAttributeCount;
+
+        @Override
+        public void setAttribute(String name, Object value)
+        {
+            setAttributeCount++;
+            super.setAttribute(name, value);
+        }
+    }
+}